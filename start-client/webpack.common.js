@@ -35,8 +35,8 @@ const config = {
   output: {
     path: path.resolve(__dirname, 'public'),
     publicPath: '/',
-    filename: 'main.[id].[fullhash].js',
-    chunkFilename: '[id].[chunkhash].js',
+    filename: 'main.[id].[contenthash].js',
+    chunkFilename: '[id].[contenthash].js',
   },
   module: {
     rules: [
@@ -68,7 +68,7 @@ const config = {
           {
             loader: 'file-loader',
             options: {
-              name: '[hash].[ext]',
+              name: '[contenthash].[ext]',
               outputPath: 'fonts/',
             },
           },
@@ -8,8 +8,50 @@ const BundleAnalyzerPlugin =
 const WebpackBundleSizeAnalyzerPlugin =
   require('webpack-bundle-size-analyzer').WebpackBundleSizeAnalyzerPlugin
 const path = require('path')
+const zlib = require('zlib')
 var LodashWebpackPlugin = require('lodash-webpack-plugin')
 
+// Emit brotli and gzip variants of each asset so that they can be served as is
+class WebpackPrecompress {
+  constructor(options) {
+    this.test = options.test
+    this.threshold = options.threshold
+  }
+  apply(compiler) {
+    const { RawSource } = compiler.webpack.sources
+    compiler.hooks.thisCompilation.tap('precompress', compilation => {
+      compilation.hooks.processAssets.tap(
+        {
+          name: 'precompress',
+          stage: compiler.webpack.Compilation.PROCESS_ASSETS_STAGE_OPTIMIZE_TRANSFER,
+        },
+        assets => {
+          Object.keys(assets)
+            .filter(name => this.test.test(name))
+            .forEach(name => {
+              const content = assets[name].buffer()
+              if (content.length < this.threshold) {
+                return
+              }
+              const brotli = zlib.brotliCompressSync(content, {
+                params: {
+                  [zlib.constants.BROTLI_PARAM_QUALITY]:
+                    zlib.constants.BROTLI_MAX_QUALITY,
+                  [zlib.constants.BROTLI_PARAM_SIZE_HINT]: content.length,
+                },
+              })
+              const gzip = zlib.gzipSync(content, {
+                level: zlib.constants.Z_BEST_COMPRESSION,
+              })
+              compilation.emitAsset(`${name}.br`, new RawSource(brotli))
+              compilation.emitAsset(`${name}.gz`, new RawSource(gzip))
+            })
+        }
+      )
+    })
+  }
+}
+
 const config = {
   mode: 'production',
   devtool: 'source-map',
@@ -34,6 +76,10 @@ const config = {
       paths: true,
     }),
     new WebpackBundleSizeAnalyzerPlugin('../analysis/bundle-size-analyzer.log'),
+    new WebpackPrecompress({
+      test: /\.(js|css|html|json|svg|ttf|eot)$/,
+      threshold: 1024,
+    }),
   ],
 }
 
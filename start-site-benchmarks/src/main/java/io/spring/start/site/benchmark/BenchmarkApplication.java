@@ -0,0 +1,88 @@
+/*
+ * Copyright 2012 - present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site.benchmark;
+
+import java.time.Duration;
+import java.util.List;
+
+import io.spring.initializr.metadata.InitializrMetadataProvider;
+import io.spring.initializr.versionresolver.MavenVersionResolver;
+import io.spring.initializr.web.project.ProjectRequest;
+import io.spring.initializr.web.project.WebProjectRequest;
+import io.spring.start.site.StartApplication;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+
+/**
+ * Start the application for benchmarks, using a {@link StubMavenVersionResolver}. The
+ * latency of the resolver can be set using the {@code benchmark.version-resolver.latency}
+ * property. The admission limiter of project generations is disabled so that concurrent
+ * requests are not rejected.
+ *
+ * @author agent
+ */
+final class BenchmarkApplication {
+
+	private BenchmarkApplication() {
+	}
+
+	/**
+	 * Start the application.
+	 * @param properties additional properties
+	 * @return the application context
+	 */
+	static ConfigurableApplicationContext run(String... properties) {
+		return new SpringApplicationBuilder(StartApplication.class, BenchmarkConfiguration.class)
+			.properties("server.port=0", "logging.level.root=warn", "initializr.env.spring-boot-metadata-url=",
+					"application.maven-version-resolver.warm-up.enabled=false",
+					"application.generation.concurrency.enabled=false")
+			.properties(properties)
+			.run();
+	}
+
+	/**
+	 * Create a Maven-based {@link ProjectRequest} with the specified dependencies.
+	 * @param context the application context
+	 * @param dependencies the dependency identifiers to add
+	 * @return a project request
+	 */
+	static ProjectRequest createProjectRequest(ConfigurableApplicationContext context, List<String> dependencies) {
+		WebProjectRequest request = new WebProjectRequest();
+		request.initialize(context.getBean(InitializrMetadataProvider.class).get());
+		request.setType("maven-project");
+		request.getDependencies().addAll(dependencies);
+		return request;
+	}
+
+	@Configuration(proxyBeanMethods = false)
+	static class BenchmarkConfiguration {
+
+		@Bean
+		@Primary
+		MavenVersionResolver stubMavenVersionResolver(Environment environment) {
+			return new StubMavenVersionResolver(
+					environment.getProperty("benchmark.version-resolver.latency", Duration.class, Duration.ZERO));
+		}
+
+	}
+
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright 2012 - present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site.benchmark;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.util.concurrent.TimeUnit;
+
+import io.spring.start.site.benchmark.ProjectGenerationBenchmark.DependencyMix;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Benchmarks for concurrent HTTP requests against the running application, comparing
+ * platform threads with virtual threads.
+ * <p>
+ * The workload mixes project generation requests, cycling through each
+ * {@link DependencyMix}, with metadata requests. A latency can be added to each version
+ * resolution to simulate the remote calls that are made on a cache miss. Virtual
+ * threads require Java 21 or later: on earlier versions, both variants use platform
+ * threads.
+ *
+ * @author agent
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConcurrentGenerationBenchmark {
+
+	private static final String METADATA_MEDIA_TYPE = "application/vnd.initializr.v2.2+json";
+
+	@Param({ "false", "true" })
+	public boolean virtualThreads;
+
+	@Param({ "0ms", "20ms" })
+	public String versionResolverLatency;
+
+	private ConfigurableApplicationContext context;
+
+	private HttpClient httpClient;
+
+	private URI baseUri;
+
+	@Setup(Level.Trial)
+	public void startApplication() {
+		this.context = BenchmarkApplication.run("spring.threads.virtual.enabled=" + this.virtualThreads,
+				"benchmark.version-resolver.latency=" + this.versionResolverLatency);
+		this.baseUri = URI.create("http://localhost:" + this.context.getEnvironment().getProperty("local.server.port"));
+		this.httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+	}
+
+	@TearDown(Level.Trial)
+	public void stopApplication() {
+		this.context.close();
+	}
+
+	@Benchmark
+	@Group("mixed")
+	@GroupThreads(48)
+	public int generateProject(Workload workload) throws IOException, InterruptedException {
+		StringBuilder path = new StringBuilder("/starter.zip?type=maven-project");
+		DependencyMix dependencies = workload.next();
+		if (!dependencies.ids.isEmpty()) {
+			path.append("&dependencies=").append(String.join(",", dependencies.ids));
+		}
+		return send(HttpRequest.newBuilder(this.baseUri.resolve(path.toString())).build());
+	}
+
+	@Benchmark
+	@Group("mixed")
+	@GroupThreads(16)
+	public int fetchMetadata() throws IOException, InterruptedException {
+		return send(HttpRequest.newBuilder(this.baseUri.resolve("/")).header("Accept", METADATA_MEDIA_TYPE).build());
+	}
+
+	private int send(HttpRequest request) throws IOException, InterruptedException {
+		HttpResponse<byte[]> response = this.httpClient.send(request, BodyHandlers.ofByteArray());
+		if (response.statusCode() != 200) {
+			throw new IllegalStateException("Unexpected status " + response.statusCode() + " for " + request.uri());
+		}
+		return response.body().length;
+	}
+
+	/**
+	 * Per-thread state that cycles through the {@link DependencyMix dependency mixes}.
+	 */
+	@State(Scope.Thread)
+	public static class Workload {
+
+		private static final DependencyMix[] MIXES = DependencyMix.values();
+
+		private int index;
+
+		DependencyMix next() {
+			DependencyMix mix = MIXES[this.index];
+			this.index = (this.index + 1) % MIXES.length;
+			return mix;
+		}
+
+	}
+
+}
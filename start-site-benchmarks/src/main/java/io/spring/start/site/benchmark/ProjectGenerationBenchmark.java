@@ -0,0 +1,159 @@
+/*
+ * Copyright 2012 - present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import io.spring.initializr.web.controller.DefaultProjectGenerationController;
+import io.spring.initializr.web.project.DefaultProjectRequestToDescriptionConverter;
+import io.spring.initializr.web.project.ProjectGenerationInvoker;
+import io.spring.initializr.web.project.ProjectGenerationResult;
+import io.spring.initializr.web.project.ProjectRequest;
+import io.spring.start.site.support.StartProjectGenerationInvoker;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Benchmarks for the full project generation pipeline, from a {@link ProjectRequest} to
+ * the generated project structure and archive.
+ * <p>
+ * The application is started in-process with a {@link StubMavenVersionResolver} so that
+ * only the cost of the generation itself is measured. Both throughput and sampled
+ * latency are reported, the latter including percentiles. Archives are created by the
+ * {@link DefaultProjectGenerationController project generation controller}, which writes
+ * them to disk before they are served. The {@code componentTimings} parameter measures
+ * the overhead of recording the time taken by each component, and the
+ * {@code concurrentContributors} parameter the effect of running independent
+ * contributors concurrently.
+ *
+ * @author agent
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProjectGenerationBenchmark {
+
+	@Param
+	public DependencyMix dependencies;
+
+	@Param({ "false", "true" })
+	public boolean componentTimings;
+
+	@Param({ "false", "true" })
+	public boolean concurrentContributors;
+
+	private ConfigurableApplicationContext context;
+
+	private ProjectGenerationInvoker<ProjectRequest> invoker;
+
+	private DefaultProjectGenerationController controller;
+
+	@Setup(Level.Trial)
+	public void startApplication() {
+		this.context = BenchmarkApplication.run("application.generation.component-timings=" + this.componentTimings,
+				"application.generation.concurrent-contributors.enabled=" + this.concurrentContributors);
+		this.invoker = new StartProjectGenerationInvoker<>(this.context,
+				new DefaultProjectRequestToDescriptionConverter());
+		this.controller = this.context.getBean(DefaultProjectGenerationController.class);
+	}
+
+	@TearDown(Level.Trial)
+	public void stopApplication() {
+		this.context.close();
+	}
+
+	@Benchmark
+	public long generateProjectStructure() throws IOException {
+		ProjectGenerationResult result = this.invoker.invokeProjectStructureGeneration(createProjectRequest());
+		Path rootDirectory = result.getRootDirectory();
+		try (Stream<Path> files = Files.walk(rootDirectory)) {
+			return files.count();
+		}
+		finally {
+			this.invoker.cleanTempFiles(rootDirectory);
+		}
+	}
+
+	@Benchmark
+	public int generateProjectArchive() throws IOException {
+		ResponseEntity<byte[]> response = this.controller.springZip(createProjectRequest());
+		return response.getBody().length;
+	}
+
+	private ProjectRequest createProjectRequest() {
+		return BenchmarkApplication.createProjectRequest(this.context, this.dependencies.ids);
+	}
+
+	/**
+	 * Representative mixes of dependencies.
+	 */
+	public enum DependencyMix {
+
+		/**
+		 * No dependency.
+		 */
+		EMPTY(),
+
+		/**
+		 * A typical web application backed by a relational database.
+		 */
+		WEB_JPA("web", "data-jpa", "postgresql"),
+
+		/**
+		 * An AI application with several models, a vector store and MCP.
+		 */
+		AI("web", "spring-ai-openai", "spring-ai-anthropic", "spring-ai-ollama", "spring-ai-vectordb-pgvector",
+				"spring-ai-chat-memory-repository-jdbc", "spring-ai-mcp-server", "spring-ai-mcp-client",
+				"spring-ai-pdf-document-reader", "docker-compose", "testcontainers"),
+
+		/**
+		 * A Spring Cloud application exposing gRPC services, compiled to a native image.
+		 */
+		CLOUD_GRPC_NATIVE("cloud-config-client", "cloud-eureka", "cloud-resilience4j", "cloud-stream", "kafka",
+				"spring-grpc-server", "native", "actuator");
+
+		final List<String> ids;
+
+		DependencyMix(String... ids) {
+			this.ids = List.of(ids);
+		}
+
+	}
+
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2012 - present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import io.spring.initializr.web.project.DefaultProjectRequestToDescriptionConverter;
+import io.spring.initializr.web.project.ProjectGenerationInvoker;
+import io.spring.initializr.web.project.ProjectRequest;
+import io.spring.start.site.benchmark.ProjectGenerationBenchmark.DependencyMix;
+import io.spring.start.site.support.EventRecordingProjectGenerationInvoker;
+import io.spring.start.site.support.StartProjectGenerationInvoker;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Benchmarks for the creation of the generation context, with and without sharing the
+ * class metadata of project generation configurations.
+ *
+ * @author agent
+ * @see StartProjectGenerationInvoker
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProjectGenerationContextBenchmark {
+
+	@Param({ "true", "false" })
+	public boolean shareConfigurationMetadata;
+
+	@Param({ "EMPTY", "AI" })
+	public DependencyMix dependencies;
+
+	private ConfigurableApplicationContext context;
+
+	private ProjectGenerationInvoker<ProjectRequest> invoker;
+
+	@Setup(Level.Trial)
+	public void startApplication() {
+		this.context = BenchmarkApplication.run();
+		DefaultProjectRequestToDescriptionConverter requestConverter = new DefaultProjectRequestToDescriptionConverter();
+		this.invoker = (this.shareConfigurationMetadata)
+				? new StartProjectGenerationInvoker<>(this.context, requestConverter)
+				: new EventRecordingProjectGenerationInvoker<>(this.context, requestConverter);
+	}
+
+	@TearDown(Level.Trial)
+	public void stopApplication() {
+		this.context.close();
+	}
+
+	@Benchmark
+	public byte[] generateBuild() {
+		ProjectRequest request = BenchmarkApplication.createProjectRequest(this.context, this.dependencies.ids);
+		request.setType("maven-build");
+		return this.invoker.invokeBuildGeneration(request);
+	}
+
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2012 - present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.spring.start.site.benchmark;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for the time it takes for the application to be ready, from the start of
+ * its JVM, with and without the archive created by a training run.
+ * <p>
+ * The application is run from the directory created by the {@code training-run} profile
+ * of {@code start-site}, so this benchmark is excluded unless it is selected explicitly
+ * using {@code -Dbenchmark=StartupBenchmark}. By default, the CDS archive it creates is used. To measure a JDK
+ * AOT cache instead, set the {@code archive} parameter to {@code none,start-site.aot}
+ * and the {@code archiveOption} parameter to {@code -XX:AOTCache}.
+ *
+ * @author agent
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 10)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StartupBenchmark {
+
+	private static final String NO_ARCHIVE = "none";
+
+	private static final String READY = "Started StartApplication";
+
+	@Param("../start-site/target/application")
+	public String applicationDirectory;
+
+	@Param({ NO_ARCHIVE, "start-site.jsa" })
+	public String archive;
+
+	@Param("-XX:SharedArchiveFile")
+	public String archiveOption;
+
+	private List<String> command;
+
+	private Path directory;
+
+	@Setup(Level.Trial)
+	public void prepareCommand() {
+		this.directory = Path.of(this.applicationDirectory).toAbsolutePath().normalize();
+		Path jar = this.directory.resolve("start-site-exec.jar");
+		if (!Files.isRegularFile(jar)) {
+			throw new IllegalStateException("No application found in " + this.directory
+					+ ", build start-site using the training-run profile first");
+		}
+		this.command = new ArrayList<>();
+		this.command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+		if (!NO_ARCHIVE.equals(this.archive)) {
+			if (!Files.isRegularFile(this.directory.resolve(this.archive))) {
+				throw new IllegalStateException("No archive named " + this.archive + " found in " + this.directory);
+			}
+			this.command.add(this.archiveOption + "=" + this.archive);
+		}
+		this.command.addAll(List.of("-jar", jar.getFileName().toString(), "--server.port=0",
+				"--initializr.env.spring-boot-metadata-url=",
+				"--application.maven-version-resolver.warm-up.enabled=false"));
+	}
+
+	@Benchmark
+	public void timeToReady() throws IOException, InterruptedException {
+		Process process = new ProcessBuilder(this.command).directory(this.directory.toFile())
+			.redirectErrorStream(true)
+			.start();
+		try (BufferedReader output = process.inputReader()) {
+			String line = output.readLine();
+			while (line != null && !line.contains(READY)) {
+				line = output.readLine();
+			}
+			if (line == null) {
+				throw new IllegalStateException("Application exited before being ready");
+			}
+		}
+		finally {
+			process.destroy();
+			process.waitFor();
+		}
+	}
+
+}
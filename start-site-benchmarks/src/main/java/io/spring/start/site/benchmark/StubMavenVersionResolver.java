@@ -0,0 +1,72 @@
+/*
+ * Copyright 2012 - present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site.benchmark;
+
+import java.time.Duration;
+import java.util.Map;
+
+import io.spring.initializr.versionresolver.MavenVersionResolver;
+
+/**
+ * A {@link MavenVersionResolver} that returns a fixed set of managed versions, regardless
+ * of the bom, so that benchmarks do not depend on the network or on a local cache. An
+ * optional latency simulates the remote calls of an actual resolution.
+ *
+ * @author agent
+ */
+class StubMavenVersionResolver implements MavenVersionResolver {
+
+	private static final Map<String, String> DEPENDENCIES = Map.of("org.springframework:spring-core", "7.0.0",
+			"org.hibernate.orm:hibernate-core", "7.1.0.Final", "org.jetbrains.kotlin:kotlin-reflect", "2.2.20",
+			"io.spring.gradle:dependency-management-plugin", "1.1.7", "com.google.protobuf:protobuf-java", "4.32.0",
+			"io.grpc:grpc-core", "1.75.0", "org.springframework.cloud:spring-cloud-contract-verifier", "5.0.0",
+			"org.springframework.cloud:spring-cloud-function-core", "5.0.0");
+
+	private static final Map<String, String> PLUGINS = Map.of("org.graalvm.buildtools:native-maven-plugin", "0.11.1",
+			"org.springframework.boot:spring-boot-maven-plugin", "4.0.0");
+
+	private final Duration latency;
+
+	StubMavenVersionResolver(Duration latency) {
+		this.latency = latency;
+	}
+
+	@Override
+	public Map<String, String> resolveDependencies(String groupId, String artifactId, String version) {
+		simulateLatency();
+		return DEPENDENCIES;
+	}
+
+	@Override
+	public Map<String, String> resolvePlugins(String groupId, String artifactId, String version) {
+		simulateLatency();
+		return PLUGINS;
+	}
+
+	private void simulateLatency() {
+		if (this.latency.isZero()) {
+			return;
+		}
+		try {
+			Thread.sleep(this.latency.toMillis());
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+}
@@ -19,23 +19,66 @@ package io.spring.start.site;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Set;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.spring.initializr.metadata.InitializrMetadataBuilder;
+import io.spring.initializr.metadata.InitializrMetadataProvider;
+import io.spring.initializr.metadata.InitializrProperties;
 import io.spring.initializr.versionresolver.MavenVersionResolver;
+import io.spring.initializr.web.controller.DefaultProjectGenerationController;
+import io.spring.initializr.web.project.DefaultProjectRequestToDescriptionConverter;
+import io.spring.initializr.web.project.ProjectGenerationInvoker;
+import io.spring.initializr.web.project.ProjectRequest;
 import io.spring.start.site.container.SimpleDockerServiceResolver;
 import io.spring.start.site.project.ProjectDescriptionCustomizerConfiguration;
 import io.spring.start.site.support.CacheableMavenVersionResolver;
+import io.spring.start.site.support.EventRecordingProjectGenerationInvoker;
+import io.spring.start.site.support.GradientConcurrencyLimiter;
+import io.spring.start.site.support.InitializrPropertiesLoader;
+import io.spring.start.site.support.MavenVersionResolverWarmUp;
+import io.spring.start.site.support.MetadataDocumentCache;
+import io.spring.start.site.support.PersistentMavenVersionResolver;
+import io.spring.start.site.support.ProjectArchiveCache;
+import io.spring.start.site.support.ProjectContributorExecutor;
+import io.spring.start.site.support.ProjectGenerationTimings;
+import io.spring.start.site.support.ProjectGenerationTimingsPostProcessor;
+import io.spring.start.site.support.StartInitializrMetadataProvider;
 import io.spring.start.site.support.StartInitializrMetadataUpdateStrategy;
+import io.spring.start.site.support.StartProjectDirectoryFactory;
+import io.spring.start.site.support.StartProjectGenerationInvoker;
+import io.spring.start.site.support.StartRuntimeHints;
+import io.spring.start.site.support.StartTemplateRenderer;
+import io.spring.start.site.support.StartupTrainingRun;
+import io.spring.start.site.support.VersionResolutionEventAdvisor;
+import io.spring.start.site.web.GenerationAdmissionFilter;
 import io.spring.start.site.web.HomeController;
+import io.spring.start.site.web.MetadataDocumentCacheFilter;
+import io.spring.start.site.web.ProjectArchiveCacheFilter;
+import io.spring.start.site.web.StaticResourcesWebMvcConfigurer;
 import tools.jackson.databind.json.JsonMapper;
 
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.config.BeanDefinition;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.SpringBootConfiguration;
 import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBooleanProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.info.BuildProperties;
 import org.springframework.boot.restclient.RestTemplateBuilder;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.task.TaskExecutor;
 import org.springframework.http.HttpHeaders;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.util.StringUtils;
@@ -52,6 +95,7 @@ import org.springframework.web.client.RestTemplate;
 @EnableCaching
 @EnableAsync
 @EnableConfigurationProperties(StartConfigurationProperties.class)
+@ImportRuntimeHints(StartRuntimeHints.class)
 public class StartApplication {
 
 	public static void main(String[] args) {
@@ -63,6 +107,11 @@ public class StartApplication {
 		return new HomeController();
 	}
 
+	@Bean
+	public StaticResourcesWebMvcConfigurer staticResourcesWebMvcConfigurer() {
+		return new StaticResourcesWebMvcConfigurer("classpath:/static/");
+	}
+
 	@Bean
 	public StartInitializrMetadataUpdateStrategy initializrMetadataUpdateStrategy(
 			RestTemplateBuilder restTemplateBuilder, JsonMapper jsonMapper) {
@@ -72,16 +121,145 @@ public class StartApplication {
 	}
 
 	@Bean
-	public CacheableMavenVersionResolver mavenVersionResolver(StartConfigurationProperties properties)
-			throws IOException {
+	public StartInitializrMetadataProvider initializrMetadataProvider(ApplicationContext applicationContext,
+			StartInitializrMetadataUpdateStrategy initializrMetadataUpdateStrategy,
+			@Qualifier("applicationTaskExecutor") TaskExecutor taskExecutor, StartConfigurationProperties properties) {
+		InitializrProperties initializrProperties = InitializrPropertiesLoader.load(applicationContext,
+				Binder.get(applicationContext.getEnvironment()));
+		return new StartInitializrMetadataProvider(
+				() -> InitializrMetadataBuilder.fromInitializrProperties(initializrProperties).build(),
+				initializrMetadataUpdateStrategy, taskExecutor, properties.getMetadata().getRefreshInterval());
+	}
+
+	@Bean
+	public DefaultProjectGenerationController projectGenerationController(
+			InitializrMetadataProvider metadataProvider, ApplicationContext applicationContext,
+			StartConfigurationProperties properties) {
+		DefaultProjectRequestToDescriptionConverter converter = new DefaultProjectRequestToDescriptionConverter();
+		ProjectGenerationInvoker<ProjectRequest> invoker = (properties.getGeneration().isShareConfigurationMetadata())
+				? new StartProjectGenerationInvoker<>(applicationContext, converter)
+				: new EventRecordingProjectGenerationInvoker<>(applicationContext, converter);
+		return new DefaultProjectGenerationController(metadataProvider, invoker);
+	}
+
+	@Bean
+	@ConditionalOnBooleanProperty("application.training-run.enabled")
+	public StartupTrainingRun startupTrainingRun(InitializrMetadataProvider metadataProvider,
+			ApplicationContext applicationContext, StartConfigurationProperties properties) {
+		StartProjectGenerationInvoker<ProjectRequest> invoker = new StartProjectGenerationInvoker<>(applicationContext,
+				new DefaultProjectRequestToDescriptionConverter());
+		return new StartupTrainingRun(metadataProvider, invoker, properties.getTrainingRun().getIterations());
+	}
+
+	@Bean
+	@ConditionalOnProperty("application.generation.directory")
+	public StartProjectDirectoryFactory projectDirectoryFactory(StartConfigurationProperties properties,
+			MeterRegistry meterRegistry) throws IOException {
+		StartConfigurationProperties.Generation generation = properties.getGeneration();
+		Path directory = Files.createDirectories(Path.of(generation.getDirectory()));
+		return new StartProjectDirectoryFactory(directory, generation.getDirectoryMinFreeSpace(), meterRegistry);
+	}
+
+	@Bean
+	@ConditionalOnBooleanProperty("application.archive-cache.enabled")
+	public ProjectArchiveCacheFilter projectArchiveCacheFilter(InitializrMetadataProvider metadataProvider,
+			StartConfigurationProperties properties, ObjectProvider<BuildProperties> buildProperties,
+			MeterRegistry meterRegistry) {
+		StartConfigurationProperties.ArchiveCache archiveCache = properties.getArchiveCache();
+		Path directory = (StringUtils.hasText(archiveCache.getDirectory())) ? Path.of(archiveCache.getDirectory())
+				: null;
+		ProjectArchiveCache cache = new ProjectArchiveCache(archiveCache.getMaxSize().toBytes(),
+				archiveCache.getTimeToLive(), applicationVersion(buildProperties.getIfAvailable()), directory,
+				archiveCache.getMaxDiskSize().toBytes(), meterRegistry);
+		return new ProjectArchiveCacheFilter(metadataProvider, cache);
+	}
+
+	private static String applicationVersion(BuildProperties buildProperties) {
+		if (buildProperties == null) {
+			return "unknown";
+		}
+		Instant time = buildProperties.getTime();
+		return (time != null) ? buildProperties.getVersion() + "-" + time.toEpochMilli() : buildProperties.getVersion();
+	}
+
+	@Bean
+	@ConditionalOnBooleanProperty(name = "application.metadata.document-cache.enabled", matchIfMissing = true)
+	public MetadataDocumentCacheFilter metadataDocumentCacheFilter(InitializrMetadataProvider metadataProvider,
+			StartConfigurationProperties properties, MeterRegistry meterRegistry) {
+		MetadataDocumentCache cache = new MetadataDocumentCache(
+				properties.getMetadata().getDocumentCache().getMaxDocuments(), meterRegistry);
+		return new MetadataDocumentCacheFilter(metadataProvider, cache);
+	}
+
+	@Bean
+	@ConditionalOnBooleanProperty(name = "application.generation.concurrency.enabled", matchIfMissing = true)
+	public GenerationAdmissionFilter generationAdmissionFilter(StartConfigurationProperties properties,
+			MeterRegistry meterRegistry) {
+		StartConfigurationProperties.Concurrency concurrency = properties.getGeneration().getConcurrency();
+		GradientConcurrencyLimiter limiter = new GradientConcurrencyLimiter(concurrency.getInitialLimit(),
+				concurrency.getMinLimit(), concurrency.getMaxLimit(), concurrency.getMaxQueueSize(),
+				concurrency.getMaxWait());
+		return new GenerationAdmissionFilter(limiter, concurrency.getRetryAfter(), meterRegistry);
+	}
+
+	@Bean
+	@ConditionalOnBooleanProperty("application.generation.concurrent-contributors.enabled")
+	public ProjectContributorExecutor projectContributorExecutor(StartConfigurationProperties properties) {
+		return new ProjectContributorExecutor(properties.getGeneration().getConcurrentContributors().getParallelism());
+	}
+
+	@Bean
+	@ConditionalOnBooleanProperty("application.generation.component-timings")
+	public ProjectGenerationTimings projectGenerationTimings(MeterRegistry meterRegistry) {
+		return new ProjectGenerationTimings(meterRegistry);
+	}
+
+	@Bean
+	public static ProjectGenerationTimingsPostProcessor projectGenerationTimingsPostProcessor(
+			ObjectProvider<ProjectGenerationTimings> timings) {
+		return new ProjectGenerationTimingsPostProcessor(timings, () -> null);
+	}
+
+	@Bean
+	public StartTemplateRenderer templateRenderer(CacheManager cacheManager, MeterRegistry meterRegistry) {
+		return new StartTemplateRenderer("classpath:/templates", cacheManager.getCache("initializr.templates"),
+				meterRegistry, Set.of("graalvm", "spring-cloud-function-build-setup-azure",
+						"spring-cloud-function-build-setup-missing"));
+	}
+
+	@Bean
+	public CacheableMavenVersionResolver mavenVersionResolver(StartConfigurationProperties properties,
+			CacheManager cacheManager, MeterRegistry meterRegistry) throws IOException {
+		StartConfigurationProperties.MavenVersionResolver resolverProperties = properties.getMavenVersionResolver();
 		Path location;
-		if (StringUtils.hasText(properties.getMavenVersionResolver().getCacheDirectory())) {
-			location = Path.of(properties.getMavenVersionResolver().getCacheDirectory());
+		if (StringUtils.hasText(resolverProperties.getCacheDirectory())) {
+			location = Path.of(resolverProperties.getCacheDirectory());
 		}
 		else {
 			location = Files.createTempDirectory("version-resolver-cache-");
 		}
-		return new CacheableMavenVersionResolver(MavenVersionResolver.withCacheLocation(location));
+		MavenVersionResolver versionResolver = MavenVersionResolver.withCacheLocation(location);
+		if (StringUtils.hasText(resolverProperties.getPersistentCacheDirectory())) {
+			versionResolver = new PersistentMavenVersionResolver(versionResolver,
+					Path.of(resolverProperties.getPersistentCacheDirectory()));
+		}
+		return new CacheableMavenVersionResolver(versionResolver, cacheManager.getCache("initializr.metadata"),
+				meterRegistry);
+	}
+
+	@Bean
+	@Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+	public static VersionResolutionEventAdvisor versionResolutionEventAdvisor() {
+		return new VersionResolutionEventAdvisor();
+	}
+
+	@Bean
+	@ConditionalOnBooleanProperty(name = "application.maven-version-resolver.warm-up.enabled", matchIfMissing = true)
+	public MavenVersionResolverWarmUp mavenVersionResolverWarmUp(InitializrMetadataProvider metadataProvider,
+			MavenVersionResolver mavenVersionResolver, MeterRegistry meterRegistry,
+			StartConfigurationProperties properties) {
+		return new MavenVersionResolverWarmUp(metadataProvider, mavenVersionResolver, meterRegistry,
+				properties.getMavenVersionResolver().getWarmUp().getParallelism());
 	}
 
 	@Bean
@@ -16,7 +16,10 @@
 
 package io.spring.start.site;
 
+import java.time.Duration;
+
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
 
 /**
  * Configuration properties for the application.
@@ -31,10 +34,46 @@ public class StartConfigurationProperties {
 	 */
 	private final MavenVersionResolver mavenVersionResolver = new MavenVersionResolver();
 
+	/**
+	 * Configuration for the metadata.
+	 */
+	private final Metadata metadata = new Metadata();
+
+	/**
+	 * Configuration for project generation.
+	 */
+	private final Generation generation = new Generation();
+
+	/**
+	 * Configuration for the cache of generated project archives.
+	 */
+	private final ArchiveCache archiveCache = new ArchiveCache();
+
+	/**
+	 * Configuration for the training run.
+	 */
+	private final TrainingRun trainingRun = new TrainingRun();
+
 	public MavenVersionResolver getMavenVersionResolver() {
 		return this.mavenVersionResolver;
 	}
 
+	public Metadata getMetadata() {
+		return this.metadata;
+	}
+
+	public Generation getGeneration() {
+		return this.generation;
+	}
+
+	public ArchiveCache getArchiveCache() {
+		return this.archiveCache;
+	}
+
+	public TrainingRun getTrainingRun() {
+		return this.trainingRun;
+	}
+
 	public static class MavenVersionResolver {
 
 		/**
@@ -43,6 +82,17 @@ public class StartConfigurationProperties {
 		 */
 		private String cacheDirectory;
 
+		/**
+		 * Directory to use to persist resolved dependency and plugin management so that
+		 * they survive restarts. If not set, resolutions are only cached in memory.
+		 */
+		private String persistentCacheDirectory;
+
+		/**
+		 * Warm-up of the resolver on startup.
+		 */
+		private final WarmUp warmUp = new WarmUp();
+
 		public String getCacheDirectory() {
 			return this.cacheDirectory;
 		}
@@ -51,6 +101,409 @@ public class StartConfigurationProperties {
 			this.cacheDirectory = cacheDirectory;
 		}
 
+		public String getPersistentCacheDirectory() {
+			return this.persistentCacheDirectory;
+		}
+
+		public void setPersistentCacheDirectory(String persistentCacheDirectory) {
+			this.persistentCacheDirectory = persistentCacheDirectory;
+		}
+
+		public WarmUp getWarmUp() {
+			return this.warmUp;
+		}
+
+	}
+
+	public static class WarmUp {
+
+		/**
+		 * Whether to resolve the dependency management of every supported Spring Boot
+		 * version and bill of materials on startup.
+		 */
+		private boolean enabled = true;
+
+		/**
+		 * Maximum number of resolutions to run concurrently.
+		 */
+		private int parallelism = 4;
+
+		public boolean isEnabled() {
+			return this.enabled;
+		}
+
+		public void setEnabled(boolean enabled) {
+			this.enabled = enabled;
+		}
+
+		public int getParallelism() {
+			return this.parallelism;
+		}
+
+		public void setParallelism(int parallelism) {
+			this.parallelism = parallelism;
+		}
+
+	}
+
+	public static class Metadata {
+
+		/**
+		 * Time after which the metadata is refreshed in the background. The current
+		 * metadata is served until the refresh completes.
+		 */
+		private Duration refreshInterval = Duration.ofMinutes(10);
+
+		/**
+		 * Cache of the rendered metadata documents.
+		 */
+		private final DocumentCache documentCache = new DocumentCache();
+
+		public Duration getRefreshInterval() {
+			return this.refreshInterval;
+		}
+
+		public void setRefreshInterval(Duration refreshInterval) {
+			this.refreshInterval = refreshInterval;
+		}
+
+		public DocumentCache getDocumentCache() {
+			return this.documentCache;
+		}
+
+	}
+
+	public static class DocumentCache {
+
+		/**
+		 * Whether the rendered metadata documents should be cached until the metadata is
+		 * refreshed.
+		 */
+		private boolean enabled = true;
+
+		/**
+		 * Maximum number of documents to cache for a given metadata.
+		 */
+		private int maxDocuments = 32;
+
+		public boolean isEnabled() {
+			return this.enabled;
+		}
+
+		public void setEnabled(boolean enabled) {
+			this.enabled = enabled;
+		}
+
+		public int getMaxDocuments() {
+			return this.maxDocuments;
+		}
+
+		public void setMaxDocuments(int maxDocuments) {
+			this.maxDocuments = maxDocuments;
+		}
+
+	}
+
+	public static class Generation {
+
+		/**
+		 * Whether the class metadata of project generation configurations should be
+		 * parsed once and shared by all generation contexts.
+		 */
+		private boolean shareConfigurationMetadata = true;
+
+		/**
+		 * Directory in which projects are generated, typically on a memory-backed file
+		 * system such as tmpfs. If not set, projects are generated in the temporary
+		 * directory.
+		 */
+		private String directory;
+
+		/**
+		 * Minimum usable space of the generation directory. Projects are generated in
+		 * the temporary directory when less space is available.
+		 */
+		private DataSize directoryMinFreeSpace = DataSize.ofMegabytes(256);
+
+		/**
+		 * Admission control of generation requests.
+		 */
+		private final Concurrency concurrency = new Concurrency();
+
+		/**
+		 * Concurrent execution of independent project contributors.
+		 */
+		private final ConcurrentContributors concurrentContributors = new ConcurrentContributors();
+
+		/**
+		 * Whether to record the time taken by each customizer and contributor of a
+		 * project generation.
+		 */
+		private boolean componentTimings;
+
+		public boolean isShareConfigurationMetadata() {
+			return this.shareConfigurationMetadata;
+		}
+
+		public void setShareConfigurationMetadata(boolean shareConfigurationMetadata) {
+			this.shareConfigurationMetadata = shareConfigurationMetadata;
+		}
+
+		public String getDirectory() {
+			return this.directory;
+		}
+
+		public void setDirectory(String directory) {
+			this.directory = directory;
+		}
+
+		public DataSize getDirectoryMinFreeSpace() {
+			return this.directoryMinFreeSpace;
+		}
+
+		public void setDirectoryMinFreeSpace(DataSize directoryMinFreeSpace) {
+			this.directoryMinFreeSpace = directoryMinFreeSpace;
+		}
+
+		public Concurrency getConcurrency() {
+			return this.concurrency;
+		}
+
+		public ConcurrentContributors getConcurrentContributors() {
+			return this.concurrentContributors;
+		}
+
+		public boolean isComponentTimings() {
+			return this.componentTimings;
+		}
+
+		public void setComponentTimings(boolean componentTimings) {
+			this.componentTimings = componentTimings;
+		}
+
+	}
+
+	public static class ConcurrentContributors {
+
+		/**
+		 * Whether independent project contributors run concurrently with the rest of the
+		 * generation.
+		 */
+		private boolean enabled;
+
+		/**
+		 * Number of threads shared by all generations to run independent contributors.
+		 * Contributions run in the generation thread when no thread is idle.
+		 */
+		private int parallelism = 4;
+
+		public boolean isEnabled() {
+			return this.enabled;
+		}
+
+		public void setEnabled(boolean enabled) {
+			this.enabled = enabled;
+		}
+
+		public int getParallelism() {
+			return this.parallelism;
+		}
+
+		public void setParallelism(int parallelism) {
+			this.parallelism = parallelism;
+		}
+
+	}
+
+	public static class Concurrency {
+
+		/**
+		 * Whether to limit the number of concurrent generation requests.
+		 */
+		private boolean enabled = true;
+
+		/**
+		 * Initial limit of concurrent generation requests. The limit is then adapted to
+		 * the observed latency.
+		 */
+		private int initialLimit = 20;
+
+		/**
+		 * Minimum limit of concurrent generation requests.
+		 */
+		private int minLimit = 4;
+
+		/**
+		 * Maximum limit of concurrent generation requests.
+		 */
+		private int maxLimit = 200;
+
+		/**
+		 * Maximum number of generation requests waiting to be admitted.
+		 */
+		private int maxQueueSize = 50;
+
+		/**
+		 * Maximum time a generation request waits to be admitted.
+		 */
+		private Duration maxWait = Duration.ofSeconds(2);
+
+		/**
+		 * Delay advertised to rejected clients before they retry.
+		 */
+		private Duration retryAfter = Duration.ofSeconds(5);
+
+		public boolean isEnabled() {
+			return this.enabled;
+		}
+
+		public void setEnabled(boolean enabled) {
+			this.enabled = enabled;
+		}
+
+		public int getInitialLimit() {
+			return this.initialLimit;
+		}
+
+		public void setInitialLimit(int initialLimit) {
+			this.initialLimit = initialLimit;
+		}
+
+		public int getMinLimit() {
+			return this.minLimit;
+		}
+
+		public void setMinLimit(int minLimit) {
+			this.minLimit = minLimit;
+		}
+
+		public int getMaxLimit() {
+			return this.maxLimit;
+		}
+
+		public void setMaxLimit(int maxLimit) {
+			this.maxLimit = maxLimit;
+		}
+
+		public Duration getMaxWait() {
+			return this.maxWait;
+		}
+
+		public void setMaxWait(Duration maxWait) {
+			this.maxWait = maxWait;
+		}
+
+		public Duration getRetryAfter() {
+			return this.retryAfter;
+		}
+
+		public void setRetryAfter(Duration retryAfter) {
+			this.retryAfter = retryAfter;
+		}
+
+	}
+
+	public static class ArchiveCache {
+
+		/**
+		 * Whether generated project archives should be cached. Archives served from the
+		 * cache do not publish project generation statistics.
+		 */
+		private boolean enabled;
+
+		/**
+		 * Maximum total size of the archives held in memory.
+		 */
+		private DataSize maxSize = DataSize.ofMegabytes(64);
+
+		/**
+		 * Time after which a cached archive expires. Should not exceed the expiry of the
+		 * version resolver cache.
+		 */
+		private Duration timeToLive = Duration.ofMinutes(10);
+
+		/**
+		 * Directory to which archives are written through. If not set, archives are only
+		 * cached in memory.
+		 */
+		private String directory;
+
+		/**
+		 * Maximum total size of the archives written to the directory.
+		 */
+		private DataSize maxDiskSize = DataSize.ofGigabytes(1);
+
+		public boolean isEnabled() {
+			return this.enabled;
+		}
+
+		public void setEnabled(boolean enabled) {
+			this.enabled = enabled;
+		}
+
+		public DataSize getMaxSize() {
+			return this.maxSize;
+		}
+
+		public void setMaxSize(DataSize maxSize) {
+			this.maxSize = maxSize;
+		}
+
+		public Duration getTimeToLive() {
+			return this.timeToLive;
+		}
+
+		public void setTimeToLive(Duration timeToLive) {
+			this.timeToLive = timeToLive;
+		}
+
+		public String getDirectory() {
+			return this.directory;
+		}
+
+		public void setDirectory(String directory) {
+			this.directory = directory;
+		}
+
+		public DataSize getMaxDiskSize() {
+			return this.maxDiskSize;
+		}
+
+		public void setMaxDiskSize(DataSize maxDiskSize) {
+			this.maxDiskSize = maxDiskSize;
+		}
+
+	}
+
+	public static class TrainingRun {
+
+		/**
+		 * Whether to generate a representative set of projects once the application is
+		 * ready, and exit. Used to create a CDS archive or an AOT cache.
+		 */
+		private boolean enabled;
+
+		/**
+		 * Number of times each project is generated.
+		 */
+		private int iterations = 3;
+
+		public boolean isEnabled() {
+			return this.enabled;
+		}
+
+		public void setEnabled(boolean enabled) {
+			this.enabled = enabled;
+		}
+
+		public int getIterations() {
+			return this.iterations;
+		}
+
+		public void setIterations(int iterations) {
+			this.iterations = iterations;
+		}
+
 	}
 
 }
@@ -55,7 +55,7 @@ class KotlinProjectGenerationConfiguration {
 		return new ReactorKotlinExtensionsCustomizer(metadata, description);
 	}
 
-	@Configuration
+	@Configuration(proxyBeanMethods = false)
 	static class KotlinCoroutinesCustomizerConfiguration {
 
 		private final KotlinCoroutinesCustomizer customizer;
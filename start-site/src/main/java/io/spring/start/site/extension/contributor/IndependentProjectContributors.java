@@ -0,0 +1,154 @@
+/*
+ * Copyright 2012 - present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site.extension.contributor;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+import io.spring.initializr.generator.project.contributor.ProjectContributor;
+import io.spring.start.site.support.IndependentProjectContributor;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.core.Ordered;
+
+/**
+ * Runs the {@link IndependentProjectContributor independent contributors} of a project
+ * generation.
+ * <p>
+ * Contributions are started before any regular {@link ProjectContributor} and are
+ * awaited after all of them, so that they overlap with the rest of the generation. If no
+ * {@link Executor} is available, contributions run sequentially in the calling thread.
+ *
+ * @author agent
+ */
+class IndependentProjectContributors implements DisposableBean {
+
+	private final List<IndependentProjectContributor> contributors;
+
+	private final Executor executor;
+
+	private final List<CompletableFuture<Void>> contributions = new ArrayList<>();
+
+	IndependentProjectContributors(List<IndependentProjectContributor> contributors, Executor executor) {
+		this.contributors = contributors;
+		this.executor = executor;
+	}
+
+	/**
+	 * Return a {@link ProjectContributor} that starts the independent contributions.
+	 * @return a contributor that runs first
+	 */
+	ProjectContributor startContributor() {
+		return new StartProjectContributor();
+	}
+
+	/**
+	 * Return a {@link ProjectContributor} that waits for the independent contributions to
+	 * complete.
+	 * @return a contributor that runs last
+	 */
+	ProjectContributor completeContributor() {
+		return new CompleteProjectContributor();
+	}
+
+	private void startContributions(Path projectRoot) throws IOException {
+		for (IndependentProjectContributor contributor : this.contributors) {
+			if (this.executor != null) {
+				this.contributions
+					.add(CompletableFuture.runAsync(() -> contribute(contributor, projectRoot), this.executor));
+			}
+			else {
+				contributor.contribute(projectRoot);
+			}
+		}
+	}
+
+	private void contribute(IndependentProjectContributor contributor, Path projectRoot) {
+		try {
+			contributor.contribute(projectRoot);
+		}
+		catch (IOException ex) {
+			throw new UncheckedIOException(ex);
+		}
+	}
+
+	private void completeContributions() throws IOException {
+		try {
+			awaitContributions().join();
+		}
+		catch (CompletionException ex) {
+			Throwable cause = ex.getCause();
+			if (cause instanceof UncheckedIOException ioException) {
+				throw ioException.getCause();
+			}
+			if (cause instanceof RuntimeException runtimeException) {
+				throw runtimeException;
+			}
+			if (cause instanceof Error error) {
+				throw error;
+			}
+			throw new IllegalStateException(cause);
+		}
+	}
+
+	@Override
+	public void destroy() {
+		// Make sure no contribution outlives the generation if it failed
+		awaitContributions().handle((result, ex) -> null).join();
+	}
+
+	private CompletableFuture<Void> awaitContributions() {
+		CompletableFuture<?>[] contributions = this.contributions.toArray(new CompletableFuture<?>[0]);
+		this.contributions.clear();
+		return CompletableFuture.allOf(contributions);
+	}
+
+	private final class StartProjectContributor implements ProjectContributor {
+
+		@Override
+		public void contribute(Path projectRoot) throws IOException {
+			startContributions(projectRoot);
+		}
+
+		@Override
+		public int getOrder() {
+			return Ordered.HIGHEST_PRECEDENCE;
+		}
+
+	}
+
+	private final class CompleteProjectContributor implements ProjectContributor {
+
+		@Override
+		public void contribute(Path projectRoot) throws IOException {
+			completeContributions();
+		}
+
+		@Override
+		public int getOrder() {
+			return Ordered.LOWEST_PRECEDENCE;
+		}
+
+	}
+
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2012 - present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site.extension.contributor;
+
+import io.spring.initializr.generator.project.contributor.ProjectContributor;
+import io.spring.start.site.support.IndependentProjectContributor;
+import io.spring.start.site.support.ProjectContributorExecutor;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration that runs {@link IndependentProjectContributor independent
+ * contributors}, concurrently if a {@link ProjectContributorExecutor} is available.
+ *
+ * @author agent
+ */
+@Configuration(proxyBeanMethods = false)
+class IndependentProjectContributorsProjectGenerationConfiguration {
+
+	@Bean
+	IndependentProjectContributors independentProjectContributors(
+			ObjectProvider<IndependentProjectContributor> contributors,
+			ObjectProvider<ProjectContributorExecutor> executor) {
+		return new IndependentProjectContributors(contributors.orderedStream().toList(), executor.getIfAvailable());
+	}
+
+	@Bean
+	ProjectContributor independentProjectContributorsStart(IndependentProjectContributors contributors) {
+		return contributors.startContributor();
+	}
+
+	@Bean
+	ProjectContributor independentProjectContributorsComplete(IndependentProjectContributors contributors) {
+		return contributors.completeContributor();
+	}
+
+}
@@ -23,7 +23,6 @@ import io.spring.initializr.generator.condition.ConditionalOnRequestedDependency
 import io.spring.initializr.generator.io.template.MustacheTemplateRenderer;
 import io.spring.initializr.generator.project.ProjectDescription;
 import io.spring.initializr.generator.project.ProjectGenerationConfiguration;
-import io.spring.initializr.metadata.InitializrMetadata;
 import io.spring.start.site.extension.dependency.ldap.LdapUnboundIdBuildCustomizer;
 import io.spring.start.site.extension.dependency.liquibase.LiquibaseProjectContributor;
 import io.spring.start.site.extension.dependency.lombok.LombokGradleBuildCustomizer;
@@ -36,6 +35,7 @@ import io.spring.start.site.extension.dependency.springsecurity.SpringSecurityRS
 import io.spring.start.site.extension.dependency.springsecurity.SpringSecurityWebAuthnBuildCustomizer;
 import io.spring.start.site.extension.dependency.springshell.SpringShellTestBuildCustomizer;
 import io.spring.start.site.extension.dependency.thymeleaf.ThymeleafBuildCustomizer;
+import io.spring.start.site.support.InitializrMetadataSnapshot;
 
 import org.springframework.context.annotation.Bean;
 
@@ -52,9 +52,9 @@ import org.springframework.context.annotation.Bean;
 @ProjectGenerationConfiguration
 public class DependencyProjectGenerationConfiguration {
 
-	private final InitializrMetadata metadata;
+	private final InitializrMetadataSnapshot metadata;
 
-	public DependencyProjectGenerationConfiguration(InitializrMetadata metadata) {
+	public DependencyProjectGenerationConfiguration(InitializrMetadataSnapshot metadata) {
 		this.metadata = metadata;
 	}
 
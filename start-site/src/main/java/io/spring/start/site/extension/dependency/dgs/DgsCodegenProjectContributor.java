@@ -20,15 +20,15 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 
-import io.spring.initializr.generator.project.contributor.ProjectContributor;
+import io.spring.start.site.support.IndependentProjectContributor;
 
 /**
- * A {@link ProjectContributor} that creates the "graphql-client" resources directory when
- * the DGS Codegen build plugin is requested.
+ * An {@link IndependentProjectContributor} that creates the "graphql-client" resources
+ * directory when the DGS Codegen build plugin is requested.
  *
  * @author Brian Clozel
  */
-class DgsCodegenProjectContributor implements ProjectContributor {
+class DgsCodegenProjectContributor implements IndependentProjectContributor {
 
 	@Override
 	public void contribute(Path projectRoot) throws IOException {
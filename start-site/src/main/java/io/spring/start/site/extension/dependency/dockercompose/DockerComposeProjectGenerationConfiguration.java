@@ -22,6 +22,7 @@ import io.spring.initializr.generator.io.IndentingWriterFactory;
 import io.spring.initializr.generator.spring.container.docker.compose.ComposeHelpDocumentCustomizer;
 import io.spring.initializr.generator.spring.container.docker.compose.ComposeProjectContributor;
 import io.spring.start.site.container.ComposeFileCustomizer;
+import io.spring.start.site.support.IndependentProjectContributor;
 
 import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.annotation.Bean;
@@ -44,9 +45,9 @@ class DockerComposeProjectGenerationConfiguration {
 	}
 
 	@Bean
-	ComposeProjectContributor dockerComposeProjectContributor(ComposeFile composeFile,
+	IndependentProjectContributor dockerComposeProjectContributor(ComposeFile composeFile,
 			IndentingWriterFactory indentingWriterFactory) {
-		return new ComposeProjectContributor(composeFile, indentingWriterFactory);
+		return new ComposeProjectContributor(composeFile, indentingWriterFactory)::contribute;
 	}
 
 	@Bean
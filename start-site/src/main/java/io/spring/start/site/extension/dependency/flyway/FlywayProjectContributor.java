@@ -20,15 +20,15 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 
-import io.spring.initializr.generator.project.contributor.ProjectContributor;
+import io.spring.start.site.support.IndependentProjectContributor;
 
 /**
- * A {@link ProjectContributor} that creates the "db/migration" resources directory when
- * Flyway is requested.
+ * An {@link IndependentProjectContributor} that creates the "db/migration" resources
+ * directory when Flyway is requested.
  *
  * @author Stephane Nicoll
  */
-class FlywayProjectContributor implements ProjectContributor {
+class FlywayProjectContributor implements IndependentProjectContributor {
 
 	@Override
 	public void contribute(Path projectRoot) throws IOException {
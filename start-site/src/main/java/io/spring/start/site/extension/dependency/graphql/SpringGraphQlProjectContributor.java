@@ -20,15 +20,15 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 
-import io.spring.initializr.generator.project.contributor.ProjectContributor;
+import io.spring.start.site.support.IndependentProjectContributor;
 
 /**
- * A {@link ProjectContributor} that creates the "graphql" resources directory when Spring
- * for GraphQL is requested.
+ * An {@link IndependentProjectContributor} that creates the "graphql" resources directory
+ * when Spring for GraphQL is requested.
  *
  * @author Andy Wilkinson
  */
-class SpringGraphQlProjectContributor implements ProjectContributor {
+class SpringGraphQlProjectContributor implements IndependentProjectContributor {
 
 	@Override
 	public void contribute(Path projectRoot) throws IOException {
@@ -20,15 +20,15 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 
-import io.spring.initializr.generator.project.contributor.ProjectContributor;
+import io.spring.start.site.support.IndependentProjectContributor;
 
 /**
- * A {@link ProjectContributor} that creates the "db/changelog" resources directory when
- * Liquibase is requested.
+ * An {@link IndependentProjectContributor} that creates the "db/changelog" resources
+ * directory when Liquibase is requested.
  *
  * @author Eddú Meléndez
  */
-public class LiquibaseProjectContributor implements ProjectContributor {
+public class LiquibaseProjectContributor implements IndependentProjectContributor {
 
 	@Override
 	public void contribute(Path projectRoot) throws IOException {
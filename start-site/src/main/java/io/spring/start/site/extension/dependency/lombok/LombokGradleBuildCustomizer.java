@@ -20,7 +20,7 @@ import io.spring.initializr.generator.buildsystem.DependencyScope;
 import io.spring.initializr.generator.buildsystem.gradle.GradleBuild;
 import io.spring.initializr.generator.spring.build.BuildCustomizer;
 import io.spring.initializr.metadata.Dependency;
-import io.spring.initializr.metadata.InitializrMetadata;
+import io.spring.start.site.support.InitializrMetadataSnapshot;
 
 /**
  * Complete the setup for Lombok with Gradle by adding Lombok with {@code compileOnly}
@@ -32,15 +32,15 @@ import io.spring.initializr.metadata.InitializrMetadata;
  */
 public class LombokGradleBuildCustomizer implements BuildCustomizer<GradleBuild> {
 
-	private final InitializrMetadata metadata;
+	private final InitializrMetadataSnapshot metadata;
 
-	public LombokGradleBuildCustomizer(InitializrMetadata metadata) {
+	public LombokGradleBuildCustomizer(InitializrMetadataSnapshot metadata) {
 		this.metadata = metadata;
 	}
 
 	@Override
 	public void customize(GradleBuild build) {
-		Dependency lombok = this.metadata.getDependencies().get("lombok");
+		Dependency lombok = this.metadata.getDependency("lombok");
 		build.dependencies()
 			.add("lombok-compileOnly", lombok.getGroupId(), lombok.getArtifactId(), DependencyScope.COMPILE_ONLY);
 		build.dependencies()
@@ -20,7 +20,7 @@ import io.spring.initializr.generator.buildsystem.DependencyScope;
 import io.spring.initializr.generator.buildsystem.maven.MavenBuild;
 import io.spring.initializr.generator.spring.build.BuildCustomizer;
 import io.spring.initializr.metadata.Dependency;
-import io.spring.initializr.metadata.InitializrMetadata;
+import io.spring.start.site.support.InitializrMetadataSnapshot;
 
 /**
  * Complete the setup for Lombok with Maven by adding Lombok as a dependency. It also adds
@@ -30,15 +30,15 @@ import io.spring.initializr.metadata.InitializrMetadata;
  */
 public class LombokMavenBuildCustomizer implements BuildCustomizer<MavenBuild> {
 
-	private final InitializrMetadata metadata;
+	private final InitializrMetadataSnapshot metadata;
 
-	public LombokMavenBuildCustomizer(InitializrMetadata metadata) {
+	public LombokMavenBuildCustomizer(InitializrMetadataSnapshot metadata) {
 		this.metadata = metadata;
 	}
 
 	@Override
 	public void customize(MavenBuild build) {
-		Dependency lombok = this.metadata.getDependencies().get("lombok");
+		Dependency lombok = this.metadata.getDependency("lombok");
 		build.dependencies()
 			.add("lombok-compileOnly", lombok.getGroupId(), lombok.getArtifactId(), DependencyScope.COMPILE_ONLY);
 		build.dependencies()
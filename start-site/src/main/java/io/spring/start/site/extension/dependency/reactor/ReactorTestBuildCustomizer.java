@@ -21,8 +21,8 @@ import io.spring.initializr.generator.buildsystem.Dependency;
 import io.spring.initializr.generator.buildsystem.DependencyScope;
 import io.spring.initializr.generator.project.ProjectDescription;
 import io.spring.initializr.generator.spring.build.BuildCustomizer;
-import io.spring.initializr.generator.spring.build.BuildMetadataResolver;
-import io.spring.initializr.metadata.InitializrMetadata;
+import io.spring.initializr.generator.version.Version;
+import io.spring.start.site.support.InitializrMetadataSnapshot;
 
 /**
  * A {@link BuildCustomizer} that automatically adds "reactor-test" when a dependency with
@@ -34,10 +34,13 @@ import io.spring.initializr.metadata.InitializrMetadata;
  */
 public class ReactorTestBuildCustomizer implements BuildCustomizer<Build> {
 
-	private final BuildMetadataResolver buildResolver;
+	private final InitializrMetadataSnapshot metadata;
 
-	public ReactorTestBuildCustomizer(InitializrMetadata metadata, ProjectDescription description) {
-		this.buildResolver = new BuildMetadataResolver(metadata, description.getPlatformVersion());
+	private final Version platformVersion;
+
+	public ReactorTestBuildCustomizer(InitializrMetadataSnapshot metadata, ProjectDescription description) {
+		this.metadata = metadata;
+		this.platformVersion = description.getPlatformVersion();
 	}
 
 	@Override
@@ -50,7 +53,7 @@ public class ReactorTestBuildCustomizer implements BuildCustomizer<Build> {
 	}
 
 	private boolean shouldAddReactorTestDependency(Build build) {
-		return this.buildResolver.dependencies(build)
+		return this.metadata.getDependencies(build, this.platformVersion)
 			.anyMatch((dependency) -> hasReactiveFacet(dependency) && !isSpringBootStarter(dependency));
 	}
 
@@ -22,9 +22,10 @@ import io.spring.initializr.generator.condition.ConditionalOnBuildSystem;
 import io.spring.initializr.generator.condition.ConditionalOnRequestedDependency;
 import io.spring.initializr.generator.project.ProjectDescription;
 import io.spring.initializr.generator.project.ProjectGenerationConfiguration;
-import io.spring.start.site.support.implicit.ImplicitDependency;
 import io.spring.start.site.support.implicit.ImplicitDependencyBuildCustomizer;
 import io.spring.start.site.support.implicit.ImplicitDependencyHelpDocumentCustomizer;
+import io.spring.start.site.support.implicit.ImplicitDependencyMatcher;
+import io.spring.start.site.support.implicit.ImplicitDependencyRegistry;
 
 import org.springframework.context.annotation.Bean;
 
@@ -38,11 +39,10 @@ import org.springframework.context.annotation.Bean;
 @ProjectGenerationConfiguration
 class SpringAzureProjectGenerationConfiguration {
 
-	private final Iterable<ImplicitDependency> azureDependencies;
+	private static final ImplicitDependencyRegistry AZURE_DEPENDENCIES = ImplicitDependencyRegistry
+		.of(SpringAzureModuleRegistry.createSpringBootRegistry());
 
-	SpringAzureProjectGenerationConfiguration() {
-		this.azureDependencies = SpringAzureModuleRegistry.createSpringBootRegistry();
-	}
+	private final ImplicitDependencyMatcher azureDependencies = AZURE_DEPENDENCIES.matcher();
 
 	@Bean
 	ImplicitDependencyBuildCustomizer azureDependencyBuildCustomizer() {
@@ -31,6 +31,7 @@ import io.spring.initializr.generator.project.ProjectGenerationConfiguration;
 import io.spring.initializr.generator.project.contributor.ProjectContributor;
 import io.spring.initializr.metadata.InitializrMetadata;
 import io.spring.initializr.versionresolver.MavenVersionResolver;
+import io.spring.start.site.support.InitializrMetadataSnapshot;
 
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -64,8 +65,9 @@ class SpringCloudProjectGenerationConfiguration {
 	}
 
 	@Bean
-	SpringCloudProjectVersionResolver springCloudProjectVersionResolver(MavenVersionResolver versionResolver) {
-		return new SpringCloudProjectVersionResolver(this.metadata, versionResolver);
+	SpringCloudProjectVersionResolver springCloudProjectVersionResolver(InitializrMetadataSnapshot metadata,
+			MavenVersionResolver versionResolver) {
+		return new SpringCloudProjectVersionResolver(metadata, versionResolver);
 	}
 
 	@Bean
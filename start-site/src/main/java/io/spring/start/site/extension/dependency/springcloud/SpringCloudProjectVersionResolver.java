@@ -18,8 +18,8 @@ package io.spring.start.site.extension.dependency.springcloud;
 
 import io.spring.initializr.generator.version.Version;
 import io.spring.initializr.metadata.BillOfMaterials;
-import io.spring.initializr.metadata.InitializrMetadata;
 import io.spring.initializr.versionresolver.MavenVersionResolver;
+import io.spring.start.site.support.InitializrMetadataSnapshot;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
@@ -33,11 +33,11 @@ class SpringCloudProjectVersionResolver {
 
 	private static final Log logger = LogFactory.getLog(SpringCloudProjectVersionResolver.class);
 
-	private final InitializrMetadata metadata;
+	private final InitializrMetadataSnapshot metadata;
 
 	private final MavenVersionResolver versionResolver;
 
-	SpringCloudProjectVersionResolver(InitializrMetadata metadata, MavenVersionResolver versionResolver) {
+	SpringCloudProjectVersionResolver(InitializrMetadataSnapshot metadata, MavenVersionResolver versionResolver) {
 		this.metadata = metadata;
 		this.versionResolver = versionResolver;
 	}
@@ -52,11 +52,20 @@ class SpringCloudProjectVersionResolver {
 	 * @return the appropriate project version or {@code null} if the resolution failed
 	 */
 	String resolveVersion(Version platformVersion, String dependencyId) {
-		BillOfMaterials bom = this.metadata.getConfiguration().getEnv().getBoms().get("spring-cloud");
+		BillOfMaterials bom = this.metadata.getBom("spring-cloud", platformVersion);
 		if (bom == null) {
-			return null;
+			BillOfMaterials declaredBom = this.metadata.getMetadata()
+				.getConfiguration()
+				.getEnv()
+				.getBoms()
+				.get("spring-cloud");
+			if (declaredBom == null) {
+				return null;
+			}
+			throw new IllegalStateException("Spring Cloud bom %s:%s is not compatible with platform version %s"
+				.formatted(declaredBom.getGroupId(), declaredBom.getArtifactId(), platformVersion));
 		}
-		String releaseTrainVersion = bom.resolve(platformVersion).getVersion();
+		String releaseTrainVersion = bom.getVersion();
 		logger.info("Retrieving version for artifact: " + dependencyId + " and release train version: "
 				+ releaseTrainVersion);
 		return this.versionResolver
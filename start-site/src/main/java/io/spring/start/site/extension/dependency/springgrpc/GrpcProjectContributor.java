@@ -20,14 +20,14 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 
-import io.spring.initializr.generator.project.contributor.ProjectContributor;
+import io.spring.start.site.support.IndependentProjectContributor;
 
 /**
- * A {@link ProjectContributor} that creates the "src/main/proto" directory.
+ * An {@link IndependentProjectContributor} that creates the "src/main/proto" directory.
  *
  * @author Moritz Halbritter
  */
-class GrpcProjectContributor implements ProjectContributor {
+class GrpcProjectContributor implements IndependentProjectContributor {
 
 	@Override
 	public void contribute(Path projectRoot) throws IOException {
@@ -29,6 +29,7 @@ import io.spring.initializr.generator.version.VersionParser;
 import io.spring.initializr.generator.version.VersionRange;
 import io.spring.start.site.support.implicit.ImplicitDependency;
 import io.spring.start.site.support.implicit.ImplicitDependency.Builder;
+import io.spring.start.site.support.implicit.ImplicitDependencyRegistry;
 
 /**
  * A registry of available Spring Integration modules.
@@ -42,7 +43,21 @@ abstract class SpringIntegrationModuleRegistry {
 
 	private static final VersionRange SPRING_BOOT_4_1_OR_LATER = VersionParser.DEFAULT.parseRange("4.1.0-M1");
 
-	static Iterable<ImplicitDependency> create(Version platformVersion) {
+	private static final ImplicitDependencyRegistry REGISTRY = ImplicitDependencyRegistry.of(create(false));
+
+	private static final ImplicitDependencyRegistry REGISTRY_WITH_GRPC = ImplicitDependencyRegistry.of(create(true));
+
+	/**
+	 * Return the {@link ImplicitDependencyRegistry} to use for the specified platform
+	 * version. Registries are created once and shared between project generations.
+	 * @param platformVersion the platform version
+	 * @return the registry for that version
+	 */
+	static ImplicitDependencyRegistry get(Version platformVersion) {
+		return (SPRING_BOOT_4_1_OR_LATER.match(platformVersion)) ? REGISTRY_WITH_GRPC : REGISTRY;
+	}
+
+	private static Iterable<ImplicitDependency> create(boolean grpc) {
 		List<Builder> builders = new ArrayList<>();
 		builders.add(onDependencies("activemq", "artemis").customizeBuild(addDependency("jms"))
 			.customizeHelpDocument(addReferenceLink("JMS Module", "jms")));
@@ -80,7 +95,7 @@ abstract class SpringIntegrationModuleRegistry {
 					.andThen(addReferenceLink("WebSocket Module", "web-sockets"))));
 		builders.add(onDependencies("web-services").customizeBuild(addDependency("ws"))
 			.customizeHelpDocument(addReferenceLink("Web Services Module", "ws")));
-		if (SPRING_BOOT_4_1_OR_LATER.match(platformVersion)) {
+		if (grpc) {
 			builders
 				.add(onDependencies("spring-grpc-server", "spring-grpc-client").customizeBuild(addDependency("grpc"))
 					.customizeHelpDocument(addReferenceLink("gRPC Module", "grpc")));
@@ -20,9 +20,9 @@ import io.spring.initializr.generator.buildsystem.Build;
 import io.spring.initializr.generator.condition.ConditionalOnRequestedDependency;
 import io.spring.initializr.generator.project.ProjectDescription;
 import io.spring.initializr.generator.project.ProjectGenerationConfiguration;
-import io.spring.start.site.support.implicit.ImplicitDependency;
 import io.spring.start.site.support.implicit.ImplicitDependencyBuildCustomizer;
 import io.spring.start.site.support.implicit.ImplicitDependencyHelpDocumentCustomizer;
+import io.spring.start.site.support.implicit.ImplicitDependencyMatcher;
 
 import org.springframework.context.annotation.Bean;
 
@@ -36,10 +36,10 @@ import org.springframework.context.annotation.Bean;
 @ConditionalOnRequestedDependency("integration")
 class SpringIntegrationProjectGenerationConfiguration {
 
-	private final Iterable<ImplicitDependency> dependencies;
+	private final ImplicitDependencyMatcher dependencies;
 
 	SpringIntegrationProjectGenerationConfiguration(ProjectDescription projectDescription) {
-		this.dependencies = SpringIntegrationModuleRegistry.create(projectDescription.getPlatformVersion());
+		this.dependencies = SpringIntegrationModuleRegistry.get(projectDescription.getPlatformVersion()).matcher();
 	}
 
 	@Bean
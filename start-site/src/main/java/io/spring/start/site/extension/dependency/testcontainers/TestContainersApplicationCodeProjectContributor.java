@@ -29,9 +29,9 @@ import io.spring.initializr.generator.language.SourceCode;
 import io.spring.initializr.generator.language.SourceCodeWriter;
 import io.spring.initializr.generator.language.TypeDeclaration;
 import io.spring.initializr.generator.project.ProjectDescription;
-import io.spring.initializr.generator.project.contributor.ProjectContributor;
 import io.spring.start.site.container.ServiceConnections;
 import io.spring.start.site.container.ServiceConnections.ServiceConnection;
+import io.spring.start.site.support.IndependentProjectContributor;
 
 /**
  * Project contributor for the test application used by testcontainers.
@@ -44,7 +44,7 @@ import io.spring.start.site.container.ServiceConnections.ServiceConnection;
  * @author Kaique Vieira Soares
  */
 abstract class TestContainersApplicationCodeProjectContributor<T extends TypeDeclaration, C extends CompilationUnit<T>, S extends SourceCode<T, C>>
-		implements ProjectContributor {
+		implements IndependentProjectContributor {
 
 	private static final ClassName TEST_CONFIGURATION_CLASS_NAME = ClassName
 		.of("org.springframework.boot.test.context.TestConfiguration");
@@ -31,9 +31,10 @@ import io.spring.initializr.generator.spring.build.BuildCustomizer;
 import io.spring.start.site.container.ServiceConnections;
 import io.spring.start.site.container.ServiceConnectionsCustomizer;
 import io.spring.start.site.container.Testcontainers;
-import io.spring.start.site.support.implicit.ImplicitDependency;
 import io.spring.start.site.support.implicit.ImplicitDependencyBuildCustomizer;
 import io.spring.start.site.support.implicit.ImplicitDependencyHelpDocumentCustomizer;
+import io.spring.start.site.support.implicit.ImplicitDependencyMatcher;
+import io.spring.start.site.support.implicit.ImplicitDependencyRegistry;
 
 import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.annotation.Bean;
@@ -50,18 +51,16 @@ import org.springframework.context.annotation.Configuration;
 @ConditionalOnRequestedDependency("testcontainers")
 public class TestcontainersProjectGenerationConfiguration {
 
-	private final Iterable<ImplicitDependency> dependencies;
+	private static final Testcontainers TESTCONTAINERS = new Testcontainers();
 
-	private final Testcontainers testcontainers;
+	private static final ImplicitDependencyRegistry DEPENDENCIES = ImplicitDependencyRegistry
+		.of(TestcontainersModuleRegistry.create(TESTCONTAINERS));
 
-	public TestcontainersProjectGenerationConfiguration() {
-		this.testcontainers = new Testcontainers();
-		this.dependencies = TestcontainersModuleRegistry.create(this.testcontainers);
-	}
+	private final ImplicitDependencyMatcher dependencies = DEPENDENCIES.matcher();
 
 	@Bean
 	Testcontainers testcontainers() {
-		return this.testcontainers;
+		return TESTCONTAINERS;
 	}
 
 	@Bean
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2012 - present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.spring.start.site.extension.metadata;
+
+import io.spring.initializr.metadata.InitializrMetadata;
+import io.spring.start.site.support.InitializrMetadataSnapshot;
+import io.spring.start.site.support.StartInitializrMetadataProvider;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration that exposes the {@link InitializrMetadataSnapshot} of the metadata used
+ * to generate the project. The snapshot built by the
+ * {@link StartInitializrMetadataProvider} is used if available.
+ *
+ * @author agent
+ */
+@Configuration(proxyBeanMethods = false)
+class InitializrMetadataSnapshotProjectGenerationConfiguration {
+
+	@Bean
+	InitializrMetadataSnapshot initializrMetadataSnapshot(InitializrMetadata metadata,
+			ObjectProvider<StartInitializrMetadataProvider> metadataProvider) {
+		StartInitializrMetadataProvider provider = metadataProvider.getIfAvailable();
+		return (provider != null) ? provider.getSnapshot(metadata) : InitializrMetadataSnapshot.of(metadata);
+	}
+
+}
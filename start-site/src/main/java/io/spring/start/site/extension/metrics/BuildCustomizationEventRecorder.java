@@ -0,0 +1,101 @@
+/*
+ * Copyright 2012 - present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site.extension.metrics;
+
+import io.spring.initializr.generator.buildsystem.Build;
+import io.spring.initializr.generator.project.ProjectDescription;
+import io.spring.initializr.generator.spring.build.BuildCustomizer;
+import io.spring.start.site.support.jfr.BuildCustomizationEvent;
+
+import org.springframework.core.Ordered;
+
+/**
+ * Records a {@link BuildCustomizationEvent} spanning the invocation of all
+ * {@link BuildCustomizer build customizers}.
+ *
+ * @author agent
+ */
+class BuildCustomizationEventRecorder {
+
+	private final ProjectDescription description;
+
+	private final BuildCustomizationEvent event = new BuildCustomizationEvent();
+
+	BuildCustomizationEventRecorder(ProjectDescription description) {
+		this.description = description;
+	}
+
+	/**
+	 * Return a {@link BuildCustomizer} that begins the event.
+	 * @return a customizer that runs first
+	 */
+	BuildCustomizer<Build> beginCustomizer() {
+		return new BeginBuildCustomizer();
+	}
+
+	/**
+	 * Return a {@link BuildCustomizer} that commits the event.
+	 * @return a customizer that runs last
+	 */
+	BuildCustomizer<Build> commitCustomizer() {
+		return new CommitBuildCustomizer();
+	}
+
+	private void begin() {
+		this.event.begin();
+	}
+
+	private void commit(Build build) {
+		if (this.event.shouldCommit()) {
+			this.event.setBootVersion((this.description.getPlatformVersion() != null)
+					? this.description.getPlatformVersion().toString() : null);
+			this.event.setBuildSystem(
+					(this.description.getBuildSystem() != null) ? this.description.getBuildSystem().id() : null);
+			this.event.setDependencyCount((int) build.dependencies().ids().count());
+			this.event.commit();
+		}
+	}
+
+	private final class BeginBuildCustomizer implements BuildCustomizer<Build> {
+
+		@Override
+		public void customize(Build build) {
+			begin();
+		}
+
+		@Override
+		public int getOrder() {
+			return Ordered.HIGHEST_PRECEDENCE;
+		}
+
+	}
+
+	private final class CommitBuildCustomizer implements BuildCustomizer<Build> {
+
+		@Override
+		public void customize(Build build) {
+			commit(build);
+		}
+
+		@Override
+		public int getOrder() {
+			return Ordered.LOWEST_PRECEDENCE;
+		}
+
+	}
+
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2012 - present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site.extension.metrics;
+
+import io.spring.initializr.generator.buildsystem.Build;
+import io.spring.initializr.generator.project.ProjectDescription;
+import io.spring.initializr.generator.spring.build.BuildCustomizer;
+import io.spring.start.site.support.ProjectGenerationTimings;
+import io.spring.start.site.support.ProjectGenerationTimingsPostProcessor;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration for metrics of project generations.
+ *
+ * @author agent
+ */
+@Configuration(proxyBeanMethods = false)
+class MetricsProjectGenerationConfiguration {
+
+	@Bean
+	static ProjectGenerationTimingsPostProcessor projectGenerationTimingsPostProcessor(
+			ObjectProvider<ProjectGenerationTimings> timings, ObjectProvider<ProjectDescription> description) {
+		return new ProjectGenerationTimingsPostProcessor(timings, description::getIfAvailable);
+	}
+
+	@Bean
+	BuildCustomizationEventRecorder buildCustomizationEventRecorder(ProjectDescription description) {
+		return new BuildCustomizationEventRecorder(description);
+	}
+
+	@Bean
+	BuildCustomizer<Build> buildCustomizationEventBeginCustomizer(BuildCustomizationEventRecorder recorder) {
+		return recorder.beginCustomizer();
+	}
+
+	@Bean
+	BuildCustomizer<Build> buildCustomizationEventCommitCustomizer(BuildCustomizationEventRecorder recorder) {
+		return recorder.commitCustomizer();
+	}
+
+}
@@ -16,46 +16,129 @@
 
 package io.spring.start.site.support;
 
-import java.lang.reflect.Method;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import io.spring.initializr.versionresolver.MavenVersionResolver;
 
-import org.springframework.cache.annotation.CacheConfig;
-import org.springframework.cache.annotation.Cacheable;
-import org.springframework.cache.interceptor.KeyGenerator;
+import org.springframework.cache.Cache;
+import org.springframework.cache.Cache.ValueWrapper;
 
 /**
  * A {@link MavenVersionResolver} that uses the metadata cache to store dependency and
  * plugin management resolution.
+ * <p>
+ * Concurrent cache misses for the same key only trigger one resolution: the first caller
+ * resolves the bill of materials outside of the cache while the other callers wait for
+ * its result. The in-flight resolution is only discarded once its result has been stored
+ * in the cache so that a late caller either joins it or finds the cached entry. Callers
+ * that joined an in-flight resolution are counted by the
+ * {@code start.version-resolver.coalesced} counter and the time it takes to load an
+ * entry on a cache miss is recorded by the {@code start.version-resolver.load} timer.
  *
  * @author Stephane Nicoll
  */
-@CacheConfig(cacheNames = "initializr.metadata", keyGenerator = "mavenVersionResolver")
-public class CacheableMavenVersionResolver implements MavenVersionResolver, KeyGenerator {
+public class CacheableMavenVersionResolver implements MavenVersionResolver {
 
 	private final MavenVersionResolver delegate;
 
-	public CacheableMavenVersionResolver(MavenVersionResolver delegate) {
+	private final Cache cache;
+
+	private final ConcurrentMap<String, CompletableFuture<Map<String, String>>> inFlight = new ConcurrentHashMap<>();
+
+	private final Timer dependenciesLoadTimer;
+
+	private final Timer pluginsLoadTimer;
+
+	private final Counter coalesced;
+
+	public CacheableMavenVersionResolver(MavenVersionResolver delegate, Cache cache, MeterRegistry meterRegistry) {
 		this.delegate = delegate;
+		this.cache = cache;
+		this.dependenciesLoadTimer = loadTimer(meterRegistry, "dependencies");
+		this.pluginsLoadTimer = loadTimer(meterRegistry, "plugins");
+		this.coalesced = Counter.builder("start.version-resolver.coalesced")
+			.description("Number of resolutions that waited for an identical in-flight resolution")
+			.register(meterRegistry);
 	}
 
 	@Override
-	@Cacheable
 	public Map<String, String> resolveDependencies(String groupId, String artifactId, String version) {
-		return this.delegate.resolveDependencies(groupId, artifactId, version);
+		return resolve(key("dependencies", groupId, artifactId, version), this.dependenciesLoadTimer,
+				() -> this.delegate.resolveDependencies(groupId, artifactId, version));
 	}
 
 	@Override
-	@Cacheable
 	public Map<String, String> resolvePlugins(String groupId, String artifactId, String version) {
-		return this.delegate.resolvePlugins(groupId, artifactId, version);
+		return resolve(key("plugins", groupId, artifactId, version), this.pluginsLoadTimer,
+				() -> this.delegate.resolvePlugins(groupId, artifactId, version));
 	}
 
-	@Override
-	public Object generate(Object target, Method method, Object... params) {
-		String prefix = (method.getName().equals("resolveDependencies")) ? "dependencies" : "plugins";
-		return "%s-%s:%s:%s".formatted(prefix, params[0], params[1], params[2]);
+	private Map<String, String> resolve(String key, Timer loadTimer, Supplier<Map<String, String>> resolution) {
+		Map<String, String> cached = getCached(key);
+		if (cached != null) {
+			return cached;
+		}
+		CompletableFuture<Map<String, String>> future = new CompletableFuture<>();
+		CompletableFuture<Map<String, String>> existing = this.inFlight.putIfAbsent(key, future);
+		if (existing != null) {
+			this.coalesced.increment();
+			return await(existing);
+		}
+		try {
+			// A resolution for the same key may have completed since the first lookup
+			Map<String, String> result = getCached(key);
+			if (result == null) {
+				VersionResolutionEventAdvisor.recordCacheMiss();
+				result = loadTimer.record(resolution);
+				this.cache.put(key, result);
+			}
+			future.complete(result);
+			return result;
+		}
+		catch (RuntimeException ex) {
+			future.completeExceptionally(ex);
+			throw ex;
+		}
+		finally {
+			this.inFlight.remove(key, future);
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private Map<String, String> getCached(String key) {
+		ValueWrapper valueWrapper = this.cache.get(key);
+		return (valueWrapper != null) ? (Map<String, String>) valueWrapper.get() : null;
+	}
+
+	private static Map<String, String> await(CompletableFuture<Map<String, String>> future) {
+		try {
+			return future.join();
+		}
+		catch (CompletionException ex) {
+			if (ex.getCause() instanceof RuntimeException cause) {
+				throw cause;
+			}
+			throw ex;
+		}
+	}
+
+	private static String key(String prefix, String groupId, String artifactId, String version) {
+		return "%s-%s:%s:%s".formatted(prefix, groupId, artifactId, version);
+	}
+
+	private static Timer loadTimer(MeterRegistry meterRegistry, String type) {
+		return Timer.builder("start.version-resolver.load")
+			.description("Time taken to resolve managed versions on a cache miss")
+			.tag("type", type)
+			.register(meterRegistry);
 	}
 
 }
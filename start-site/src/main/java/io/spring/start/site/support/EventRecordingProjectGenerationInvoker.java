@@ -0,0 +1,216 @@
+/*
+ * Copyright 2012 - present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site.support;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.function.Supplier;
+
+import io.spring.initializr.generator.project.MutableProjectDescription;
+import io.spring.initializr.generator.project.ProjectDescription;
+import io.spring.initializr.generator.project.ProjectDescriptionCustomizer;
+import io.spring.initializr.metadata.InitializrMetadata;
+import io.spring.initializr.web.project.ProjectGenerationInvoker;
+import io.spring.initializr.web.project.ProjectGenerationResult;
+import io.spring.initializr.web.project.ProjectRequest;
+import io.spring.initializr.web.project.ProjectRequestToDescriptionConverter;
+import io.spring.start.site.support.jfr.ContextRefreshEvent;
+import io.spring.start.site.support.jfr.ProjectArchiveEvent;
+import io.spring.start.site.support.jfr.ProjectDescriptionEvent;
+import io.spring.start.site.support.jfr.ProjectGenerationEvent;
+
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.core.Ordered;
+
+/**
+ * A {@link ProjectGenerationInvoker} that records the lifecycle of a generation as JDK
+ * Flight Recorder events: the generation as a whole, the resolution of the project
+ * description, the refresh of the generation context, and the creation of the archive.
+ * <p>
+ * Both the generation of a project structure and the generation of a build file are
+ * recorded. The archive is written by the controller once the distribution file has
+ * been created, and read back before the temporary files are cleaned. The archive event
+ * spans these two calls, which must happen on the same thread. An archive event that is
+ * not committed because the write failed is discarded by the next generation of that
+ * thread, rather than retained.
+ *
+ * @param <R> the concrete {@link ProjectRequest} type
+ * @author agent
+ */
+public class EventRecordingProjectGenerationInvoker<R extends ProjectRequest> extends ProjectGenerationInvoker<R> {
+
+	private final ThreadLocal<ProjectDescriptionEvent> descriptionEvent = new ThreadLocal<>();
+
+	private final ThreadLocal<PendingArchive> pendingArchive = new ThreadLocal<>();
+
+	public EventRecordingProjectGenerationInvoker(ApplicationContext parentApplicationContext,
+			ProjectRequestToDescriptionConverter<R> requestConverter) {
+		super(parentApplicationContext, requestConverter);
+	}
+
+	@Override
+	public ProjectGenerationResult invokeProjectStructureGeneration(R request) {
+		return record(request, () -> super.invokeProjectStructureGeneration(request));
+	}
+
+	@Override
+	public byte[] invokeBuildGeneration(R request) {
+		return record(request, () -> super.invokeBuildGeneration(request));
+	}
+
+	private <T> T record(R request, Supplier<T> generation) {
+		this.pendingArchive.remove();
+		ProjectGenerationEvent event = new ProjectGenerationEvent();
+		if (!event.isEnabled()) {
+			return generation.get();
+		}
+		event.begin();
+		ProjectDescriptionEvent descriptionEvent = new ProjectDescriptionEvent();
+		descriptionEvent.begin();
+		this.descriptionEvent.set(descriptionEvent);
+		try {
+			return generation.get();
+		}
+		finally {
+			this.descriptionEvent.remove();
+			event.setBootVersion(request.getBootVersion());
+			event.setProjectType(request.getType());
+			event.setDependencyCount(request.getDependencies().size());
+			event.commit();
+		}
+	}
+
+	@Override
+	public Path createDistributionFile(Path dir, String extension) {
+		Path archive = super.createDistributionFile(dir, extension);
+		ProjectArchiveEvent event = new ProjectArchiveEvent();
+		if (event.isEnabled()) {
+			event.begin();
+			event.setFormat(extension);
+			this.pendingArchive.set(new PendingArchive(dir, archive, event));
+		}
+		return archive;
+	}
+
+	@Override
+	public void cleanTempFiles(Path dir) {
+		PendingArchive pendingArchive = this.pendingArchive.get();
+		if (pendingArchive != null && pendingArchive.dir.equals(dir)) {
+			this.pendingArchive.remove();
+			pendingArchive.commit();
+		}
+		super.cleanTempFiles(dir);
+	}
+
+	@Override
+	protected void customizeProjectGenerationContext(AnnotationConfigApplicationContext context,
+			InitializrMetadata metadata) {
+		super.customizeProjectGenerationContext(context, metadata);
+		ProjectDescriptionEvent descriptionEvent = this.descriptionEvent.get();
+		if (descriptionEvent != null) {
+			this.descriptionEvent.remove();
+			context.registerBean(ProjectDescriptionEventCustomizer.class,
+					() -> new ProjectDescriptionEventCustomizer(descriptionEvent));
+		}
+		ContextRefreshEvent refreshEvent = new ContextRefreshEvent();
+		if (refreshEvent.isEnabled()) {
+			refreshEvent.begin();
+			context.addApplicationListener(new ContextRefreshEventListener(refreshEvent));
+		}
+	}
+
+	private static String getBootVersion(ProjectDescription description) {
+		return (description.getPlatformVersion() != null) ? description.getPlatformVersion().toString() : null;
+	}
+
+	private static final class PendingArchive {
+
+		private final Path dir;
+
+		private final Path archive;
+
+		private final ProjectArchiveEvent event;
+
+		private PendingArchive(Path dir, Path archive, ProjectArchiveEvent event) {
+			this.dir = dir;
+			this.archive = archive;
+			this.event = event;
+		}
+
+		private void commit() {
+			try {
+				this.event.setSize(Files.size(this.archive));
+			}
+			catch (IOException ex) {
+				this.event.setSize(-1);
+			}
+			this.event.commit();
+		}
+
+	}
+
+	/**
+	 * A {@link ProjectDescriptionCustomizer} that is invoked last, once the description
+	 * has been resolved, to commit the {@link ProjectDescriptionEvent}.
+	 */
+	private static final class ProjectDescriptionEventCustomizer implements ProjectDescriptionCustomizer {
+
+		private final ProjectDescriptionEvent event;
+
+		private ProjectDescriptionEventCustomizer(ProjectDescriptionEvent event) {
+			this.event = event;
+		}
+
+		@Override
+		public void customize(MutableProjectDescription description) {
+			this.event.setBootVersion(getBootVersion(description));
+			this.event.setDependencyCount(description.getRequestedDependencies().size());
+			this.event.commit();
+		}
+
+		@Override
+		public int getOrder() {
+			return Ordered.LOWEST_PRECEDENCE;
+		}
+
+	}
+
+	private static final class ContextRefreshEventListener implements ApplicationListener<ContextRefreshedEvent> {
+
+		private final ContextRefreshEvent event;
+
+		private ContextRefreshEventListener(ContextRefreshEvent event) {
+			this.event = event;
+		}
+
+		@Override
+		public void onApplicationEvent(ContextRefreshedEvent refreshedEvent) {
+			ApplicationContext context = refreshedEvent.getApplicationContext();
+			ProjectDescription description = context.getBean(ProjectDescription.class);
+			this.event.setBootVersion(getBootVersion(description));
+			this.event.setDependencyCount(description.getRequestedDependencies().size());
+			this.event.setBeanCount(context.getBeanDefinitionCount());
+			this.event.commit();
+		}
+
+	}
+
+}
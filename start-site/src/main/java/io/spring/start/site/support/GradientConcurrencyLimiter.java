@@ -0,0 +1,224 @@
+/*
+ * Copyright 2012 - present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site.support;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * A concurrency limiter whose limit adapts to the observed latency, in the style of a
+ * gradient limiter.
+ * <p>
+ * The limiter keeps a long-term average of the latency as a baseline and a short-term
+ * average that reacts quickly to load. The ratio between the two, the gradient, shrinks
+ * the limit when latency increases. When latency is stable and the limit is actually
+ * used, the limit grows by its square root. Callers that cannot be admitted wait in a
+ * bounded queue for a limited time before being rejected.
+ *
+ * @author agent
+ */
+public class GradientConcurrencyLimiter {
+
+	private static final double SMOOTHING = 0.2;
+
+	private static final double SHORT_WINDOW = 10;
+
+	private static final double LONG_WINDOW = 500;
+
+	private static final double MIN_GRADIENT = 0.5;
+
+	private final int minLimit;
+
+	private final int maxLimit;
+
+	private final int maxQueueSize;
+
+	private final Duration maxWait;
+
+	private final LongSupplier nanoTime;
+
+	private final Lock lock = new ReentrantLock();
+
+	private final Condition released = this.lock.newCondition();
+
+	private double limit;
+
+	private double shortRtt;
+
+	private double longRtt;
+
+	private int inFlight;
+
+	private int waiting;
+
+	public GradientConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, int maxQueueSize,
+			Duration maxWait) {
+		this(initialLimit, minLimit, maxLimit, maxQueueSize, maxWait, System::nanoTime);
+	}
+
+	GradientConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, int maxQueueSize, Duration maxWait,
+			LongSupplier nanoTime) {
+		this.limit = initialLimit;
+		this.minLimit = minLimit;
+		this.maxLimit = maxLimit;
+		this.maxQueueSize = maxQueueSize;
+		this.maxWait = maxWait;
+		this.nanoTime = nanoTime;
+	}
+
+	/**
+	 * Acquire a permit, waiting in the queue if the limit has been reached.
+	 * @return a permit that must be released once the work has completed, or
+	 * {@code null} if the queue is full or no permit became available in time
+	 * @throws InterruptedException if the current thread is interrupted while waiting
+	 */
+	public Permit tryAcquire() throws InterruptedException {
+		this.lock.lock();
+		try {
+			if (this.inFlight >= currentLimit()) {
+				if (this.waiting >= this.maxQueueSize) {
+					return null;
+				}
+				this.waiting++;
+				try {
+					long remaining = this.maxWait.toNanos();
+					while (this.inFlight >= currentLimit()) {
+						if (remaining <= 0) {
+							return null;
+						}
+						remaining = this.released.awaitNanos(remaining);
+					}
+				}
+				finally {
+					this.waiting--;
+				}
+			}
+			this.inFlight++;
+			return new Permit(this.nanoTime.getAsLong());
+		}
+		finally {
+			this.lock.unlock();
+		}
+	}
+
+	/**
+	 * Return the current limit.
+	 * @return the limit
+	 */
+	public int getLimit() {
+		this.lock.lock();
+		try {
+			return currentLimit();
+		}
+		finally {
+			this.lock.unlock();
+		}
+	}
+
+	/**
+	 * Return the number of permits in use.
+	 * @return the number of permits in use
+	 */
+	public int getInFlight() {
+		this.lock.lock();
+		try {
+			return this.inFlight;
+		}
+		finally {
+			this.lock.unlock();
+		}
+	}
+
+	/**
+	 * Return the number of callers waiting for a permit.
+	 * @return the size of the queue
+	 */
+	public int getQueueSize() {
+		this.lock.lock();
+		try {
+			return this.waiting;
+		}
+		finally {
+			this.lock.unlock();
+		}
+	}
+
+	private int currentLimit() {
+		return (int) this.limit;
+	}
+
+	private void release(long rtt) {
+		this.lock.lock();
+		try {
+			int inFlight = this.inFlight--;
+			updateLimit(rtt, inFlight);
+			this.released.signalAll();
+		}
+		finally {
+			this.lock.unlock();
+		}
+	}
+
+	private void updateLimit(long rtt, int inFlight) {
+		if (this.longRtt == 0) {
+			this.shortRtt = rtt;
+			this.longRtt = rtt;
+			return;
+		}
+		this.shortRtt += (rtt - this.shortRtt) / SHORT_WINDOW;
+		this.longRtt += (rtt - this.longRtt) / LONG_WINDOW;
+		if (inFlight < this.limit / 2) {
+			// The limit is not used, latency does not say anything about it
+			return;
+		}
+		double gradient = (this.shortRtt > 0) ? Math.max(MIN_GRADIENT, Math.min(1.0, this.longRtt / this.shortRtt))
+				: 1.0;
+		double newLimit = this.limit * gradient + Math.sqrt(this.limit);
+		newLimit = this.limit * (1 - SMOOTHING) + newLimit * SMOOTHING;
+		this.limit = Math.max(this.minLimit, Math.min(this.maxLimit, newLimit));
+	}
+
+	/**
+	 * A permit to run a unit of work.
+	 */
+	public final class Permit {
+
+		private final long startTime;
+
+		private final AtomicBoolean released = new AtomicBoolean();
+
+		private Permit(long startTime) {
+			this.startTime = startTime;
+		}
+
+		/**
+		 * Release this permit, recording the time it took to complete the work.
+		 */
+		public void release() {
+			if (this.released.compareAndSet(false, true)) {
+				GradientConcurrencyLimiter.this
+					.release(GradientConcurrencyLimiter.this.nanoTime.getAsLong() - this.startTime);
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2012 - present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site.support;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import io.spring.initializr.generator.project.contributor.ProjectContributor;
+
+/**
+ * Contributes files to a generated project independently of any other contributor.
+ * <p>
+ * Contrary to a {@link ProjectContributor}, an independent contributor does not run at a
+ * given position in the ordered chain of contributors. It may run concurrently with
+ * other contributors and must therefore only write files that no other contributor
+ * reads or writes. Creating directories that are shared with other contributors is
+ * fine.
+ *
+ * @author agent
+ */
+@FunctionalInterface
+public interface IndependentProjectContributor {
+
+	/**
+	 * Contribute additional resources to the project in the specified root directory.
+	 * @param projectRoot the root directory of the project
+	 * @throws IOException if contributing to the project fails
+	 */
+	void contribute(Path projectRoot) throws IOException;
+
+}
@@ -0,0 +1,238 @@
+/*
+ * Copyright 2012 - present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site.support;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+import io.spring.initializr.generator.buildsystem.Build;
+import io.spring.initializr.generator.version.Version;
+import io.spring.initializr.generator.version.VersionParser;
+import io.spring.initializr.metadata.BillOfMaterials;
+import io.spring.initializr.metadata.DefaultMetadataElement;
+import io.spring.initializr.metadata.Dependency;
+import io.spring.initializr.metadata.InitializrMetadata;
+
+/**
+ * An immutable view of an {@link InitializrMetadata} instance with lookups precomputed
+ * for every supported Spring Boot version.
+ * <p>
+ * Dependencies are indexed by id and alias, and each dependency and bill of materials is
+ * resolved once per supported Spring Boot version so that per-request lookups do not
+ * have to evaluate version ranges. Lookups against a Spring Boot version that is not
+ * part of the metadata are resolved on the fly.
+ * <p>
+ * Snapshots are built by {@link StartInitializrMetadataProvider} whenever it swaps the
+ * metadata, and exposed to project generation contexts as a bean.
+ *
+ * @author agent
+ */
+public final class InitializrMetadataSnapshot {
+
+	private final InitializrMetadata metadata;
+
+	private final Map<String, Integer> dependencyIndex;
+
+	private final Dependency[] dependencies;
+
+	private final Map<String, BillOfMaterials> boms;
+
+	private final Map<Version, ResolvedMetadata> resolvedMetadata;
+
+	private InitializrMetadataSnapshot(InitializrMetadata metadata) {
+		this.metadata = metadata;
+		List<Dependency> dependencies = new ArrayList<>(metadata.getDependencies().getAll());
+		this.dependencies = dependencies.toArray(new Dependency[0]);
+		this.dependencyIndex = indexDependencies(dependencies);
+		this.boms = Map.copyOf(metadata.getConfiguration().getEnv().getBoms());
+		this.resolvedMetadata = resolveMetadata(metadata.getBootVersions().getContent());
+	}
+
+	/**
+	 * Create a snapshot of the specified {@link InitializrMetadata}.
+	 * @param metadata the metadata
+	 * @return the snapshot of that metadata
+	 */
+	public static InitializrMetadataSnapshot of(InitializrMetadata metadata) {
+		return new InitializrMetadataSnapshot(metadata);
+	}
+
+	/**
+	 * Return the metadata this snapshot was built from.
+	 * @return the metadata
+	 */
+	public InitializrMetadata getMetadata() {
+		return this.metadata;
+	}
+
+	/**
+	 * Return the {@link Dependency} with the specified id or alias.
+	 * @param id the id or alias of the dependency
+	 * @return the dependency or {@code null} if no such dependency exists
+	 */
+	public Dependency getDependency(String id) {
+		Integer index = this.dependencyIndex.get(id);
+		return (index != null) ? this.dependencies[index] : null;
+	}
+
+	/**
+	 * Return the {@link Dependency} with the specified id or alias, resolved against the
+	 * specified Spring Boot version.
+	 * @param id the id or alias of the dependency
+	 * @param platformVersion the Spring Boot version
+	 * @return the resolved dependency or {@code null} if no such dependency exists
+	 */
+	public Dependency getDependency(String id, Version platformVersion) {
+		Integer index = this.dependencyIndex.get(id);
+		if (index == null) {
+			return null;
+		}
+		ResolvedMetadata resolved = this.resolvedMetadata.get(platformVersion);
+		return (resolved != null) ? resolved.dependencies()[index]
+				: this.dependencies[index].resolve(platformVersion);
+	}
+
+	/**
+	 * Return the resolved metadata of the dependencies of the specified {@link Build}.
+	 * Dependencies that are not defined in the metadata are ignored.
+	 * @param build the build
+	 * @param platformVersion the Spring Boot version
+	 * @return the resolved dependencies of the build
+	 */
+	public Stream<Dependency> getDependencies(Build build, Version platformVersion) {
+		return build.dependencies().ids().map((id) -> getDependency(id, platformVersion)).filter(Objects::nonNull);
+	}
+
+	/**
+	 * Return the {@link BillOfMaterials} with the specified id, resolved against the
+	 * specified Spring Boot version.
+	 * @param id the id of the bom
+	 * @param platformVersion the Spring Boot version
+	 * @return the resolved bom or {@code null} if no such bom exists or if it is not
+	 * compatible with the specified Spring Boot version
+	 */
+	public BillOfMaterials getBom(String id, Version platformVersion) {
+		ResolvedMetadata resolved = this.resolvedMetadata.get(platformVersion);
+		if (resolved != null) {
+			return resolved.boms().get(id);
+		}
+		BillOfMaterials bom = this.boms.get(id);
+		return (bom != null) ? resolveBom(bom, platformVersion) : null;
+	}
+
+	/**
+	 * Return the {@link BillOfMaterials} with the specified id and its additional boms,
+	 * transitively, resolved against the specified Spring Boot version.
+	 * @param id the id of the bom
+	 * @param platformVersion the Spring Boot version
+	 * @return the resolved bom chain, starting with the requested bom, or an empty list
+	 * if no such bom exists or if it is not compatible with the specified Spring Boot
+	 * version
+	 */
+	public List<BillOfMaterials> getBomChain(String id, Version platformVersion) {
+		ResolvedMetadata resolved = this.resolvedMetadata.get(platformVersion);
+		if (resolved != null) {
+			return resolved.bomChains().getOrDefault(id, Collections.emptyList());
+		}
+		return resolveBomChain(id, platformVersion);
+	}
+
+	private Map<Version, ResolvedMetadata> resolveMetadata(List<DefaultMetadataElement> bootVersions) {
+		Map<Version, ResolvedMetadata> resolvedMetadata = new HashMap<>();
+		for (DefaultMetadataElement bootVersion : bootVersions) {
+			Version version = VersionParser.DEFAULT.safeParse(bootVersion.getId());
+			if (version != null) {
+				resolvedMetadata.put(version, resolveMetadata(version));
+			}
+		}
+		return Map.copyOf(resolvedMetadata);
+	}
+
+	private ResolvedMetadata resolveMetadata(Version platformVersion) {
+		Dependency[] dependencies = new Dependency[this.dependencies.length];
+		for (int i = 0; i < this.dependencies.length; i++) {
+			dependencies[i] = this.dependencies[i].resolve(platformVersion);
+		}
+		Map<String, BillOfMaterials> boms = new HashMap<>();
+		Map<String, List<BillOfMaterials>> bomChains = new HashMap<>();
+		this.boms.forEach((id, bom) -> {
+			BillOfMaterials resolvedBom = resolveBom(bom, platformVersion);
+			if (resolvedBom != null) {
+				boms.put(id, resolvedBom);
+			}
+			List<BillOfMaterials> bomChain = resolveBomChain(id, platformVersion);
+			if (!bomChain.isEmpty()) {
+				bomChains.put(id, bomChain);
+			}
+		});
+		return new ResolvedMetadata(dependencies, Map.copyOf(boms), Map.copyOf(bomChains));
+	}
+
+	private List<BillOfMaterials> resolveBomChain(String id, Version platformVersion) {
+		Map<String, BillOfMaterials> chain = new LinkedHashMap<>();
+		collectBomChain(id, platformVersion, chain);
+		return List.copyOf(chain.values());
+	}
+
+	private void collectBomChain(String id, Version platformVersion, Map<String, BillOfMaterials> chain) {
+		BillOfMaterials bom = this.boms.get(id);
+		if (bom == null || chain.containsKey(id)) {
+			return;
+		}
+		BillOfMaterials resolvedBom = resolveBom(bom, platformVersion);
+		if (resolvedBom == null) {
+			return;
+		}
+		chain.put(id, resolvedBom);
+		for (String additionalBom : resolvedBom.getAdditionalBoms()) {
+			collectBomChain(additionalBom, platformVersion, chain);
+		}
+	}
+
+	private static BillOfMaterials resolveBom(BillOfMaterials bom, Version platformVersion) {
+		try {
+			return bom.resolve(platformVersion);
+		}
+		catch (IllegalStateException ex) {
+			return null;
+		}
+	}
+
+	private static Map<String, Integer> indexDependencies(List<Dependency> dependencies) {
+		Map<String, Integer> index = new HashMap<>();
+		for (int i = 0; i < dependencies.size(); i++) {
+			Dependency dependency = dependencies.get(i);
+			index.put(dependency.getId(), i);
+			for (String alias : dependency.getAliases()) {
+				index.putIfAbsent(alias, i);
+			}
+		}
+		return Map.copyOf(index);
+	}
+
+	private record ResolvedMetadata(Dependency[] dependencies, Map<String, BillOfMaterials> boms,
+			Map<String, List<BillOfMaterials>> bomChains) {
+
+	}
+
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2012 - present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.spring.start.site.support;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import io.spring.initializr.metadata.InitializrMetadataBuilder;
+import io.spring.initializr.metadata.InitializrProperties;
+
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+
+/**
+ * Compile the metadata of the service to the binary snapshot read by
+ * {@link InitializrPropertiesLoader}. Invoked by the build with the location of the YAML
+ * metadata and of the snapshot to write.
+ * <p>
+ * The metadata is validated by building it, and the snapshot is checked to read back
+ * to the same properties so that the build fails rather than the service serving
+ * different metadata.
+ *
+ * @author agent
+ */
+public final class InitializrPropertiesCompiler {
+
+	private InitializrPropertiesCompiler() {
+	}
+
+	public static void main(String[] args) throws IOException {
+		if (args.length != 2) {
+			throw new IllegalArgumentException("Usage: InitializrPropertiesCompiler <metadata> <snapshot>");
+		}
+		Path snapshot = Path.of(args[1]);
+		byte[] content = compile(new FileSystemResource(args[0]));
+		Files.createDirectories(snapshot.toAbsolutePath().getParent());
+		Files.write(snapshot, content);
+	}
+
+	/**
+	 * Validate the metadata defined in the specified YAML resource and compile it.
+	 * @param metadata the YAML resource
+	 * @return the content of the snapshot
+	 * @throws IOException if the metadata cannot be read
+	 */
+	static byte[] compile(Resource metadata) throws IOException {
+		InitializrMetadataBuilder.fromInitializrProperties(InitializrPropertiesLoader.bind(metadata)).build();
+		String digest = InitializrPropertiesLoader.digest(metadata);
+		byte[] snapshot = write(InitializrPropertiesLoader.bind(metadata), digest);
+		try (InputStream input = new ByteArrayInputStream(snapshot)) {
+			InitializrPropertiesSnapshot.readSourceDigest(input);
+			if (!Arrays.equals(snapshot, write(InitializrPropertiesSnapshot.read(input), digest))) {
+				throw new IllegalStateException("Compiled metadata does not match " + metadata.getDescription());
+			}
+		}
+		return snapshot;
+	}
+
+	private static byte[] write(InitializrProperties properties, String digest) throws IOException {
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		InitializrPropertiesSnapshot.write(properties, digest, output);
+		return output.toByteArray();
+	}
+
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2012 - present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.spring.start.site.support;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+import io.spring.initializr.metadata.InitializrProperties;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.ConfigurationPropertySources;
+import org.springframework.boot.env.YamlPropertySourceLoader;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+
+/**
+ * Load the {@link InitializrProperties} that describe the metadata of the service.
+ * <p>
+ * The metadata is defined in {@value #METADATA_LOCATION}, rather than in the
+ * {@code Environment}, so that it is not bound on startup. The build compiles it to a
+ * binary snapshot, see {@link InitializrPropertiesCompiler}, that is read instead if it
+ * is present and up-to-date with the YAML file. Otherwise, for instance when running
+ * from an IDE, the YAML file is bound as a fallback. In both cases, any
+ * {@code initializr} property of the {@code Environment} is bound on top.
+ *
+ * @author agent
+ */
+public final class InitializrPropertiesLoader {
+
+	/**
+	 * The location of the metadata.
+	 */
+	public static final String METADATA_LOCATION = "classpath:initializr-metadata.yml";
+
+	/**
+	 * The location of the compiled metadata.
+	 */
+	public static final String COMPILED_METADATA_LOCATION = "classpath:initializr-metadata.bin";
+
+	private static final String PREFIX = "initializr";
+
+	private static final Log logger = LogFactory.getLog(InitializrPropertiesLoader.class);
+
+	private InitializrPropertiesLoader() {
+	}
+
+	/**
+	 * Load the metadata and bind the {@code initializr} properties of the specified
+	 * {@link Binder} on top.
+	 * @param resourceLoader the resource loader to use
+	 * @param binder the binder of the {@code Environment}
+	 * @return the properties describing the metadata
+	 */
+	public static InitializrProperties load(ResourceLoader resourceLoader, Binder binder) {
+		InitializrProperties properties = load(resourceLoader);
+		return binder.bind(PREFIX, Bindable.ofInstance(properties)).orElse(properties);
+	}
+
+	static InitializrProperties load(ResourceLoader resourceLoader) {
+		Resource metadata = resourceLoader.getResource(METADATA_LOCATION);
+		Resource compiledMetadata = resourceLoader.getResource(COMPILED_METADATA_LOCATION);
+		if (compiledMetadata.exists()) {
+			try (InputStream input = new BufferedInputStream(compiledMetadata.getInputStream())) {
+				if (InitializrPropertiesSnapshot.readSourceDigest(input).equals(digest(metadata))) {
+					return InitializrPropertiesSnapshot.read(input);
+				}
+				logger.info("Compiled metadata is out-of-date, binding " + METADATA_LOCATION);
+			}
+			catch (IOException | RuntimeException ex) {
+				logger.warn("Failed to read compiled metadata, binding " + METADATA_LOCATION, ex);
+			}
+		}
+		return bind(metadata);
+	}
+
+	/**
+	 * Bind the {@link InitializrProperties} defined in the specified YAML resource.
+	 * @param metadata the YAML resource
+	 * @return the bound properties
+	 */
+	static InitializrProperties bind(Resource metadata) {
+		try {
+			Binder binder = new Binder(ConfigurationPropertySources
+				.from(new YamlPropertySourceLoader().load(metadata.getDescription(), metadata)));
+			return binder.bind(PREFIX, InitializrProperties.class).orElseGet(InitializrProperties::new);
+		}
+		catch (IOException ex) {
+			throw new UncheckedIOException("Failed to load " + metadata, ex);
+		}
+	}
+
+	/**
+	 * Return a digest of the content of the specified resource.
+	 * @param resource the resource
+	 * @return the digest of its content
+	 * @throws IOException if the resource cannot be read
+	 */
+	static String digest(Resource resource) throws IOException {
+		try (InputStream input = resource.getInputStream()) {
+			return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(input.readAllBytes()));
+		}
+		catch (NoSuchAlgorithmException ex) {
+			throw new IllegalStateException(ex);
+		}
+	}
+
+}
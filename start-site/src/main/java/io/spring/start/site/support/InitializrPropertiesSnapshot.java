@@ -0,0 +1,287 @@
+/*
+ * Copyright 2012 - present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.spring.start.site.support;
+
+import java.beans.PropertyDescriptor;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import io.spring.initializr.metadata.InitializrProperties;
+
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.core.CollectionFactory;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.core.convert.TypeDescriptor;
+
+/**
+ * A compact binary form of {@link InitializrProperties}.
+ * <p>
+ * The snapshot starts with a digest of the source it was compiled from, followed by a
+ * table of the distinct strings it uses so that each of them is only read, and
+ * allocated, once. The properties follow the same rules as configuration properties
+ * binding: writable properties, and read-only properties that hold a collection, a map
+ * or a nested metadata type. Scalar values are stored as strings and converted back to
+ * the type of their property when the snapshot is read.
+ *
+ * @author agent
+ */
+final class InitializrPropertiesSnapshot {
+
+	private static final int MAGIC = 0x53544152;
+
+	private static final int FORMAT_VERSION = 1;
+
+	private static final String MODEL_PACKAGE = InitializrProperties.class.getPackageName();
+
+	private static final int END_OF_BEAN = -1;
+
+	private static final byte NULL = 0;
+
+	private static final byte VALUE = 1;
+
+	private static final TypeDescriptor STRING = TypeDescriptor.valueOf(String.class);
+
+	private InitializrPropertiesSnapshot() {
+	}
+
+	/**
+	 * Write a snapshot of the specified {@link InitializrProperties}.
+	 * @param properties the properties, as bound from their source
+	 * @param sourceDigest the digest of the source of the properties
+	 * @param outputStream the stream to write to
+	 * @throws IOException if the snapshot cannot be written
+	 */
+	static void write(InitializrProperties properties, String sourceDigest, OutputStream outputStream)
+			throws IOException {
+		SnapshotWriter writer = new SnapshotWriter();
+		writer.writeBean(properties);
+		DataOutputStream output = new DataOutputStream(outputStream);
+		output.writeInt(MAGIC);
+		output.writeInt(FORMAT_VERSION);
+		output.writeUTF(sourceDigest);
+		output.writeInt(writer.strings.size());
+		for (String string : writer.strings.keySet()) {
+			byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+			output.writeInt(bytes.length);
+			output.write(bytes);
+		}
+		writer.body.writeTo(output);
+		output.flush();
+	}
+
+	/**
+	 * Read the digest of the source of a snapshot.
+	 * @param inputStream the stream to read from
+	 * @return the digest of the source of the snapshot
+	 * @throws IOException if the snapshot cannot be read or has an unsupported format
+	 */
+	static String readSourceDigest(InputStream inputStream) throws IOException {
+		DataInputStream input = new DataInputStream(inputStream);
+		if (input.readInt() != MAGIC || input.readInt() != FORMAT_VERSION) {
+			throw new IOException("Unsupported snapshot format");
+		}
+		return input.readUTF();
+	}
+
+	/**
+	 * Read the {@link InitializrProperties} of a snapshot, once its source digest has been
+	 * read using {@link #readSourceDigest(InputStream)}.
+	 * @param inputStream the stream to read from
+	 * @return the properties
+	 * @throws IOException if the snapshot cannot be read
+	 */
+	static InitializrProperties read(InputStream inputStream) throws IOException {
+		DataInputStream input = new DataInputStream(inputStream);
+		String[] strings = new String[input.readInt()];
+		for (int i = 0; i < strings.length; i++) {
+			strings[i] = new String(input.readNBytes(input.readInt()), StandardCharsets.UTF_8);
+		}
+		InitializrProperties properties = new InitializrProperties();
+		new SnapshotReader(input, strings).readBean(properties);
+		return properties;
+	}
+
+	private static List<PropertyDescriptor> getBoundProperties(Class<?> type) {
+		return Arrays.stream(BeanUtils.getPropertyDescriptors(type))
+			.filter(InitializrPropertiesSnapshot::isBound)
+			.sorted(Comparator.comparing(PropertyDescriptor::getName))
+			.toList();
+	}
+
+	private static boolean isBound(PropertyDescriptor descriptor) {
+		if (descriptor.getReadMethod() == null || descriptor.getName().equals("class")) {
+			return false;
+		}
+		Class<?> type = descriptor.getPropertyType();
+		return descriptor.getWriteMethod() != null || Collection.class.isAssignableFrom(type)
+				|| Map.class.isAssignableFrom(type) || isModelType(type);
+	}
+
+	private static boolean isModelType(Class<?> type) {
+		return type.getPackageName().equals(MODEL_PACKAGE) && !type.isEnum();
+	}
+
+	private static final class SnapshotWriter {
+
+		private final ConversionService conversionService = ApplicationConversionService.getSharedInstance();
+
+		private final Map<String, Integer> strings = new LinkedHashMap<>();
+
+		private final ByteArrayOutputStream body = new ByteArrayOutputStream();
+
+		private final DataOutputStream output = new DataOutputStream(this.body);
+
+		private void writeBean(Object bean) throws IOException {
+			BeanWrapper wrapper = new BeanWrapperImpl(bean);
+			for (PropertyDescriptor descriptor : getBoundProperties(bean.getClass())) {
+				Object value = wrapper.getPropertyValue(descriptor.getName());
+				if (value != null && !isEmpty(value)) {
+					this.output.writeInt(index(descriptor.getName()));
+					writeValue(value);
+				}
+			}
+			this.output.writeInt(END_OF_BEAN);
+		}
+
+		private boolean isEmpty(Object value) {
+			return (value instanceof Collection<?> collection && collection.isEmpty())
+					|| (value instanceof Map<?, ?> map && map.isEmpty());
+		}
+
+		private void writeValue(Object value) throws IOException {
+			if (value == null) {
+				this.output.writeByte(NULL);
+				return;
+			}
+			this.output.writeByte(VALUE);
+			if (value instanceof Collection<?> collection) {
+				this.output.writeInt(collection.size());
+				for (Object element : collection) {
+					writeValue(element);
+				}
+			}
+			else if (value instanceof Map<?, ?> map) {
+				this.output.writeInt(map.size());
+				for (Map.Entry<?, ?> entry : map.entrySet()) {
+					writeValue(entry.getKey());
+					writeValue(entry.getValue());
+				}
+			}
+			else if (isModelType(value.getClass())) {
+				writeBean(value);
+			}
+			else {
+				this.output.writeInt(index(toString(value)));
+			}
+		}
+
+		private String toString(Object value) {
+			return (this.conversionService.canConvert(value.getClass(), String.class))
+					? this.conversionService.convert(value, String.class) : value.toString();
+		}
+
+		private int index(String string) {
+			return this.strings.computeIfAbsent(string, (candidate) -> this.strings.size());
+		}
+
+	}
+
+	private static final class SnapshotReader {
+
+		private final ConversionService conversionService = ApplicationConversionService.getSharedInstance();
+
+		private final DataInputStream input;
+
+		private final String[] strings;
+
+		private SnapshotReader(DataInputStream input, String[] strings) {
+			this.input = input;
+			this.strings = strings;
+		}
+
+		private void readBean(Object bean) throws IOException {
+			BeanWrapper wrapper = new BeanWrapperImpl(bean);
+			int name = this.input.readInt();
+			while (name != END_OF_BEAN) {
+				String propertyName = this.strings[name];
+				if (!wrapper.isReadableProperty(propertyName)) {
+					throw new IOException("Unknown property '" + propertyName + "' on " + bean.getClass().getName());
+				}
+				TypeDescriptor type = wrapper.getPropertyTypeDescriptor(propertyName);
+				Object current = (!wrapper.isWritableProperty(propertyName)) ? wrapper.getPropertyValue(propertyName)
+						: null;
+				Object value = readValue(type, current);
+				if (value != current) {
+					wrapper.setPropertyValue(propertyName, value);
+				}
+				name = this.input.readInt();
+			}
+		}
+
+		@SuppressWarnings("unchecked")
+		private Object readValue(TypeDescriptor type, Object current) throws IOException {
+			if (this.input.readByte() == NULL) {
+				return null;
+			}
+			if (type != null && type.isCollection()) {
+				Collection<Object> collection = (current != null) ? (Collection<Object>) current
+						: CollectionFactory.createCollection(type.getType(), 16);
+				collection.clear();
+				int size = this.input.readInt();
+				for (int i = 0; i < size; i++) {
+					collection.add(readValue(type.getElementTypeDescriptor(), null));
+				}
+				return collection;
+			}
+			if (type != null && type.isMap()) {
+				Map<Object, Object> map = (current != null) ? (Map<Object, Object>) current
+						: CollectionFactory.createMap(type.getType(), 16);
+				map.clear();
+				int size = this.input.readInt();
+				for (int i = 0; i < size; i++) {
+					Object key = readValue(type.getMapKeyTypeDescriptor(), null);
+					map.put(key, readValue(type.getMapValueTypeDescriptor(), null));
+				}
+				return map;
+			}
+			if (type != null && isModelType(type.getType())) {
+				Object bean = (current != null) ? current : BeanUtils.instantiateClass(type.getType());
+				readBean(bean);
+				return bean;
+			}
+			String value = this.strings[this.input.readInt()];
+			return (type != null) ? this.conversionService.convert(value, STRING, type) : value;
+		}
+
+	}
+
+}
@@ -0,0 +1,171 @@
+/*
+ * Copyright 2012 - present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site.support;
+
+import java.time.Duration;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.spring.initializr.generator.version.Version;
+import io.spring.initializr.metadata.BillOfMaterials;
+import io.spring.initializr.metadata.DefaultMetadataElement;
+import io.spring.initializr.metadata.InitializrMetadata;
+import io.spring.initializr.metadata.InitializrMetadataProvider;
+import io.spring.initializr.versionresolver.MavenVersionResolver;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+/**
+ * An {@link ApplicationRunner} that resolves the dependency management of every
+ * supported Spring Boot version and bill of materials before the application reports
+ * that it is ready to accept traffic. Resolutions are run in parallel and their duration
+ * is recorded as metrics.
+ *
+ * @author agent
+ */
+public class MavenVersionResolverWarmUp implements ApplicationRunner {
+
+	private static final Log logger = LogFactory.getLog(MavenVersionResolverWarmUp.class);
+
+	private static final String SPRING_BOOT_GROUP_ID = "org.springframework.boot";
+
+	private static final String SPRING_BOOT_ARTIFACT_ID = "spring-boot-dependencies";
+
+	private final InitializrMetadataProvider metadataProvider;
+
+	private final MavenVersionResolver versionResolver;
+
+	private final MeterRegistry meterRegistry;
+
+	private final int parallelism;
+
+	public MavenVersionResolverWarmUp(InitializrMetadataProvider metadataProvider,
+			MavenVersionResolver versionResolver, MeterRegistry meterRegistry, int parallelism) {
+		this.metadataProvider = metadataProvider;
+		this.versionResolver = versionResolver;
+		this.meterRegistry = meterRegistry;
+		this.parallelism = parallelism;
+	}
+
+	@Override
+	public void run(ApplicationArguments args) {
+		warmUp();
+	}
+
+	/**
+	 * Resolve the dependency management of all supported Spring Boot versions and bill
+	 * of materials, blocking until all resolutions have completed.
+	 */
+	public void warmUp() {
+		Set<Resolution> resolutions = getResolutions(this.metadataProvider.get());
+		logger.info("Warming up version resolver with " + resolutions.size() + " resolutions");
+		long start = System.nanoTime();
+		ExecutorService executor = Executors.newFixedThreadPool(this.parallelism,
+				new CustomizableThreadFactory("version-resolver-warm-up-"));
+		try {
+			List<CompletableFuture<Void>> futures = resolutions.stream()
+				.map((resolution) -> CompletableFuture.runAsync(() -> resolve(resolution), executor))
+				.toList();
+			futures.forEach(CompletableFuture::join);
+		}
+		finally {
+			executor.shutdown();
+		}
+		Duration duration = Duration.ofNanos(System.nanoTime() - start);
+		Timer.builder("start.version-resolver.warm-up")
+			.description("Time taken to warm up the version resolver")
+			.register(this.meterRegistry)
+			.record(duration);
+		logger.info("Version resolver warmed up in " + duration.toMillis() + "ms");
+	}
+
+	private void resolve(Resolution resolution) {
+		long start = System.nanoTime();
+		String outcome = "success";
+		try {
+			this.versionResolver.resolveDependencies(resolution.groupId(), resolution.artifactId(),
+					resolution.version());
+			if (resolution.plugins()) {
+				this.versionResolver.resolvePlugins(resolution.groupId(), resolution.artifactId(),
+						resolution.version());
+			}
+		}
+		catch (RuntimeException ex) {
+			outcome = "failure";
+			logger.warn("Failed to warm up " + resolution, ex);
+		}
+		Timer.builder("start.version-resolver.warm-up.bom")
+			.description("Time taken to resolve a bill of materials during warm-up")
+			.tag("bom", resolution.groupId() + ":" + resolution.artifactId())
+			.tag("version", resolution.version())
+			.tag("outcome", outcome)
+			.register(this.meterRegistry)
+			.record(Duration.ofNanos(System.nanoTime() - start));
+	}
+
+	private Set<Resolution> getResolutions(InitializrMetadata metadata) {
+		List<Version> bootVersions = metadata.getBootVersions()
+			.getContent()
+			.stream()
+			.map(DefaultMetadataElement::getId)
+			.map(Version::parse)
+			.toList();
+		Set<Resolution> resolutions = new LinkedHashSet<>();
+		for (Version bootVersion : bootVersions) {
+			resolutions
+				.add(new Resolution(SPRING_BOOT_GROUP_ID, SPRING_BOOT_ARTIFACT_ID, bootVersion.toString(), true));
+		}
+		for (BillOfMaterials bom : metadata.getConfiguration().getEnv().getBoms().values()) {
+			for (Version bootVersion : bootVersions) {
+				BillOfMaterials resolvedBom = resolveBom(bom, bootVersion);
+				if (resolvedBom != null && resolvedBom.getVersion() != null) {
+					resolutions.add(new Resolution(resolvedBom.getGroupId(), resolvedBom.getArtifactId(),
+							resolvedBom.getVersion(), false));
+				}
+			}
+		}
+		return resolutions;
+	}
+
+	private BillOfMaterials resolveBom(BillOfMaterials bom, Version bootVersion) {
+		if (bom.getMappings().isEmpty()) {
+			return bom;
+		}
+		boolean supported = bom.getMappings().stream().anyMatch((mapping) -> mapping.getRange().match(bootVersion));
+		return (supported) ? bom.resolve(bootVersion) : null;
+	}
+
+	private record Resolution(String groupId, String artifactId, String version, boolean plugins) {
+
+		@Override
+		public String toString() {
+			return "%s:%s:%s".formatted(this.groupId, this.artifactId, this.version);
+		}
+
+	}
+
+}
@@ -0,0 +1,231 @@
+/*
+ * Copyright 2012 - present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.spring.start.site.support;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.GZIPOutputStream;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.spring.initializr.metadata.InitializrMetadata;
+
+/**
+ * A cache of the rendered metadata documents, such as the JSON capabilities of the
+ * service or the command-line help, for the current {@link InitializrMetadata metadata}.
+ * <p>
+ * A document is rendered once per metadata snapshot and is kept alongside a gzip
+ * variant and a strong entity tag derived from its content. As
+ * {@link StartInitializrMetadataProvider} only swaps the metadata instance when new
+ * Spring Boot versions have been fetched, all documents are discarded as soon as a
+ * different metadata instance is used. The least recently used document is evicted once
+ * the maximum number of documents is reached.
+ *
+ * @author agent
+ */
+public class MetadataDocumentCache {
+
+	private final int maxDocuments;
+
+	private final AtomicReference<Documents> documents = new AtomicReference<>(new Documents(null, 0));
+
+	private final Counter hits;
+
+	private final Counter misses;
+
+	public MetadataDocumentCache(int maxDocuments, MeterRegistry meterRegistry) {
+		this.maxDocuments = maxDocuments;
+		this.hits = lookupCounter(meterRegistry, "hit");
+		this.misses = lookupCounter(meterRegistry, "miss");
+	}
+
+	/**
+	 * Return the document for the specified key, or {@code null} if no such document is
+	 * cached for the specified metadata.
+	 * @param metadata the current metadata
+	 * @param key the key of the document
+	 * @return the cached document or {@code null}
+	 */
+	public Document get(InitializrMetadata metadata, String key) {
+		Documents current = this.documents.get();
+		Document document = (current.metadata == metadata) ? current.get(key) : null;
+		((document != null) ? this.hits : this.misses).increment();
+		return document;
+	}
+
+	/**
+	 * Cache the specified document, evicting the least recently used document if the
+	 * maximum number of documents for the specified metadata has been reached.
+	 * @param metadata the metadata that was used to render the document
+	 * @param key the key of the document
+	 * @param document the document
+	 */
+	public void put(InitializrMetadata metadata, String key, Document document) {
+		Documents current = this.documents.updateAndGet((documents) -> (documents.metadata == metadata) ? documents
+				: new Documents(metadata, this.maxDocuments));
+		current.put(key, document);
+	}
+
+	private static Counter lookupCounter(MeterRegistry meterRegistry, String result) {
+		return Counter.builder("start.metadata-cache.lookups")
+			.description("Number of lookups of a rendered metadata document")
+			.tag("result", result)
+			.register(meterRegistry);
+	}
+
+	private static final class Documents {
+
+		private final InitializrMetadata metadata;
+
+		private final Map<String, Document> entries;
+
+		private final Lock lock = new ReentrantLock();
+
+		private Documents(InitializrMetadata metadata, int maxDocuments) {
+			this.metadata = metadata;
+			this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+
+				@Override
+				protected boolean removeEldestEntry(Map.Entry<String, Document> eldest) {
+					return size() > maxDocuments;
+				}
+
+			};
+		}
+
+		private Document get(String key) {
+			this.lock.lock();
+			try {
+				return this.entries.get(key);
+			}
+			finally {
+				this.lock.unlock();
+			}
+		}
+
+		private void put(String key, Document document) {
+			this.lock.lock();
+			try {
+				this.entries.putIfAbsent(key, document);
+			}
+			finally {
+				this.lock.unlock();
+			}
+		}
+
+	}
+
+	/**
+	 * A rendered metadata document.
+	 */
+	public static final class Document {
+
+		private final byte[] content;
+
+		private final byte[] gzipContent;
+
+		private final String contentType;
+
+		private final String etag;
+
+		private final String cacheControl;
+
+		private final List<String> vary;
+
+		private Document(byte[] content, byte[] gzipContent, String contentType, String etag, String cacheControl,
+				List<String> vary) {
+			this.content = content;
+			this.gzipContent = gzipContent;
+			this.contentType = contentType;
+			this.etag = etag;
+			this.cacheControl = cacheControl;
+			this.vary = vary;
+		}
+
+		/**
+		 * Create a document with a gzip variant and a strong entity tag derived from its
+		 * content.
+		 * @param content the content of the document
+		 * @param contentType the content type of the document
+		 * @param cacheControl the {@code Cache-Control} header of the document or
+		 * {@code null}
+		 * @param vary the {@code Vary} headers of the document
+		 * @return a new document
+		 */
+		public static Document of(byte[] content, String contentType, String cacheControl, List<String> vary) {
+			String etag = "\"" + HexFormat.of().formatHex(sha256(content)) + "\"";
+			return new Document(content, gzip(content), contentType, etag, cacheControl, List.copyOf(vary));
+		}
+
+		public byte[] getContent() {
+			return this.content;
+		}
+
+		public byte[] getGzipContent() {
+			return this.gzipContent;
+		}
+
+		public String getContentType() {
+			return this.contentType;
+		}
+
+		public String getEtag() {
+			return this.etag;
+		}
+
+		public String getCacheControl() {
+			return this.cacheControl;
+		}
+
+		public List<String> getVary() {
+			return this.vary;
+		}
+
+		private static byte[] gzip(byte[] content) {
+			ByteArrayOutputStream output = new ByteArrayOutputStream(content.length / 4);
+			try (GZIPOutputStream gzip = new GZIPOutputStream(output)) {
+				gzip.write(content);
+			}
+			catch (IOException ex) {
+				throw new UncheckedIOException(ex);
+			}
+			return output.toByteArray();
+		}
+
+		private static byte[] sha256(byte[] content) {
+			try {
+				return MessageDigest.getInstance("SHA-256").digest(content);
+			}
+			catch (NoSuchAlgorithmException ex) {
+				throw new IllegalStateException(ex);
+			}
+		}
+
+	}
+
+}
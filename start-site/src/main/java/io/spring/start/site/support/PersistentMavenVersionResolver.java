@@ -0,0 +1,133 @@
+/*
+ * Copyright 2012 - present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site.support;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Supplier;
+
+import io.spring.initializr.versionresolver.MavenVersionResolver;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+/**
+ * A {@link MavenVersionResolver} that stores the result of dependency and plugin
+ * management resolution on disk so that it survives restarts. Resolutions of snapshot
+ * versions are not stored as their content may change at any time.
+ * <p>
+ * Each resolution is stored in a dedicated file with one {@code id=version} entry per
+ * line. Entries are read lazily, the first time a resolution is requested.
+ *
+ * @author agent
+ */
+public class PersistentMavenVersionResolver implements MavenVersionResolver {
+
+	private static final Log logger = LogFactory.getLog(PersistentMavenVersionResolver.class);
+
+	private static final String FILE_EXTENSION = ".properties";
+
+	private final MavenVersionResolver delegate;
+
+	private final Path directory;
+
+	public PersistentMavenVersionResolver(MavenVersionResolver delegate, Path directory) {
+		this.delegate = delegate;
+		this.directory = directory;
+	}
+
+	@Override
+	public Map<String, String> resolveDependencies(String groupId, String artifactId, String version) {
+		return resolve(getFile("dependencies", groupId, artifactId, version),
+				() -> this.delegate.resolveDependencies(groupId, artifactId, version), version);
+	}
+
+	@Override
+	public Map<String, String> resolvePlugins(String groupId, String artifactId, String version) {
+		return resolve(getFile("plugins", groupId, artifactId, version),
+				() -> this.delegate.resolvePlugins(groupId, artifactId, version), version);
+	}
+
+	private Map<String, String> resolve(Path file, Supplier<Map<String, String>> resolution, String version) {
+		Map<String, String> entries = read(file);
+		if (entries != null) {
+			return entries;
+		}
+		Map<String, String> resolved = resolution.get();
+		if (!isSnapshot(version) && resolved != null && !resolved.isEmpty()) {
+			write(file, resolved);
+		}
+		return resolved;
+	}
+
+	private Path getFile(String type, String groupId, String artifactId, String version) {
+		return this.directory.resolve(type).resolve(groupId).resolve(artifactId).resolve(version + FILE_EXTENSION);
+	}
+
+	private Map<String, String> read(Path file) {
+		if (!Files.isRegularFile(file)) {
+			return null;
+		}
+		try {
+			List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+			Map<String, String> entries = new LinkedHashMap<>();
+			for (String line : lines) {
+				int index = line.indexOf('=');
+				if (index > 0) {
+					entries.put(line.substring(0, index), line.substring(index + 1));
+				}
+			}
+			return Collections.unmodifiableMap(entries);
+		}
+		catch (IOException ex) {
+			logger.warn("Failed to read persisted resolution from " + file, ex);
+			return null;
+		}
+	}
+
+	private void write(Path file, Map<String, String> entries) {
+		try {
+			Files.createDirectories(file.getParent());
+			Path tempFile = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+			try (BufferedWriter writer = Files.newBufferedWriter(tempFile, StandardCharsets.UTF_8)) {
+				for (Map.Entry<String, String> entry : new TreeMap<>(entries).entrySet()) {
+					writer.write(entry.getKey());
+					writer.write('=');
+					writer.write(entry.getValue());
+					writer.newLine();
+				}
+			}
+			Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		}
+		catch (IOException ex) {
+			logger.warn("Failed to persist resolution to " + file, ex);
+		}
+	}
+
+	private static boolean isSnapshot(String version) {
+		return version.endsWith("-SNAPSHOT");
+	}
+
+}
@@ -0,0 +1,599 @@
+/*
+ * Copyright 2012 - present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site.support;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.spring.initializr.metadata.InitializrMetadata;
+import io.spring.initializr.web.mapper.InitializrMetadataV21JsonMapper;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+/**
+ * A bounded cache of generated project archives, keyed by a hash of the normalized
+ * project request.
+ * <p>
+ * Archives are weighted by their size and the least recently used ones are evicted when
+ * the maximum size is exceeded. An optional disk tier keeps archives that are written
+ * through to a directory, with its own size bound. Entries expire after a configurable
+ * time to live, which should not exceed the expiry of the version resolver cache.
+ * <p>
+ * Archives are only valid for the version of the application and the content of the
+ * {@link InitializrMetadata metadata} that were used to generate them. Both are combined
+ * in a metadata version that is computed when a new metadata instance is used. All
+ * archives are invalidated when it changes. The disk tier records the metadata version of
+ * its archives so that they are reused after a restart only if the application and its
+ * metadata have not changed.
+ * <p>
+ * Reading and writing an archive file happen outside of the locks. Moving a written file
+ * in place and deleting files happen while the lock of the disk tier is held, so that its
+ * index and its directory remain consistent. These locks are {@link ReentrantLock
+ * reentrant locks} so that a virtual thread that waits for them does not pin its carrier
+ * thread.
+ *
+ * @author agent
+ */
+public class ProjectArchiveCache {
+
+	private static final Log logger = LogFactory.getLog(ProjectArchiveCache.class);
+
+	private final long maxSize;
+
+	private final Duration timeToLive;
+
+	private final String applicationVersion;
+
+	private final Clock clock;
+
+	private final DiskTier diskTier;
+
+	private final Map<String, Archive> archives = new LinkedHashMap<>(16, 0.75f, true);
+
+	private final Counter hits;
+
+	private final Counter misses;
+
+	private final Lock lock = new ReentrantLock();
+
+	private final Lock metadataLock = new ReentrantLock();
+
+	private volatile InitializrMetadata metadata;
+
+	private String metadataVersion;
+
+	private long size;
+
+	public ProjectArchiveCache(long maxSize, Duration timeToLive, String applicationVersion, Path directory,
+			long maxDiskSize, MeterRegistry meterRegistry) {
+		this(maxSize, timeToLive, applicationVersion, directory, maxDiskSize, meterRegistry, Clock.systemUTC());
+	}
+
+	ProjectArchiveCache(long maxSize, Duration timeToLive, String applicationVersion, Path directory,
+			long maxDiskSize, MeterRegistry meterRegistry, Clock clock) {
+		this.maxSize = maxSize;
+		this.timeToLive = timeToLive;
+		this.applicationVersion = applicationVersion;
+		this.clock = clock;
+		this.diskTier = (directory != null) ? new DiskTier(directory, maxDiskSize) : null;
+		this.hits = lookupCounter(meterRegistry, "hit");
+		this.misses = lookupCounter(meterRegistry, "miss");
+		Gauge.builder("start.archive-cache.size", this, ProjectArchiveCache::getSize)
+			.description("Total size of the archives held in memory")
+			.baseUnit("bytes")
+			.register(meterRegistry);
+	}
+
+	/**
+	 * Return the archive for the specified key, or {@code null} if no such archive is
+	 * cached for the specified metadata.
+	 * @param metadata the current metadata
+	 * @param key the key of the archive
+	 * @return the cached archive or {@code null}
+	 */
+	public Archive get(InitializrMetadata metadata, String key) {
+		Archive archive = getFromMemory(metadata, key);
+		if (archive == null && this.diskTier != null) {
+			archive = this.diskTier.get(key);
+			if (archive != null) {
+				if (isExpired(archive)) {
+					this.diskTier.remove(key);
+					archive = null;
+				}
+				else {
+					putInMemory(metadata, key, archive);
+				}
+			}
+		}
+		if (archive == null) {
+			this.misses.increment();
+			return null;
+		}
+		this.hits.increment();
+		return archive;
+	}
+
+	/**
+	 * Create an archive that has been generated now, according to the clock of this
+	 * cache.
+	 * @param content the content of the archive
+	 * @param contentType the content type of the archive
+	 * @param contentDisposition the content disposition of the archive
+	 * @return a new archive
+	 */
+	public Archive createArchive(byte[] content, String contentType, String contentDisposition) {
+		return Archive.of(content, contentType, contentDisposition, this.clock.instant());
+	}
+
+	/**
+	 * Cache the specified archive.
+	 * @param metadata the metadata that was used to generate the archive
+	 * @param key the key of the archive
+	 * @param archive the archive
+	 */
+	public void put(InitializrMetadata metadata, String key, Archive archive) {
+		if (putInMemory(metadata, key, archive) && this.diskTier != null) {
+			this.diskTier.put(key, archive);
+		}
+	}
+
+	/**
+	 * Remove all cached archives.
+	 */
+	public void invalidate() {
+		invalidateMemory();
+		if (this.diskTier != null) {
+			this.diskTier.invalidate();
+		}
+	}
+
+	private void invalidateMemory() {
+		this.lock.lock();
+		try {
+			this.archives.clear();
+			this.size = 0;
+		}
+		finally {
+			this.lock.unlock();
+		}
+	}
+
+	long getSize() {
+		this.lock.lock();
+		try {
+			return this.size;
+		}
+		finally {
+			this.lock.unlock();
+		}
+	}
+
+	private Archive getFromMemory(InitializrMetadata metadata, String key) {
+		checkMetadata(metadata);
+		this.lock.lock();
+		try {
+			Archive archive = this.archives.get(key);
+			if (archive != null && isExpired(archive)) {
+				this.archives.remove(key);
+				this.size -= archive.getContent().length;
+				return null;
+			}
+			return archive;
+		}
+		finally {
+			this.lock.unlock();
+		}
+	}
+
+	private boolean putInMemory(InitializrMetadata metadata, String key, Archive archive) {
+		checkMetadata(metadata);
+		if (archive.getContent().length > this.maxSize) {
+			return false;
+		}
+		this.lock.lock();
+		try {
+			Archive previous = this.archives.put(key, archive);
+			this.size += archive.getContent().length - ((previous != null) ? previous.getContent().length : 0);
+			if (this.size > this.maxSize) {
+				removeExpiredArchives();
+			}
+			Iterator<Archive> iterator = this.archives.values().iterator();
+			while (this.size > this.maxSize && iterator.hasNext()) {
+				this.size -= iterator.next().getContent().length;
+				iterator.remove();
+			}
+			return true;
+		}
+		finally {
+			this.lock.unlock();
+		}
+	}
+
+	private void removeExpiredArchives() {
+		Iterator<Archive> iterator = this.archives.values().iterator();
+		while (iterator.hasNext()) {
+			Archive archive = iterator.next();
+			if (isExpired(archive)) {
+				this.size -= archive.getContent().length;
+				iterator.remove();
+			}
+		}
+	}
+
+	private void checkMetadata(InitializrMetadata metadata) {
+		if (this.metadata == metadata) {
+			return;
+		}
+		this.metadataLock.lock();
+		try {
+			if (this.metadata == metadata) {
+				return;
+			}
+			String version = this.applicationVersion + "-" + digest(metadata);
+			if (!version.equals(this.metadataVersion)) {
+				if (this.metadataVersion != null) {
+					logger.debug("Metadata has been refreshed, invalidating cached archives");
+					invalidateMemory();
+				}
+				if (this.diskTier != null) {
+					this.diskTier.checkVersion(version);
+				}
+				this.metadataVersion = version;
+			}
+			this.metadata = metadata;
+		}
+		finally {
+			this.metadataLock.unlock();
+		}
+	}
+
+	private static String digest(InitializrMetadata metadata) {
+		String document = new InitializrMetadataV21JsonMapper().write(metadata, "");
+		return HexFormat.of().formatHex(sha256(document.getBytes(StandardCharsets.UTF_8)));
+	}
+
+	private boolean isExpired(Archive archive) {
+		return archive.getCreatedAt().plus(this.timeToLive).isBefore(this.clock.instant());
+	}
+
+	private static Counter lookupCounter(MeterRegistry meterRegistry, String result) {
+		return Counter.builder("start.archive-cache.lookups")
+			.description("Number of lookups of a generated project archive")
+			.tag("result", result)
+			.register(meterRegistry);
+	}
+
+	/**
+	 * Generate the key of an archive for the specified normalized request.
+	 * @param normalizedRequest a canonical representation of the request
+	 * @return the key to use
+	 */
+	public static String generateKey(String normalizedRequest) {
+		return HexFormat.of().formatHex(sha256(normalizedRequest.getBytes(StandardCharsets.UTF_8)));
+	}
+
+	private static byte[] sha256(byte[] content) {
+		try {
+			return MessageDigest.getInstance("SHA-256").digest(content);
+		}
+		catch (NoSuchAlgorithmException ex) {
+			throw new IllegalStateException(ex);
+		}
+	}
+
+	/**
+	 * A generated project archive.
+	 */
+	public static final class Archive {
+
+		private final byte[] content;
+
+		private final String contentType;
+
+		private final String contentDisposition;
+
+		private final String etag;
+
+		private final Instant createdAt;
+
+		private Archive(byte[] content, String contentType, String contentDisposition, String etag,
+				Instant createdAt) {
+			this.content = content;
+			this.contentType = contentType;
+			this.contentDisposition = contentDisposition;
+			this.etag = etag;
+			this.createdAt = createdAt;
+		}
+
+		/**
+		 * Create an archive with a strong entity tag derived from its content.
+		 * @param content the content of the archive
+		 * @param contentType the content type of the archive
+		 * @param contentDisposition the content disposition of the archive
+		 * @param createdAt the time at which the archive has been generated
+		 * @return a new archive
+		 */
+		public static Archive of(byte[] content, String contentType, String contentDisposition, Instant createdAt) {
+			String etag = "\"" + HexFormat.of().formatHex(sha256(content)) + "\"";
+			return new Archive(content, contentType, contentDisposition, etag, createdAt);
+		}
+
+		public byte[] getContent() {
+			return this.content;
+		}
+
+		public String getContentType() {
+			return this.contentType;
+		}
+
+		public String getContentDisposition() {
+			return this.contentDisposition;
+		}
+
+		public String getEtag() {
+			return this.etag;
+		}
+
+		public Instant getCreatedAt() {
+			return this.createdAt;
+		}
+
+		void writeTo(OutputStream outputStream) throws IOException {
+			DataOutputStream output = new DataOutputStream(outputStream);
+			output.writeUTF(this.contentType);
+			output.writeUTF(this.contentDisposition);
+			output.writeUTF(this.etag);
+			output.writeLong(this.createdAt.toEpochMilli());
+			output.writeInt(this.content.length);
+			output.write(this.content);
+			output.flush();
+		}
+
+		static Archive readFrom(InputStream inputStream) throws IOException {
+			DataInputStream input = new DataInputStream(inputStream);
+			String contentType = input.readUTF();
+			String contentDisposition = input.readUTF();
+			String etag = input.readUTF();
+			Instant createdAt = Instant.ofEpochMilli(input.readLong());
+			byte[] content = new byte[input.readInt()];
+			input.readFully(content);
+			return new Archive(content, contentType, contentDisposition, etag, createdAt);
+		}
+
+	}
+
+	/**
+	 * A size-bounded tier that writes archives through to a directory.
+	 */
+	private static final class DiskTier {
+
+		private final Path directory;
+
+		private final long maxSize;
+
+		private static final String EXTENSION = ".archive";
+
+		private static final String VERSION_FILE = "metadata.version";
+
+		private final Map<String, Long> sizes = new LinkedHashMap<>(16, 0.75f, true);
+
+		private final Lock lock = new ReentrantLock();
+
+		private long size;
+
+		DiskTier(Path directory, long maxSize) {
+			this.directory = directory;
+			this.maxSize = maxSize;
+			indexArchives();
+		}
+
+		Archive get(String key) {
+			this.lock.lock();
+			try {
+				// Access the entry so that it becomes the most recently used one
+				if (this.sizes.get(key) == null) {
+					return null;
+				}
+			}
+			finally {
+				this.lock.unlock();
+			}
+			try (InputStream input = Files.newInputStream(resolve(key))) {
+				return Archive.readFrom(input);
+			}
+			catch (IOException ex) {
+				return null;
+			}
+		}
+
+		void put(String key, Archive archive) {
+			try {
+				Files.createDirectories(this.directory);
+				Path file = Files.createTempFile(this.directory, key, ".tmp");
+				try (OutputStream output = Files.newOutputStream(file)) {
+					archive.writeTo(output);
+				}
+				add(key, file);
+			}
+			catch (IOException ex) {
+				logger.warn("Failed to write archive to " + this.directory, ex);
+			}
+		}
+
+		void remove(String key) {
+			this.lock.lock();
+			try {
+				Long previous = this.sizes.remove(key);
+				if (previous != null) {
+					this.size -= previous;
+					delete(resolve(key));
+				}
+			}
+			finally {
+				this.lock.unlock();
+			}
+		}
+
+		/**
+		 * Invalidate the archives of this tier if they have been generated with a
+		 * different metadata version than the specified one, and record it.
+		 * @param version the current metadata version
+		 */
+		void checkVersion(String version) {
+			this.lock.lock();
+			try {
+				Path versionFile = this.directory.resolve(VERSION_FILE);
+				if (!version.equals(readVersion(versionFile))) {
+					invalidate();
+					Files.createDirectories(this.directory);
+					Files.writeString(versionFile, version);
+				}
+			}
+			catch (IOException ex) {
+				logger.warn("Failed to record metadata version in " + this.directory, ex);
+			}
+			finally {
+				this.lock.unlock();
+			}
+		}
+
+		private String readVersion(Path versionFile) {
+			try {
+				return (Files.isRegularFile(versionFile)) ? Files.readString(versionFile) : null;
+			}
+			catch (IOException ex) {
+				return null;
+			}
+		}
+
+		void invalidate() {
+			this.lock.lock();
+			try {
+				this.sizes.keySet().forEach((key) -> delete(resolve(key)));
+				this.sizes.clear();
+				this.size = 0;
+			}
+			finally {
+				this.lock.unlock();
+			}
+		}
+
+		private void add(String key, Path file) throws IOException {
+			long fileSize = Files.size(file);
+			this.lock.lock();
+			try {
+				Files.move(file, resolve(key), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+				add(key, fileSize);
+			}
+			finally {
+				this.lock.unlock();
+			}
+		}
+
+		private void add(String key, long fileSize) {
+			this.lock.lock();
+			try {
+				Long previous = this.sizes.put(key, fileSize);
+				this.size += fileSize - ((previous != null) ? previous : 0);
+				Iterator<Map.Entry<String, Long>> iterator = this.sizes.entrySet().iterator();
+				while (this.size > this.maxSize && iterator.hasNext()) {
+					Map.Entry<String, Long> entry = iterator.next();
+					this.size -= entry.getValue();
+					delete(resolve(entry.getKey()));
+					iterator.remove();
+				}
+			}
+			finally {
+				this.lock.unlock();
+			}
+		}
+
+		private Path resolve(String key) {
+			return this.directory.resolve(key + EXTENSION);
+		}
+
+		private void delete(Path file) {
+			try {
+				Files.deleteIfExists(file);
+			}
+			catch (IOException ex) {
+				logger.debug("Failed to delete cached archive " + file, ex);
+			}
+		}
+
+		private void indexArchives() {
+			if (!Files.isDirectory(this.directory)) {
+				return;
+			}
+			try (Stream<Path> files = Files.list(this.directory)) {
+				files.filter((file) -> file.getFileName().toString().endsWith(EXTENSION))
+					.sorted(Comparator.comparing(this::getLastModifiedTime))
+					.forEach((file) -> {
+						String fileName = file.getFileName().toString();
+						add(fileName.substring(0, fileName.length() - EXTENSION.length()), getSize(file));
+					});
+			}
+			catch (IOException ex) {
+				logger.warn("Failed to index archives in " + this.directory, ex);
+			}
+		}
+
+		private FileTime getLastModifiedTime(Path file) {
+			try {
+				return Files.getLastModifiedTime(file);
+			}
+			catch (IOException ex) {
+				return FileTime.fromMillis(0);
+			}
+		}
+
+		private long getSize(Path file) {
+			try {
+				return Files.size(file);
+			}
+			catch (IOException ex) {
+				return 0;
+			}
+		}
+
+	}
+
+}
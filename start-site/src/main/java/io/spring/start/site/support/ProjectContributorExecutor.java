@@ -0,0 +1,58 @@
+/*
+ * Copyright 2012 - present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site.support;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+/**
+ * A bounded {@link Executor} shared by all project generations to run
+ * {@link IndependentProjectContributor independent contributors}.
+ * <p>
+ * Contributions are handed off to an idle thread and never queued. When all threads are
+ * busy, or once the executor has been shut down, they run in the thread of the
+ * generation that submitted them, so that a generation never waits for a contribution
+ * that is queued behind the ones of other generations.
+ *
+ * @author agent
+ */
+public class ProjectContributorExecutor implements Executor, DisposableBean {
+
+	private final ThreadPoolExecutor executor;
+
+	public ProjectContributorExecutor(int parallelism) {
+		this.executor = new ThreadPoolExecutor(parallelism, parallelism, 60, TimeUnit.SECONDS, new SynchronousQueue<>(),
+				new CustomizableThreadFactory("project-contributor-"), (command, executor) -> command.run());
+		this.executor.allowCoreThreadTimeOut(true);
+	}
+
+	@Override
+	public void execute(Runnable command) {
+		this.executor.execute(command);
+	}
+
+	@Override
+	public void destroy() {
+		this.executor.shutdown();
+	}
+
+}
@@ -0,0 +1,244 @@
+/*
+ * Copyright 2012 - present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site.support;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.spring.initializr.generator.project.ProjectDescription;
+import io.spring.initializr.generator.project.ProjectDescriptionCustomizer;
+import io.spring.initializr.generator.project.contributor.ProjectContributor;
+import io.spring.initializr.generator.spring.build.BuildCustomizer;
+import io.spring.initializr.generator.spring.documentation.HelpDocumentCustomizer;
+import io.spring.start.site.container.ComposeFileCustomizer;
+import io.spring.start.site.container.ServiceConnectionsCustomizer;
+import io.spring.start.site.support.jfr.ProjectComponentEvent;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.StaticMethodMatcherPointcut;
+import org.springframework.core.NativeDetector;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Records the time taken by each invocation of the components of a project generation:
+ * customizers of the build, help document, compose file, service connections and project
+ * description as well as project contributors.
+ * <p>
+ * Components are instrumented using a proxy that records a
+ * {@code start.generation.components} timer, tagged with the type of component, the
+ * class that declares it, and the platform version and build system of the project being
+ * generated. Timers are registered once per combination of these tags and reused for
+ * subsequent invocations. A {@link ProjectComponentEvent} is also recorded for JDK
+ * Flight Recorder. Only the methods of the component interfaces are intercepted, so that
+ * other methods, such as {@code getOrder()} while components are sorted, are invoked
+ * directly.
+ * Final classes other than lambdas cannot be proxied without changing their type, and
+ * are not instrumented. Proxies cannot be created at runtime in a native image, so no
+ * component is instrumented there.
+ *
+ * @author agent
+ */
+public class ProjectGenerationTimings {
+
+	private static final String METER_NAME = "start.generation.components";
+
+	private static final List<Method> INSTRUMENTED_METHODS = getInstrumentedMethods(BuildCustomizer.class,
+			HelpDocumentCustomizer.class, ComposeFileCustomizer.class, ServiceConnectionsCustomizer.class,
+			ProjectDescriptionCustomizer.class, ProjectContributor.class, IndependentProjectContributor.class);
+
+	private static final Map<Method, Method> INSTRUMENTED_METHODS_CACHE = new ConcurrentHashMap<>();
+
+	private final MeterRegistry meterRegistry;
+
+	private final Map<TimerKey, Timer> timers = new ConcurrentHashMap<>();
+
+	/**
+	 * Create an instance that records both timers and events.
+	 * @param meterRegistry the registry to use
+	 */
+	public ProjectGenerationTimings(MeterRegistry meterRegistry) {
+		this.meterRegistry = meterRegistry;
+	}
+
+	/**
+	 * Create an instance that only records events.
+	 */
+	public ProjectGenerationTimings() {
+		this.meterRegistry = null;
+	}
+
+	/**
+	 * Specify if the specified type is a component that can be instrumented.
+	 * @param type the type of a component
+	 * @return {@code true} if instances of that type can be instrumented
+	 */
+	public static boolean isInstrumentable(Class<?> type) {
+		if (NativeDetector.inNativeImage()) {
+			return false;
+		}
+		if (Modifier.isFinal(type.getModifiers()) && !ClassUtils.isLambdaClass(type)) {
+			return false;
+		}
+		return INSTRUMENTED_METHODS.stream().anyMatch((method) -> method.getDeclaringClass().isAssignableFrom(type));
+	}
+
+	/**
+	 * Instrument the specified component, if necessary.
+	 * @param component the component to instrument
+	 * @param description a supplier of the description of the project being generated,
+	 * used when the instrumented method does not provide it
+	 * @return the instrumented component, or the component itself if it cannot be
+	 * instrumented
+	 */
+	public Object instrument(Object component, Supplier<ProjectDescription> description) {
+		Class<?> type = component.getClass();
+		if (!isInstrumentable(type)) {
+			return component;
+		}
+		ProxyFactory proxyFactory = new ProxyFactory(component);
+		proxyFactory.setProxyTargetClass(!ClassUtils.isLambdaClass(type));
+		proxyFactory.addAdvisor(new DefaultPointcutAdvisor(InstrumentedMethodPointcut.INSTANCE,
+				new TimingInterceptor(getComponentName(type), description)));
+		return proxyFactory.getProxy(type.getClassLoader());
+	}
+
+	private Timer getTimer(TimerKey key) {
+		return this.timers.computeIfAbsent(key, (timerKey) -> Timer.builder(METER_NAME)
+			.description("Time taken by the components of a project generation")
+			.tags(Tags.of("type", timerKey.type(), "class", timerKey.componentName(), "boot.version",
+					timerKey.platformVersion(), "build.system", timerKey.buildSystem()))
+			.register(this.meterRegistry));
+	}
+
+	private static String getComponentName(Class<?> type) {
+		String name = type.getName();
+		int lambdaIndex = name.indexOf("$$Lambda");
+		return (lambdaIndex != -1) ? name.substring(0, lambdaIndex) : name;
+	}
+
+	private static List<Method> getInstrumentedMethods(Class<?>... types) {
+		List<Method> methods = new ArrayList<>();
+		for (Class<?> type : types) {
+			Arrays.stream(type.getDeclaredMethods())
+				.filter((method) -> Modifier.isAbstract(method.getModifiers()) && method.getParameterCount() == 1)
+				.forEach(methods::add);
+		}
+		return methods;
+	}
+
+	private static Method getInstrumentedMethod(Method method) {
+		Method instrumentedMethod = INSTRUMENTED_METHODS_CACHE.get(method);
+		if (instrumentedMethod == null) {
+			instrumentedMethod = findInstrumentedMethod(method);
+			if (instrumentedMethod != null) {
+				INSTRUMENTED_METHODS_CACHE.put(method, instrumentedMethod);
+			}
+		}
+		return instrumentedMethod;
+	}
+
+	private static Method findInstrumentedMethod(Method method) {
+		for (Method candidate : INSTRUMENTED_METHODS) {
+			if (candidate.getName().equals(method.getName())
+					&& candidate.getParameterCount() == method.getParameterCount()
+					&& candidate.getParameterTypes()[0].isAssignableFrom(method.getParameterTypes()[0])
+					&& candidate.getDeclaringClass().isAssignableFrom(method.getDeclaringClass())) {
+				return candidate;
+			}
+		}
+		return null;
+	}
+
+	private final class TimingInterceptor implements MethodInterceptor {
+
+		private final String componentName;
+
+		private final Supplier<ProjectDescription> description;
+
+		private TimingInterceptor(String componentName, Supplier<ProjectDescription> description) {
+			this.componentName = componentName;
+			this.description = description;
+		}
+
+		@Override
+		public Object invoke(MethodInvocation invocation) throws Throwable {
+			Method instrumentedMethod = getInstrumentedMethod(invocation.getMethod());
+			ProjectComponentEvent event = new ProjectComponentEvent();
+			event.begin();
+			long start = System.nanoTime();
+			try {
+				return invocation.proceed();
+			}
+			finally {
+				long duration = System.nanoTime() - start;
+				record(instrumentedMethod, invocation.getArguments(), duration, event);
+			}
+		}
+
+		private void record(Method instrumentedMethod, Object[] arguments, long duration,
+				ProjectComponentEvent event) {
+			ProjectDescription description = (arguments[0] instanceof ProjectDescription projectDescription)
+					? projectDescription : this.description.get();
+			String type = instrumentedMethod.getDeclaringClass().getSimpleName();
+			String platformVersion = (description != null && description.getPlatformVersion() != null)
+					? description.getPlatformVersion().toString() : "unknown";
+			String buildSystem = (description != null && description.getBuildSystem() != null)
+					? description.getBuildSystem().id() : "unknown";
+			if (ProjectGenerationTimings.this.meterRegistry != null) {
+				Timer timer = getTimer(new TimerKey(type, this.componentName, platformVersion, buildSystem));
+				timer.record(duration, TimeUnit.NANOSECONDS);
+			}
+			if (event.shouldCommit()) {
+				event.setComponentType(type);
+				event.setComponentClass(this.componentName);
+				event.setBootVersion(platformVersion);
+				event.setBuildSystem(buildSystem);
+				event.commit();
+			}
+		}
+
+	}
+
+	private static final class InstrumentedMethodPointcut extends StaticMethodMatcherPointcut {
+
+		private static final InstrumentedMethodPointcut INSTANCE = new InstrumentedMethodPointcut();
+
+		@Override
+		public boolean matches(Method method, Class<?> targetClass) {
+			return getInstrumentedMethod(method) != null;
+		}
+
+	}
+
+	private record TimerKey(String type, String componentName, String platformVersion, String buildSystem) {
+
+	}
+
+}
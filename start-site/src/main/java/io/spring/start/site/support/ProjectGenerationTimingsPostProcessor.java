@@ -0,0 +1,75 @@
+/*
+ * Copyright 2012 - present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site.support;
+
+import java.util.function.Supplier;
+
+import io.spring.initializr.generator.project.ProjectDescription;
+import io.spring.start.site.support.jfr.ProjectComponentEvent;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+/**
+ * A {@link BeanPostProcessor} that instruments the components of a project generation
+ * if {@link ProjectGenerationTimings} are available, or if a JDK Flight Recorder
+ * recording of {@link ProjectComponentEvent} is in progress when the first component is
+ * processed. As that event is disabled by default, a recording that uses the default
+ * settings does not lead to components being proxied.
+ *
+ * @author agent
+ */
+public class ProjectGenerationTimingsPostProcessor implements BeanPostProcessor {
+
+	private static final ProjectGenerationTimings EVENTS_ONLY = new ProjectGenerationTimings();
+
+	private final ObjectProvider<ProjectGenerationTimings> timings;
+
+	private final Supplier<ProjectDescription> description;
+
+	private ProjectGenerationTimings resolvedTimings;
+
+	private boolean resolved;
+
+	public ProjectGenerationTimingsPostProcessor(ObjectProvider<ProjectGenerationTimings> timings,
+			Supplier<ProjectDescription> description) {
+		this.timings = timings;
+		this.description = description;
+	}
+
+	@Override
+	public Object postProcessAfterInitialization(Object bean, String beanName) {
+		if (!ProjectGenerationTimings.isInstrumentable(bean.getClass())) {
+			return bean;
+		}
+		ProjectGenerationTimings timings = getTimings();
+		return (timings != null) ? timings.instrument(bean, this.description) : bean;
+	}
+
+	private ProjectGenerationTimings getTimings() {
+		if (!this.resolved) {
+			ProjectGenerationTimings timings = this.timings.getIfAvailable();
+			if (timings == null && new ProjectComponentEvent().isEnabled()) {
+				timings = EVENTS_ONLY;
+			}
+			this.resolvedTimings = timings;
+			this.resolved = true;
+		}
+		return this.resolvedTimings;
+	}
+
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright 2012 - present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site.support;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+import io.spring.initializr.metadata.DefaultMetadataElement;
+import io.spring.initializr.metadata.InitializrMetadata;
+import io.spring.initializr.metadata.InitializrMetadataProvider;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+
+/**
+ * An {@link InitializrMetadataProvider} that refreshes the metadata in the background.
+ * <p>
+ * Once the metadata is older than the configured refresh interval, a refresh is submitted
+ * to the {@link TaskExecutor} and callers keep being served the current metadata. If the
+ * Spring Boot versions have changed, a new metadata instance is built and swapped in
+ * atomically. Otherwise, the current metadata is kept as is. An
+ * {@link InitializrMetadataSnapshot} of the metadata is built whenever it is swapped.
+ *
+ * @author agent
+ */
+public class StartInitializrMetadataProvider implements InitializrMetadataProvider {
+
+	private static final Log logger = LogFactory.getLog(StartInitializrMetadataProvider.class);
+
+	private final Supplier<InitializrMetadata> metadataFactory;
+
+	private final StartInitializrMetadataUpdateStrategy updateStrategy;
+
+	private final TaskExecutor taskExecutor;
+
+	private final long refreshInterval;
+
+	private final Lock initializationLock = new ReentrantLock();
+
+	private final AtomicBoolean refreshing = new AtomicBoolean();
+
+	private volatile InitializrMetadata metadata;
+
+	private volatile InitializrMetadataSnapshot snapshot;
+
+	private volatile long lastRefresh;
+
+	public StartInitializrMetadataProvider(Supplier<InitializrMetadata> metadataFactory,
+			StartInitializrMetadataUpdateStrategy updateStrategy, TaskExecutor taskExecutor,
+			Duration refreshInterval) {
+		this.metadataFactory = metadataFactory;
+		this.updateStrategy = updateStrategy;
+		this.taskExecutor = taskExecutor;
+		this.refreshInterval = refreshInterval.toNanos();
+	}
+
+	@Override
+	public InitializrMetadata get() {
+		InitializrMetadata current = this.metadata;
+		if (current == null) {
+			return initialize();
+		}
+		if (System.nanoTime() - this.lastRefresh >= this.refreshInterval
+				&& this.refreshing.compareAndSet(false, true)) {
+			try {
+				this.taskExecutor.execute(this::refreshInBackground);
+			}
+			catch (TaskRejectedException ex) {
+				this.refreshing.set(false);
+				logger.debug("Metadata refresh rejected, will retry on next access", ex);
+			}
+		}
+		return current;
+	}
+
+	/**
+	 * Return the {@link InitializrMetadataSnapshot snapshot} of the specified metadata.
+	 * The snapshot built when the current metadata was swapped in is returned if it
+	 * matches. Otherwise, for instance if a refresh happened in the meantime, a snapshot
+	 * of the specified metadata is built.
+	 * @param metadata the metadata, as provided by {@link #get()}
+	 * @return the snapshot of that metadata
+	 */
+	public InitializrMetadataSnapshot getSnapshot(InitializrMetadata metadata) {
+		InitializrMetadataSnapshot current = this.snapshot;
+		return (current != null && current.getMetadata() == metadata) ? current
+				: InitializrMetadataSnapshot.of(metadata);
+	}
+
+	private InitializrMetadata initialize() {
+		this.initializationLock.lock();
+		try {
+			if (this.metadata == null) {
+				refresh();
+			}
+			return this.metadata;
+		}
+		finally {
+			this.initializationLock.unlock();
+		}
+	}
+
+	private void refreshInBackground() {
+		try {
+			refresh();
+		}
+		catch (RuntimeException ex) {
+			logger.warn("Failed to refresh metadata", ex);
+		}
+		finally {
+			this.refreshing.set(false);
+		}
+	}
+
+	private void refresh() {
+		this.lastRefresh = System.nanoTime();
+		InitializrMetadata current = this.metadata;
+		InitializrMetadata metadata = (current != null) ? current : this.metadataFactory.get();
+		String url = metadata.getConfiguration().getEnv().getSpringBootMetadataUrl();
+		List<DefaultMetadataElement> bootVersions = this.updateStrategy.fetchSpringBootVersions(url);
+		if (bootVersions != null && !bootVersions.isEmpty()) {
+			if (metadata == current) {
+				metadata = this.metadataFactory.get();
+			}
+			if (bootVersions.stream().noneMatch(DefaultMetadataElement::isDefault)) {
+				bootVersions.get(0).setDefault(true);
+			}
+			metadata.updateSpringBootVersions(bootVersions);
+		}
+		if (metadata != current) {
+			this.snapshot = InitializrMetadataSnapshot.of(metadata);
+			this.metadata = metadata;
+		}
+	}
+
+}
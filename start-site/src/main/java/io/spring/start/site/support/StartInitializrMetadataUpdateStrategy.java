@@ -16,19 +16,37 @@
 
 package io.spring.start.site.support;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
 import java.util.List;
 
 import io.spring.initializr.generator.version.Version;
 import io.spring.initializr.metadata.DefaultMetadataElement;
 import io.spring.initializr.web.support.InitializrMetadataUpdateStrategy;
 import io.spring.initializr.web.support.SpringIoInitializrMetadataUpdateStrategy;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
 import tools.jackson.databind.json.JsonMapper;
 
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
 import org.springframework.web.client.RestTemplate;
 
 /**
  * An {@link InitializrMetadataUpdateStrategy} that performs additional filtering of
  * versions available on spring.io.
+ * <p>
+ * The last fetched payload is kept alongside its {@code ETag} and {@code Last-Modified}
+ * headers so that subsequent refreshes are sent as conditional requests. If the content
+ * has not changed, no versions are returned and the metadata is left untouched.
  *
  * @author Stephane Nicoll
  * @author Moritz Halbritter
@@ -36,16 +54,37 @@ import org.springframework.web.client.RestTemplate;
  */
 public class StartInitializrMetadataUpdateStrategy extends SpringIoInitializrMetadataUpdateStrategy {
 
+	private static final Log logger = LogFactory.getLog(StartInitializrMetadataUpdateStrategy.class);
+
 	private static final Version MINIMUM_BOOT_VERSION = Version.parse("4.0.0");
 
+	private final ThreadLocal<Boolean> unchanged = ThreadLocal.withInitial(() -> false);
+
+	private volatile FetchedReleases lastFetchedReleases;
+
 	public StartInitializrMetadataUpdateStrategy(RestTemplate restTemplate, JsonMapper jsonMapper) {
 		super(restTemplate, jsonMapper);
+		restTemplate.getInterceptors().add(new ConditionalRequestInterceptor());
 	}
 
+	/**
+	 * Fetch the Spring Boot versions available at the specified {@code url}.
+	 * @param url the url to the spring.io releases api
+	 * @return the compatible versions or {@code null} if the versions could not be
+	 * fetched or have not changed since the last invocation
+	 */
 	@Override
 	protected List<DefaultMetadataElement> fetchSpringBootVersions(String url) {
-		List<DefaultMetadataElement> versions = super.fetchSpringBootVersions(url);
-		return (versions != null) ? versions.stream().filter(this::isCompatibleVersion).toList() : null;
+		try {
+			List<DefaultMetadataElement> versions = super.fetchSpringBootVersions(url);
+			if (versions == null || this.unchanged.get()) {
+				return null;
+			}
+			return versions.stream().filter(this::isCompatibleVersion).toList();
+		}
+		finally {
+			this.unchanged.remove();
+		}
 	}
 
 	private boolean isCompatibleVersion(DefaultMetadataElement versionMetadata) {
@@ -53,4 +92,102 @@ public class StartInitializrMetadataUpdateStrategy extends SpringIoInitializrMet
 		return version.compareTo(MINIMUM_BOOT_VERSION) >= 0;
 	}
 
+	private record FetchedReleases(String url, String etag, long lastModified, byte[] payload) {
+
+	}
+
+	/**
+	 * Sends the request as a conditional request if a payload was previously fetched
+	 * for the same url. If the content has not changed, the previous payload is provided
+	 * to the parser and the fetch is flagged as unchanged.
+	 */
+	private final class ConditionalRequestInterceptor implements ClientHttpRequestInterceptor {
+
+		@Override
+		public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+				throws IOException {
+			String url = request.getURI().toString();
+			FetchedReleases previous = StartInitializrMetadataUpdateStrategy.this.lastFetchedReleases;
+			if (previous != null && !previous.url().equals(url)) {
+				previous = null;
+			}
+			if (previous != null) {
+				if (previous.etag() != null) {
+					request.getHeaders().setIfNoneMatch(previous.etag());
+				}
+				if (previous.lastModified() != -1) {
+					request.getHeaders().setIfModifiedSince(previous.lastModified());
+				}
+			}
+			try (ClientHttpResponse response = execution.execute(request, body)) {
+				if (previous != null && response.getStatusCode() == HttpStatus.NOT_MODIFIED) {
+					logger.debug("Spring Boot metadata at " + url + " has not changed");
+					return unchanged(previous);
+				}
+				byte[] payload = response.getBody().readAllBytes();
+				if (previous != null && Arrays.equals(previous.payload(), payload)) {
+					logger.debug("Spring Boot metadata at " + url + " is identical to the previous payload");
+					return unchanged(previous);
+				}
+				HttpHeaders headers = response.getHeaders();
+				if (response.getStatusCode().is2xxSuccessful()) {
+					StartInitializrMetadataUpdateStrategy.this.lastFetchedReleases = new FetchedReleases(url,
+							headers.getETag(), headers.getLastModified(), payload);
+				}
+				return new FetchedResponse(response.getStatusCode(), response.getStatusText(), headers, payload);
+			}
+		}
+
+		private ClientHttpResponse unchanged(FetchedReleases previous) {
+			StartInitializrMetadataUpdateStrategy.this.unchanged.set(true);
+			HttpHeaders headers = new HttpHeaders();
+			headers.setContentType(MediaType.APPLICATION_JSON);
+			return new FetchedResponse(HttpStatus.OK, HttpStatus.OK.getReasonPhrase(), headers, previous.payload());
+		}
+
+	}
+
+	private static final class FetchedResponse implements ClientHttpResponse {
+
+		private final HttpStatusCode statusCode;
+
+		private final String statusText;
+
+		private final HttpHeaders headers;
+
+		private final byte[] body;
+
+		private FetchedResponse(HttpStatusCode statusCode, String statusText, HttpHeaders headers, byte[] body) {
+			this.statusCode = statusCode;
+			this.statusText = statusText;
+			this.headers = headers;
+			this.body = body;
+		}
+
+		@Override
+		public HttpStatusCode getStatusCode() {
+			return this.statusCode;
+		}
+
+		@Override
+		public String getStatusText() {
+			return this.statusText;
+		}
+
+		@Override
+		public HttpHeaders getHeaders() {
+			return this.headers;
+		}
+
+		@Override
+		public InputStream getBody() {
+			return new ByteArrayInputStream(this.body);
+		}
+
+		@Override
+		public void close() {
+		}
+
+	}
+
 }
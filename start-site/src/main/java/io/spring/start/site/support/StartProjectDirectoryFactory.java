@@ -0,0 +1,91 @@
+/*
+ * Copyright 2012 - present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site.support;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.spring.initializr.generator.project.ProjectDescription;
+import io.spring.initializr.generator.project.ProjectDirectoryFactory;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.util.unit.DataSize;
+
+/**
+ * A {@link ProjectDirectoryFactory} that generates projects in a dedicated directory,
+ * typically on a memory-backed file system such as {@code tmpfs}, so that writing the
+ * project and reading it again to build the archive does not hit the disk.
+ * <p>
+ * Projects are generated in the temporary directory instead when the usable space of the
+ * dedicated directory drops below a threshold. The number of projects generated in each
+ * location is recorded as metrics.
+ *
+ * @author agent
+ */
+public class StartProjectDirectoryFactory implements ProjectDirectoryFactory {
+
+	private static final Log logger = LogFactory.getLog(StartProjectDirectoryFactory.class);
+
+	private static final String PREFIX = "project-";
+
+	private final Path directory;
+
+	private final long minFreeSpace;
+
+	private final Counter directoryCounter;
+
+	private final Counter fallbackCounter;
+
+	public StartProjectDirectoryFactory(Path directory, DataSize minFreeSpace, MeterRegistry meterRegistry) {
+		this.directory = directory;
+		this.minFreeSpace = minFreeSpace.toBytes();
+		this.directoryCounter = locationCounter(meterRegistry, "directory");
+		this.fallbackCounter = locationCounter(meterRegistry, "fallback");
+	}
+
+	@Override
+	public Path createProjectDirectory(ProjectDescription description) throws IOException {
+		if (hasEnoughSpace()) {
+			this.directoryCounter.increment();
+			return Files.createTempDirectory(this.directory, PREFIX);
+		}
+		this.fallbackCounter.increment();
+		return Files.createTempDirectory(PREFIX);
+	}
+
+	private boolean hasEnoughSpace() {
+		try {
+			return Files.getFileStore(this.directory).getUsableSpace() >= this.minFreeSpace;
+		}
+		catch (IOException ex) {
+			logger.warn("Failed to determine usable space of " + this.directory, ex);
+			return false;
+		}
+	}
+
+	private static Counter locationCounter(MeterRegistry meterRegistry, String location) {
+		return Counter.builder("start.generation.directories")
+			.description("Number of project directories created")
+			.tag("location", location)
+			.register(meterRegistry);
+	}
+
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2012 - present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site.support;
+
+import io.spring.initializr.metadata.InitializrMetadata;
+import io.spring.initializr.web.project.ProjectGenerationInvoker;
+import io.spring.initializr.web.project.ProjectRequest;
+import io.spring.initializr.web.project.ProjectRequestToDescriptionConverter;
+
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.AnnotationConfigUtils;
+import org.springframework.core.type.classreading.CachingMetadataReaderFactory;
+import org.springframework.core.type.classreading.MetadataReaderFactory;
+
+/**
+ * A {@link ProjectGenerationInvoker} that shares the class metadata of project
+ * generation configurations between generation contexts.
+ * <p>
+ * Every generation context parses the {@code ProjectGenerationConfiguration} classes and
+ * their nested configurations. This invoker configures the context with a shared
+ * {@link MetadataReaderFactory} so that class files are only read once. Conditions are
+ * still evaluated for each request as they depend on the requested dependencies.
+ *
+ * @param <R> the concrete {@link ProjectRequest} type
+ * @author agent
+ */
+public class StartProjectGenerationInvoker<R extends ProjectRequest> extends EventRecordingProjectGenerationInvoker<R> {
+
+	private static final int CACHE_LIMIT = 1024;
+
+	private final MetadataReaderFactory metadataReaderFactory;
+
+	public StartProjectGenerationInvoker(ApplicationContext parentApplicationContext,
+			ProjectRequestToDescriptionConverter<R> requestConverter,
+			MetadataReaderFactory metadataReaderFactory) {
+		super(parentApplicationContext, requestConverter);
+		this.metadataReaderFactory = metadataReaderFactory;
+	}
+
+	public StartProjectGenerationInvoker(ApplicationContext parentApplicationContext,
+			ProjectRequestToDescriptionConverter<R> requestConverter) {
+		this(parentApplicationContext, requestConverter, createMetadataReaderFactory(parentApplicationContext));
+	}
+
+	@Override
+	protected void customizeProjectGenerationContext(AnnotationConfigApplicationContext context,
+			InitializrMetadata metadata) {
+		super.customizeProjectGenerationContext(context, metadata);
+		BeanDefinition configurationClassPostProcessor = context
+			.getBeanDefinition(AnnotationConfigUtils.CONFIGURATION_ANNOTATION_PROCESSOR_BEAN_NAME);
+		configurationClassPostProcessor.getPropertyValues()
+			.add("metadataReaderFactory", this.metadataReaderFactory);
+	}
+
+	private static MetadataReaderFactory createMetadataReaderFactory(ApplicationContext applicationContext) {
+		CachingMetadataReaderFactory metadataReaderFactory = new CachingMetadataReaderFactory(
+				applicationContext.getClassLoader());
+		metadataReaderFactory.setCacheLimit(CACHE_LIMIT);
+		return metadataReaderFactory;
+	}
+
+}
@@ -0,0 +1,203 @@
+/*
+ * Copyright 2012 - present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.spring.start.site.support;
+
+import java.io.IOException;
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.util.Arrays;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Properties;
+import java.util.Set;
+
+import io.spring.initializr.generator.project.ProjectGenerationConfiguration;
+import io.spring.initializr.metadata.InitializrMetadata;
+import io.spring.initializr.metadata.InitializrProperties;
+
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.ReflectionHints;
+import org.springframework.aot.hint.ResourceHints;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.annotation.MergedAnnotations;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.UrlResource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.util.ResourceUtils;
+import org.springframework.util.StringUtils;
+
+/**
+ * {@link RuntimeHintsRegistrar} for the parts of the application that ahead-of-time
+ * processing cannot discover on its own.
+ * <p>
+ * Project generation contexts are created for each request, so the
+ * {@link ProjectGenerationConfiguration project generation configurations} listed in
+ * {@code META-INF/spring.factories} are parsed and their conditions evaluated at runtime.
+ * Their bean methods, nested configurations, imports, and conditions are therefore
+ * registered for reflection. Resources that are only located at runtime, such as the
+ * mustache templates, the metadata of the service, the ehcache configuration and the
+ * files the Maven version resolver needs, are registered as well, together with the JAXB
+ * model that the ehcache configuration is bound to.
+ *
+ * @author agent
+ */
+public class StartRuntimeHints implements RuntimeHintsRegistrar {
+
+	private static final String SPRING_FACTORIES_LOCATION = "META-INF/spring.factories";
+
+	private static final MemberCategory[] CONFIGURATION_MEMBER_CATEGORIES = {
+			MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.INVOKE_DECLARED_METHODS };
+
+	private static final String EHCACHE_XML_MODEL_PACKAGE = "org.ehcache.xml.model";
+
+	private static final MemberCategory[] JAXB_MEMBER_CATEGORIES = { MemberCategory.ACCESS_DECLARED_FIELDS,
+			MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.INVOKE_DECLARED_METHODS };
+
+	@Override
+	public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+		ClassLoader classLoaderToUse = (classLoader != null) ? classLoader : ClassUtils.getDefaultClassLoader();
+		registerResources(hints.resources());
+		registerProjectGenerationConfigurations(hints.reflection(), classLoaderToUse);
+		registerMetadata(hints.reflection());
+		registerEhcache(hints, classLoaderToUse);
+	}
+
+	private void registerResources(ResourceHints resources) {
+		resources.registerPattern(SPRING_FACTORIES_LOCATION);
+		resources.registerPattern("templates/*.mustache");
+		resources.registerPattern(toPattern(InitializrPropertiesLoader.METADATA_LOCATION));
+		resources.registerPattern(toPattern(InitializrPropertiesLoader.COMPILED_METADATA_LOCATION));
+		// Wrapper scripts copied in generated projects
+		resources.registerPattern("maven/**");
+		resources.registerPattern("gradle/**");
+		// Super POM and public suffixes used by the Maven version resolver
+		resources.registerPattern("org/apache/maven/model/pom-*.xml");
+		resources.registerPattern("mozilla/public-suffix-list.txt");
+	}
+
+	private void registerProjectGenerationConfigurations(ReflectionHints reflection, ClassLoader classLoader) {
+		Set<Class<?>> registered = new HashSet<>();
+		for (String className : getProjectGenerationConfigurations(classLoader)) {
+			registerConfiguration(reflection, ClassUtils.resolveClassName(className, classLoader), registered);
+		}
+	}
+
+	private void registerConfiguration(ReflectionHints reflection, Class<?> type, Set<Class<?>> registered) {
+		if (!registered.add(type)) {
+			return;
+		}
+		reflection.registerType(type, CONFIGURATION_MEMBER_CATEGORIES);
+		registerConditions(reflection, type);
+		for (Method method : ReflectionUtils.getDeclaredMethods(type)) {
+			registerConditions(reflection, method);
+		}
+		MergedAnnotations.from(type)
+			.stream(Import.class)
+			.flatMap((annotation) -> Arrays.stream(annotation.getClassArray("value")))
+			.forEach((importedType) -> registerConfiguration(reflection, importedType, registered));
+		for (Class<?> nestedType : type.getDeclaredClasses()) {
+			registerConfiguration(reflection, nestedType, registered);
+		}
+	}
+
+	private void registerConditions(ReflectionHints reflection, AnnotatedElement element) {
+		MergedAnnotations.from(element).stream(Conditional.class).forEach((conditional) -> {
+			for (Class<?> annotationType : conditional.getMetaTypes()) {
+				reflection.registerType(annotationType, MemberCategory.INVOKE_DECLARED_METHODS);
+			}
+			for (Class<?> condition : conditional.getClassArray("value")) {
+				reflection.registerType(condition, MemberCategory.INVOKE_DECLARED_CONSTRUCTORS);
+			}
+		});
+	}
+
+	private void registerMetadata(ReflectionHints reflection) {
+		new BindingReflectionHintsRegistrar().registerReflectionHints(reflection, InitializrProperties.class,
+				InitializrMetadata.class);
+	}
+
+	private void registerEhcache(RuntimeHints hints, ClassLoader classLoader) {
+		hints.resources().registerPattern("ehcache.xml");
+		hints.resources().registerPattern("ehcache-*.xsd");
+		hints.resources().registerPattern(toPath(EHCACHE_XML_MODEL_PACKAGE) + "/jaxb.*");
+		hints.reflection()
+			.registerType(TypeReference.of("org.ehcache.impl.copy.IdentityCopier"),
+					MemberCategory.INVOKE_DECLARED_CONSTRUCTORS);
+		// The XML configuration is bound to the JAXB model of ehcache using reflection
+		for (String className : getEhcacheXmlModelClasses(classLoader)) {
+			hints.reflection().registerType(TypeReference.of(className), JAXB_MEMBER_CATEGORIES);
+		}
+	}
+
+	private static Set<String> getEhcacheXmlModelClasses(ClassLoader classLoader) {
+		Set<String> classNames = new LinkedHashSet<>();
+		try {
+			Resource[] resources = new PathMatchingResourcePatternResolver(classLoader)
+				.getResources("classpath*:" + toPath(EHCACHE_XML_MODEL_PACKAGE) + "/*.class");
+			for (Resource resource : resources) {
+				String fileName = resource.getFilename();
+				if (fileName != null) {
+					classNames.add(EHCACHE_XML_MODEL_PACKAGE + "." + StringUtils.stripFilenameExtension(fileName));
+				}
+			}
+		}
+		catch (IOException ex) {
+			throw new IllegalStateException("Unable to list the classes of " + EHCACHE_XML_MODEL_PACKAGE, ex);
+		}
+		return classNames;
+	}
+
+	private static Set<String> getProjectGenerationConfigurations(ClassLoader classLoader) {
+		Set<String> classNames = new LinkedHashSet<>();
+		try {
+			Enumeration<URL> urls = classLoader.getResources(SPRING_FACTORIES_LOCATION);
+			while (urls.hasMoreElements()) {
+				Properties factories = PropertiesLoaderUtils.loadProperties(new UrlResource(urls.nextElement()));
+				String value = factories.getProperty(ProjectGenerationConfiguration.class.getName());
+				if (value != null) {
+					for (String className : StringUtils.commaDelimitedListToStringArray(value)) {
+						classNames.add(className.trim());
+					}
+				}
+			}
+		}
+		catch (IOException ex) {
+			throw new IllegalStateException("Unable to load " + SPRING_FACTORIES_LOCATION, ex);
+		}
+		return classNames;
+	}
+
+	private static String toPattern(String location) {
+		return location.substring(ResourceUtils.CLASSPATH_URL_PREFIX.length());
+	}
+
+	private static String toPath(String packageName) {
+		return ClassUtils.convertClassNameToResourcePath(packageName);
+	}
+
+}
@@ -0,0 +1,181 @@
+/*
+ * Copyright 2012 - present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site.support;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.samskivert.mustache.Mustache;
+import com.samskivert.mustache.Mustache.Compiler;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.spring.initializr.generator.io.template.MustacheTemplateRenderer;
+
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.cache.Cache;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.util.StringUtils;
+
+/**
+ * A {@link MustacheTemplateRenderer} that compiles all templates on startup and records
+ * the time taken to render each template.
+ * <p>
+ * The output of templates that are rendered with a small set of distinct models, such as
+ * templates whose model only depends on the platform version and build system, can be
+ * memoized. Only the output of such named templates is cached, by model, and the least
+ * recently used fragments are evicted once the maximum number of fragments is reached.
+ *
+ * @author agent
+ */
+public class StartTemplateRenderer extends MustacheTemplateRenderer implements InitializingBean {
+
+	static final int MAX_FRAGMENTS = 1024;
+
+	private final String resourcePrefix;
+
+	private final Cache templatesCache;
+
+	private final MeterRegistry meterRegistry;
+
+	private final Set<String> memoizedTemplates;
+
+	private final Map<Fragment, String> fragments = new LinkedHashMap<>(16, 0.75f, true) {
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Fragment, String> eldest) {
+			return size() > MAX_FRAGMENTS;
+		}
+
+	};
+
+	private final Lock fragmentsLock = new ReentrantLock();
+
+	private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+	public StartTemplateRenderer(String resourcePrefix, Cache templatesCache, MeterRegistry meterRegistry,
+			Set<String> memoizedTemplates) {
+		super(resourcePrefix, templatesCache);
+		this.resourcePrefix = resourcePrefix.endsWith("/") ? resourcePrefix : resourcePrefix + "/";
+		this.templatesCache = templatesCache;
+		this.meterRegistry = meterRegistry;
+		this.memoizedTemplates = Set.copyOf(memoizedTemplates);
+	}
+
+	/**
+	 * Compile all templates and add them to the templates cache, using a compiler that is
+	 * configured as the one of {@link MustacheTemplateRenderer}.
+	 * @throws IOException if a template cannot be read
+	 */
+	@Override
+	public void afterPropertiesSet() throws IOException {
+		if (this.templatesCache == null) {
+			return;
+		}
+		Compiler compiler = createCompiler();
+		Resource[] templates = new PathMatchingResourcePatternResolver()
+			.getResources(this.resourcePrefix + "*.mustache");
+		for (Resource template : templates) {
+			try (Reader reader = new InputStreamReader(template.getInputStream(), StandardCharsets.UTF_8)) {
+				this.templatesCache.put(StringUtils.stripFilenameExtension(template.getFilename()),
+						compiler.compile(reader));
+			}
+		}
+	}
+
+	private Compiler createCompiler() {
+		ResourceLoader resourceLoader = new DefaultResourceLoader();
+		return Mustache.compiler().withLoader((name) -> {
+			Resource resource = resourceLoader.getResource(this.resourcePrefix + name + ".mustache");
+			return new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8);
+		}).escapeHTML(false);
+	}
+
+	@Override
+	public String render(String templateName, Map<String, ?> model) throws IOException {
+		if (!this.memoizedTemplates.contains(templateName)) {
+			return renderAndRecord(templateName, model);
+		}
+		String fragment = getFragment(new Fragment(templateName, model));
+		if (fragment == null) {
+			fragment = renderAndRecord(templateName, model);
+			putFragment(new Fragment(templateName, Collections.unmodifiableMap(new HashMap<>(model))), fragment);
+		}
+		return fragment;
+	}
+
+	private String getFragment(Fragment fragment) {
+		this.fragmentsLock.lock();
+		try {
+			return this.fragments.get(fragment);
+		}
+		finally {
+			this.fragmentsLock.unlock();
+		}
+	}
+
+	private void putFragment(Fragment fragment, String content) {
+		this.fragmentsLock.lock();
+		try {
+			this.fragments.put(fragment, content);
+		}
+		finally {
+			this.fragmentsLock.unlock();
+		}
+	}
+
+	private String renderAndRecord(String templateName, Map<String, ?> model) throws IOException {
+		long start = System.nanoTime();
+		try {
+			return super.render(templateName, model);
+		}
+		finally {
+			getTimer(templateName).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+		}
+	}
+
+	private Timer getTimer(String templateName) {
+		return this.timers.computeIfAbsent(templateName, (name) -> Timer.builder("start.templates.render")
+			.description("Time taken to render a template")
+			.tag("template", name)
+			.register(this.meterRegistry));
+	}
+
+	/**
+	 * The key of a memoized fragment.
+	 *
+	 * @param templateName the name of the template
+	 * @param model the model
+	 */
+	private record Fragment(String templateName, Map<String, ?> model) {
+
+	}
+
+}
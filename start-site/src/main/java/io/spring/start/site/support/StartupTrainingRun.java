@@ -0,0 +1,117 @@
+/*
+ * Copyright 2012 - present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.spring.start.site.support;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import io.spring.initializr.metadata.InitializrMetadata;
+import io.spring.initializr.metadata.InitializrMetadataProvider;
+import io.spring.initializr.web.project.ProjectGenerationInvoker;
+import io.spring.initializr.web.project.ProjectRequest;
+import io.spring.initializr.web.project.WebProjectRequest;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+
+/**
+ * A training run that generates a representative set of projects once the application is
+ * ready, and exits. Used to record the classes that are loaded, and the methods that are
+ * compiled, by the JVM during startup and the first generations, in a CDS archive or an
+ * AOT cache.
+ * <p>
+ * Generation failures are logged rather than propagated, so that the training run still
+ * completes if a dependency cannot be resolved.
+ *
+ * @author agent
+ */
+public class StartupTrainingRun implements ApplicationListener<ApplicationReadyEvent> {
+
+	private static final Log logger = LogFactory.getLog(StartupTrainingRun.class);
+
+	private static final List<String> PROJECT_TYPES = List.of("maven-project", "gradle-project",
+			"gradle-project-kotlin");
+
+	private static final List<List<String>> DEPENDENCIES = List.of(List.of(),
+			List.of("web", "data-jpa", "postgresql", "actuator"),
+			List.of("webflux", "data-r2dbc", "security", "validation", "lombok"),
+			List.of("web", "docker-compose", "testcontainers", "kafka", "native"));
+
+	private final InitializrMetadataProvider metadataProvider;
+
+	private final ProjectGenerationInvoker<ProjectRequest> invoker;
+
+	private final int iterations;
+
+	public StartupTrainingRun(InitializrMetadataProvider metadataProvider,
+			ProjectGenerationInvoker<ProjectRequest> invoker, int iterations) {
+		this.metadataProvider = metadataProvider;
+		this.invoker = invoker;
+		this.iterations = iterations;
+	}
+
+	@Override
+	public void onApplicationEvent(ApplicationReadyEvent event) {
+		int generations = train();
+		logger.info("Training run completed after " + generations + " project generations");
+		System.exit(SpringApplication.exit(event.getApplicationContext()));
+	}
+
+	/**
+	 * Generate the representative set of projects.
+	 * @return the number of projects that have been generated successfully
+	 */
+	int train() {
+		InitializrMetadata metadata = this.metadataProvider.get();
+		int generations = 0;
+		for (int i = 0; i < this.iterations; i++) {
+			for (String type : PROJECT_TYPES) {
+				for (List<String> dependencies : DEPENDENCIES) {
+					if (generate(createProjectRequest(metadata, type, dependencies))) {
+						generations++;
+					}
+				}
+			}
+		}
+		return generations;
+	}
+
+	private boolean generate(ProjectRequest request) {
+		try {
+			Path rootDirectory = this.invoker.invokeProjectStructureGeneration(request).getRootDirectory();
+			this.invoker.cleanTempFiles(rootDirectory);
+			return true;
+		}
+		catch (RuntimeException ex) {
+			logger.warn("Failed to generate " + request.getType() + " with " + request.getDependencies(), ex);
+			return false;
+		}
+	}
+
+	private ProjectRequest createProjectRequest(InitializrMetadata metadata, String type, List<String> dependencies) {
+		WebProjectRequest request = new WebProjectRequest();
+		request.initialize(metadata);
+		request.setType(type);
+		request.getDependencies().addAll(dependencies);
+		return request;
+	}
+
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2012 - present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site.support;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+
+import io.spring.start.site.support.jfr.VersionResolutionEvent;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+import org.springframework.aop.support.StaticMethodMatcherPointcutAdvisor;
+import org.springframework.core.Ordered;
+
+/**
+ * An advisor that records a {@link VersionResolutionEvent} for each resolution of a
+ * {@link CacheableMavenVersionResolver}.
+ * <p>
+ * Each call is recorded, including the ones served by the cache. The resolver signals a
+ * cache miss using {@link #recordCacheMiss()} when it actually resolves a bill of
+ * materials.
+ *
+ * @author agent
+ */
+public class VersionResolutionEventAdvisor extends StaticMethodMatcherPointcutAdvisor {
+
+	private static final ThreadLocal<VersionResolutionEvent> CURRENT_EVENT = new ThreadLocal<>();
+
+	public VersionResolutionEventAdvisor() {
+		setAdvice(new VersionResolutionEventInterceptor());
+		setOrder(Ordered.HIGHEST_PRECEDENCE);
+	}
+
+	@Override
+	public boolean matches(Method method, Class<?> targetClass) {
+		return CacheableMavenVersionResolver.class.isAssignableFrom(targetClass)
+				&& (method.getName().equals("resolveDependencies") || method.getName().equals("resolvePlugins"));
+	}
+
+	/**
+	 * Signal that the resolution in progress in the current thread was not found in the
+	 * cache.
+	 */
+	static void recordCacheMiss() {
+		VersionResolutionEvent event = CURRENT_EVENT.get();
+		if (event != null) {
+			event.setCacheHit(false);
+		}
+	}
+
+	private static final class VersionResolutionEventInterceptor implements MethodInterceptor {
+
+		@Override
+		public Object invoke(MethodInvocation invocation) throws Throwable {
+			VersionResolutionEvent event = new VersionResolutionEvent();
+			if (!event.isEnabled()) {
+				return invocation.proceed();
+			}
+			Object[] arguments = invocation.getArguments();
+			event.setCoordinates("%s:%s:%s".formatted(arguments[0], arguments[1], arguments[2]));
+			String methodName = invocation.getMethod().getName();
+			event.setKind((methodName.equals("resolveDependencies")) ? "dependencies" : "plugins");
+			event.setCacheHit(true);
+			VersionResolutionEvent previousEvent = CURRENT_EVENT.get();
+			CURRENT_EVENT.set(event);
+			event.begin();
+			try {
+				Object result = invocation.proceed();
+				if (result instanceof Map<?, ?> versions) {
+					event.setVersionCount(versions.size());
+				}
+				return result;
+			}
+			finally {
+				event.commit();
+				CURRENT_EVENT.set(previousEvent);
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2012 - present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site.support.implicit;
+
+import java.util.BitSet;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.spring.initializr.generator.buildsystem.Build;
+
+/**
+ * A global dictionary that assigns a compact index to each dependency id so that sets
+ * of dependency ids can be represented as a {@link BitSet}.
+ * <p>
+ * Indices are assigned the first time an id is seen and never change afterwards.
+ *
+ * @author agent
+ */
+final class DependencyIdIndex {
+
+	private static final Map<String, Integer> INDICES = new ConcurrentHashMap<>();
+
+	private static final AtomicInteger COUNTER = new AtomicInteger();
+
+	private DependencyIdIndex() {
+	}
+
+	/**
+	 * Return the index of the specified dependency id.
+	 * @param id the dependency id
+	 * @return the index of that id
+	 */
+	static int indexOf(String id) {
+		Integer index = INDICES.get(id);
+		return (index != null) ? index : INDICES.computeIfAbsent(id, (key) -> COUNTER.getAndIncrement());
+	}
+
+	/**
+	 * Return a {@link BitSet} of the specified dependency ids.
+	 * @param ids the dependency ids
+	 * @return a bit set with the index of each id set
+	 */
+	static BitSet of(String... ids) {
+		BitSet bitSet = new BitSet();
+		for (String id : ids) {
+			bitSet.set(indexOf(id));
+		}
+		return bitSet;
+	}
+
+	/**
+	 * Return a {@link BitSet} of the ids of the dependencies of the specified
+	 * {@link Build}.
+	 * @param build the build
+	 * @return a bit set with the index of each dependency id of the build set
+	 */
+	static BitSet of(Build build) {
+		BitSet bitSet = new BitSet();
+		build.dependencies().ids().forEach((id) -> bitSet.set(indexOf(id)));
+		return bitSet;
+	}
+
+}
@@ -16,6 +16,9 @@
 
 package io.spring.start.site.support.implicit;
 
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
 
@@ -24,12 +27,19 @@ import io.spring.initializr.generator.spring.documentation.HelpDocument;
 
 /**
  * A dependency that is added when a {@link Build} is in a certain state.
+ * <p>
+ * Matches on dependency ids are evaluated as bit operations against the
+ * {@link DependencyIdIndex index} of the dependencies of the build.
  *
  * @author Stephane Nicoll
  * @author Andy Wilkinson
  */
 public final class ImplicitDependency {
 
+	private final List<BitSet> anyDependencyIds;
+
+	private final List<BitSet> allDependencyIds;
+
 	private final Predicate<Build> buildPredicate;
 
 	private final Consumer<Build> buildCustomizer;
@@ -37,6 +47,8 @@ public final class ImplicitDependency {
 	private final Consumer<HelpDocument> helpDocumentCustomizer;
 
 	private ImplicitDependency(Builder builder) {
+		this.anyDependencyIds = List.copyOf(builder.anyDependencyIds);
+		this.allDependencyIds = List.copyOf(builder.allDependencyIds);
 		this.buildPredicate = builder.buildPredicate;
 		this.buildCustomizer = builder.buildCustomizer;
 		this.helpDocumentCustomizer = builder.helpDocumentCustomizer;
@@ -47,7 +59,7 @@ public final class ImplicitDependency {
 	 * @param build a build
 	 */
 	public void customize(Build build) {
-		if (this.buildCustomizer != null && this.buildPredicate.test(build)) {
+		if (this.buildCustomizer != null && matches(build, DependencyIdIndex.of(build))) {
 			this.buildCustomizer.accept(build);
 		}
 	}
@@ -59,16 +71,63 @@ public final class ImplicitDependency {
 	 * @param build a build
 	 */
 	public void customize(HelpDocument helpDocument, Build build) {
-		if (this.helpDocumentCustomizer != null && this.buildPredicate.test(build)) {
+		if (this.helpDocumentCustomizer != null && matches(build, DependencyIdIndex.of(build))) {
 			this.helpDocumentCustomizer.accept(helpDocument);
 		}
 	}
 
+	/**
+	 * Return the dependency ids of which at least one must be present in the build for
+	 * this instance to match, or {@code null} if this instance does not match on
+	 * dependency ids.
+	 * @return the dependency ids to index this instance with, or {@code null}
+	 */
+	BitSet getIndexedDependencyIds() {
+		if (!this.anyDependencyIds.isEmpty()) {
+			return this.anyDependencyIds.get(0);
+		}
+		return (!this.allDependencyIds.isEmpty()) ? this.allDependencyIds.get(0) : null;
+	}
+
+	Consumer<Build> getBuildCustomizer() {
+		return this.buildCustomizer;
+	}
+
+	Consumer<HelpDocument> getHelpDocumentCustomizer() {
+		return this.helpDocumentCustomizer;
+	}
+
+	/**
+	 * Specify if the specified {@link Build} matches this instance.
+	 * @param build a build
+	 * @param dependencyIds the index of the dependency ids of the build
+	 * @return {@code true} if the build matches
+	 */
+	boolean matches(Build build, BitSet dependencyIds) {
+		for (BitSet anyDependencyIds : this.anyDependencyIds) {
+			if (!anyDependencyIds.intersects(dependencyIds)) {
+				return false;
+			}
+		}
+		for (BitSet allDependencyIds : this.allDependencyIds) {
+			BitSet missingDependencyIds = (BitSet) allDependencyIds.clone();
+			missingDependencyIds.andNot(dependencyIds);
+			if (!missingDependencyIds.isEmpty()) {
+				return false;
+			}
+		}
+		return this.buildPredicate.test(build);
+	}
+
 	/**
 	 * Builder for {@link ImplicitDependency}.
 	 */
 	public static class Builder {
 
+		private final List<BitSet> anyDependencyIds = new ArrayList<>();
+
+		private final List<BitSet> allDependencyIds = new ArrayList<>();
+
 		private Predicate<Build> buildPredicate = (build) -> true;
 
 		private Consumer<Build> buildCustomizer;
@@ -84,7 +143,8 @@ public final class ImplicitDependency {
 		 * @see #match(Predicate)
 		 */
 		public Builder matchAnyDependencyIds(String... dependencies) {
-			return match((build) -> matchAny(build, dependencies));
+			this.anyDependencyIds.add(DependencyIdIndex.of(dependencies));
+			return this;
 		}
 
 		/**
@@ -96,7 +156,8 @@ public final class ImplicitDependency {
 		 * @see #match(Predicate)
 		 */
 		public Builder matchAllDependencyIds(String... dependencies) {
-			return match((build) -> matchAll(build, dependencies));
+			this.allDependencyIds.add(DependencyIdIndex.of(dependencies));
+			return this;
 		}
 
 		/**
@@ -138,24 +199,6 @@ public final class ImplicitDependency {
 			return new ImplicitDependency(this);
 		}
 
-		private static boolean matchAny(Build build, String... dependencies) {
-			for (String dependency : dependencies) {
-				if (build.dependencies().has(dependency)) {
-					return true;
-				}
-			}
-			return false;
-		}
-
-		private static boolean matchAll(Build build, String... dependencies) {
-			for (String dependency : dependencies) {
-				if (!build.dependencies().has(dependency)) {
-					return false;
-				}
-			}
-			return true;
-		}
-
 	}
 
 }
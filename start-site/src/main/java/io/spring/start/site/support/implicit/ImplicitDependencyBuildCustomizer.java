@@ -24,20 +24,23 @@ import io.spring.initializr.generator.spring.build.BuildCustomizer;
  * {@link ImplicitDependency implicit dependencies}.
  *
  * @author Stephane Nicoll
+ * @see ImplicitDependencyMatcher
  */
 public class ImplicitDependencyBuildCustomizer implements BuildCustomizer<Build> {
 
-	private final Iterable<ImplicitDependency> dependencies;
+	private final ImplicitDependencyMatcher matcher;
+
+	public ImplicitDependencyBuildCustomizer(ImplicitDependencyMatcher matcher) {
+		this.matcher = matcher;
+	}
 
 	public ImplicitDependencyBuildCustomizer(Iterable<ImplicitDependency> dependencies) {
-		this.dependencies = dependencies;
+		this(ImplicitDependencyRegistry.of(dependencies).matcher());
 	}
 
 	@Override
 	public void customize(Build build) {
-		for (ImplicitDependency dependency : this.dependencies) {
-			dependency.customize(build);
-		}
+		this.matcher.customize(build);
 	}
 
 }
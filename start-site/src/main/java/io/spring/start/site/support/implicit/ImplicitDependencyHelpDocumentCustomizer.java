@@ -25,23 +25,26 @@ import io.spring.initializr.generator.spring.documentation.HelpDocumentCustomize
  * {@link ImplicitDependency implicit dependencies}.
  *
  * @author Stephane Nicoll
+ * @see ImplicitDependencyMatcher
  */
 public class ImplicitDependencyHelpDocumentCustomizer implements HelpDocumentCustomizer {
 
-	private final Iterable<ImplicitDependency> dependencies;
+	private final ImplicitDependencyMatcher matcher;
 
 	private final Build build;
 
-	public ImplicitDependencyHelpDocumentCustomizer(Iterable<ImplicitDependency> dependencies, Build build) {
-		this.dependencies = dependencies;
+	public ImplicitDependencyHelpDocumentCustomizer(ImplicitDependencyMatcher matcher, Build build) {
+		this.matcher = matcher;
 		this.build = build;
 	}
 
+	public ImplicitDependencyHelpDocumentCustomizer(Iterable<ImplicitDependency> dependencies, Build build) {
+		this(ImplicitDependencyRegistry.of(dependencies).matcher(), build);
+	}
+
 	@Override
 	public void customize(HelpDocument document) {
-		for (ImplicitDependency dependency : this.dependencies) {
-			dependency.customize(document, this.build);
-		}
+		this.matcher.customize(document, this.build);
 	}
 
 }
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2012 - present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site.support.implicit;
+
+import java.util.BitSet;
+
+import io.spring.initializr.generator.buildsystem.Build;
+import io.spring.initializr.generator.spring.documentation.HelpDocument;
+
+/**
+ * Applies the {@link ImplicitDependency implicit dependencies} of an
+ * {@link ImplicitDependencyRegistry} to a project generation.
+ * <p>
+ * Only the candidates of the registry are evaluated. The result of each evaluation is
+ * memoized as long as the dependency ids of the build do not change so that the help
+ * document phase does not evaluate again what the build phase already has. A matcher
+ * holds the state of a single project generation and is not thread-safe.
+ *
+ * @author agent
+ */
+public final class ImplicitDependencyMatcher {
+
+	private final ImplicitDependencyRegistry registry;
+
+	private final BitSet evaluated = new BitSet();
+
+	private final BitSet matched = new BitSet();
+
+	private BitSet dependencyIds;
+
+	ImplicitDependencyMatcher(ImplicitDependencyRegistry registry) {
+		this.registry = registry;
+	}
+
+	/**
+	 * Customize the specified {@link Build} with the implicit dependencies that match.
+	 * Implicit dependencies registered after one that has customized the build are
+	 * evaluated against the updated build.
+	 * @param build the build to customize
+	 */
+	public void customize(Build build) {
+		BitSet dependencyIds = DependencyIdIndex.of(build);
+		BitSet candidates = this.registry.getCandidates(dependencyIds);
+		for (int ordinal = candidates.nextSetBit(0); ordinal >= 0; ordinal = candidates.nextSetBit(ordinal + 1)) {
+			ImplicitDependency dependency = this.registry.get(ordinal);
+			if (dependency.getBuildCustomizer() != null && matches(ordinal, build, dependencyIds)) {
+				dependency.getBuildCustomizer().accept(build);
+				dependencyIds = DependencyIdIndex.of(build);
+				candidates = this.registry.getCandidates(dependencyIds);
+			}
+		}
+	}
+
+	/**
+	 * Customize the specified {@link HelpDocument} with the implicit dependencies that
+	 * match the specified {@link Build}.
+	 * @param helpDocument the help document to customize
+	 * @param build the build
+	 */
+	public void customize(HelpDocument helpDocument, Build build) {
+		BitSet dependencyIds = DependencyIdIndex.of(build);
+		BitSet candidates = this.registry.getCandidates(dependencyIds);
+		for (int ordinal = candidates.nextSetBit(0); ordinal >= 0; ordinal = candidates.nextSetBit(ordinal + 1)) {
+			ImplicitDependency dependency = this.registry.get(ordinal);
+			if (dependency.getHelpDocumentCustomizer() != null && matches(ordinal, build, dependencyIds)) {
+				dependency.getHelpDocumentCustomizer().accept(helpDocument);
+			}
+		}
+	}
+
+	private boolean matches(int ordinal, Build build, BitSet dependencyIds) {
+		if (!dependencyIds.equals(this.dependencyIds)) {
+			this.dependencyIds = dependencyIds;
+			this.evaluated.clear();
+			this.matched.clear();
+		}
+		if (!this.evaluated.get(ordinal)) {
+			this.evaluated.set(ordinal);
+			this.matched.set(ordinal, this.registry.get(ordinal).matches(build, dependencyIds));
+		}
+		return this.matched.get(ordinal);
+	}
+
+}
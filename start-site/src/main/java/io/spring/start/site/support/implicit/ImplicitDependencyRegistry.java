@@ -0,0 +1,112 @@
+/*
+ * Copyright 2012 - present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site.support.implicit;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * An immutable registry of {@link ImplicitDependency implicit dependencies} that can be
+ * shared between project generations.
+ * <p>
+ * Implicit dependencies are indexed by the dependency ids they match on so that only the
+ * ones that may match a build are evaluated. Implicit dependencies that do not match on
+ * dependency ids are always evaluated. Candidates are returned as ordinals, in the order
+ * the implicit dependencies were registered.
+ *
+ * @author agent
+ * @see ImplicitDependencyMatcher
+ */
+public final class ImplicitDependencyRegistry {
+
+	private final ImplicitDependency[] dependencies;
+
+	private final BitSet[] dependenciesByDependencyId;
+
+	private final BitSet unindexedDependencies;
+
+	private ImplicitDependencyRegistry(List<ImplicitDependency> dependencies) {
+		this.dependencies = dependencies.toArray(ImplicitDependency[]::new);
+		List<BitSet> dependenciesByDependencyId = new ArrayList<>();
+		this.unindexedDependencies = new BitSet();
+		for (int ordinal = 0; ordinal < this.dependencies.length; ordinal++) {
+			BitSet dependencyIds = this.dependencies[ordinal].getIndexedDependencyIds();
+			if (dependencyIds == null) {
+				this.unindexedDependencies.set(ordinal);
+				continue;
+			}
+			for (int id = dependencyIds.nextSetBit(0); id >= 0; id = dependencyIds.nextSetBit(id + 1)) {
+				while (dependenciesByDependencyId.size() <= id) {
+					dependenciesByDependencyId.add(null);
+				}
+				if (dependenciesByDependencyId.get(id) == null) {
+					dependenciesByDependencyId.set(id, new BitSet());
+				}
+				dependenciesByDependencyId.get(id).set(ordinal);
+			}
+		}
+		this.dependenciesByDependencyId = dependenciesByDependencyId.toArray(BitSet[]::new);
+	}
+
+	/**
+	 * Create a registry for the specified implicit dependencies.
+	 * @param dependencies the implicit dependencies, in the order they should be applied
+	 * @return a registry
+	 */
+	public static ImplicitDependencyRegistry of(Iterable<ImplicitDependency> dependencies) {
+		List<ImplicitDependency> content = new ArrayList<>();
+		dependencies.forEach(content::add);
+		return new ImplicitDependencyRegistry(content);
+	}
+
+	/**
+	 * Create a new {@link ImplicitDependencyMatcher} for a project generation.
+	 * @return a matcher for this registry
+	 */
+	public ImplicitDependencyMatcher matcher() {
+		return new ImplicitDependencyMatcher(this);
+	}
+
+	/**
+	 * Return the implicit dependency with the specified ordinal.
+	 * @param ordinal the ordinal of the implicit dependency
+	 * @return the implicit dependency
+	 */
+	ImplicitDependency get(int ordinal) {
+		return this.dependencies[ordinal];
+	}
+
+	/**
+	 * Return the ordinals of the implicit dependencies that may match a build with the
+	 * specified dependency ids.
+	 * @param dependencyIds the index of the dependency ids of the build
+	 * @return the ordinals of the candidates
+	 */
+	BitSet getCandidates(BitSet dependencyIds) {
+		BitSet candidates = (BitSet) this.unindexedDependencies.clone();
+		for (int id = dependencyIds.nextSetBit(0); id >= 0 && id < this.dependenciesByDependencyId.length;
+				id = dependencyIds.nextSetBit(id + 1)) {
+			BitSet dependencies = this.dependenciesByDependencyId[id];
+			if (dependencies != null) {
+				candidates.or(dependencies);
+			}
+		}
+		return candidates;
+	}
+
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2012 - present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site.support.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A JFR event recorded when the archive of a generated project has been written and read
+ * back for the response.
+ *
+ * @author agent
+ */
+@Name("io.spring.start.ProjectArchive")
+@Label("Project Archive")
+@Category({ "Spring Initializr", "Generation" })
+@Description("Creation of the archive of a project")
+@StackTrace(false)
+public final class ProjectArchiveEvent extends Event {
+
+	@Label("Format")
+	@Description("Format of the archive")
+	private String format;
+
+	@Label("Size")
+	@Description("Size of the archive")
+	@DataAmount
+	private long size;
+
+	public void setFormat(String format) {
+		this.format = format;
+	}
+
+	public void setSize(long size) {
+		this.size = size;
+	}
+
+}
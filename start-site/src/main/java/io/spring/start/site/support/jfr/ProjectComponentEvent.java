@@ -0,0 +1,78 @@
+/*
+ * Copyright 2012 - present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site.support.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A JFR event recorded when a customizer or a contributor of a project generation has
+ * been invoked.
+ * <p>
+ * Recording this event requires the components of each generation to be proxied, so it
+ * is disabled by default, including in recordings that use the {@code default} or
+ * {@code profile} settings. It must be enabled explicitly, for instance using
+ * {@code +io.spring.start.ProjectComponent#enabled=true}.
+ *
+ * @author agent
+ */
+@Name("io.spring.start.ProjectComponent")
+@Label("Project Component")
+@Category({ "Spring Initializr", "Generation" })
+@Description("Invocation of a customizer or contributor of a project generation")
+@StackTrace(false)
+@Enabled(false)
+public final class ProjectComponentEvent extends Event {
+
+	@Label("Component Type")
+	@Description("Type of the component")
+	private String componentType;
+
+	@Label("Component Class")
+	@Description("Class that declares the component")
+	private String componentClass;
+
+	@Label("Boot Version")
+	@Description("Spring Boot version of the project")
+	private String bootVersion;
+
+	@Label("Build System")
+	@Description("Build system of the project")
+	private String buildSystem;
+
+	public void setComponentType(String componentType) {
+		this.componentType = componentType;
+	}
+
+	public void setComponentClass(String componentClass) {
+		this.componentClass = componentClass;
+	}
+
+	public void setBootVersion(String bootVersion) {
+		this.bootVersion = bootVersion;
+	}
+
+	public void setBuildSystem(String buildSystem) {
+		this.buildSystem = buildSystem;
+	}
+
+}
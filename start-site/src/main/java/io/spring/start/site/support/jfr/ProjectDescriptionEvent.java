@@ -0,0 +1,55 @@
+/*
+ * Copyright 2012 - present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site.support.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A JFR event recorded when a project request has been converted to a project description
+ * and that description has been customized.
+ *
+ * @author agent
+ */
+@Name("io.spring.start.ProjectDescription")
+@Label("Project Description")
+@Category({ "Spring Initializr", "Generation" })
+@Description("Conversion of a request to a project description, including its customization")
+@StackTrace(false)
+public final class ProjectDescriptionEvent extends Event {
+
+	@Label("Boot Version")
+	@Description("Spring Boot version of the project")
+	private String bootVersion;
+
+	@Label("Dependency Count")
+	@Description("Number of requested dependencies")
+	private int dependencyCount;
+
+	public void setBootVersion(String bootVersion) {
+		this.bootVersion = bootVersion;
+	}
+
+	public void setDependencyCount(int dependencyCount) {
+		this.dependencyCount = dependencyCount;
+	}
+
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2012 - present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site.support.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A JFR event recorded when a project, or its build file, has been generated.
+ *
+ * @author agent
+ */
+@Name("io.spring.start.ProjectGeneration")
+@Label("Project Generation")
+@Category({ "Spring Initializr", "Generation" })
+@Description("Generation of a project structure or of its build file")
+@StackTrace(false)
+public final class ProjectGenerationEvent extends Event {
+
+	@Label("Boot Version")
+	@Description("Spring Boot version of the project")
+	private String bootVersion;
+
+	@Label("Project Type")
+	@Description("Type of the project")
+	private String projectType;
+
+	@Label("Dependency Count")
+	@Description("Number of requested dependencies")
+	private int dependencyCount;
+
+	public void setBootVersion(String bootVersion) {
+		this.bootVersion = bootVersion;
+	}
+
+	public void setProjectType(String projectType) {
+		this.projectType = projectType;
+	}
+
+	public void setDependencyCount(int dependencyCount) {
+		this.dependencyCount = dependencyCount;
+	}
+
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2012 - present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site.support.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A JFR event recorded when the versions managed by a bill of materials have been
+ * resolved, either from the cache or by resolving the bill of materials.
+ *
+ * @author agent
+ */
+@Name("io.spring.start.VersionResolution")
+@Label("Version Resolution")
+@Category({ "Spring Initializr", "Version Resolver" })
+@Description("Resolution of the versions managed by a bill of materials")
+@StackTrace(false)
+public final class VersionResolutionEvent extends Event {
+
+	@Label("Coordinates")
+	@Description("Coordinates of the bill of materials")
+	private String coordinates;
+
+	@Label("Kind")
+	@Description("Whether dependencies or plugins have been resolved")
+	private String kind;
+
+	@Label("Cache Hit")
+	@Description("Whether the versions were found in the cache")
+	private boolean cacheHit;
+
+	@Label("Version Count")
+	@Description("Number of managed versions")
+	private int versionCount;
+
+	public void setCoordinates(String coordinates) {
+		this.coordinates = coordinates;
+	}
+
+	public void setKind(String kind) {
+		this.kind = kind;
+	}
+
+	public void setCacheHit(boolean cacheHit) {
+		this.cacheHit = cacheHit;
+	}
+
+	public void setVersionCount(int versionCount) {
+		this.versionCount = versionCount;
+	}
+
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2012 - present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site.web;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.spring.start.site.support.GradientConcurrencyLimiter;
+import io.spring.start.site.support.GradientConcurrencyLimiter.Permit;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * A filter that applies admission control to project generation requests using a
+ * {@link GradientConcurrencyLimiter}. Requests that cannot be admitted get a
+ * {@code 503 Service Unavailable} response with a {@code Retry-After} header. Other
+ * requests, such as the metadata and the home page, are not limited.
+ *
+ * @author agent
+ */
+public class GenerationAdmissionFilter extends OncePerRequestFilter implements Ordered {
+
+	private static final Set<String> ARCHIVE_EXTENSIONS = Set.of(".zip", ".tgz");
+
+	private static final Set<String> BUILD_PATHS = Set.of("/pom", "/pom.xml", "/build", "/build.gradle",
+			"/build.gradle.kts");
+
+	private final GradientConcurrencyLimiter limiter;
+
+	private final String retryAfter;
+
+	private final Counter rejections;
+
+	public GenerationAdmissionFilter(GradientConcurrencyLimiter limiter, Duration retryAfter,
+			MeterRegistry meterRegistry) {
+		this.limiter = limiter;
+		this.retryAfter = String.valueOf(toRetryAfterSeconds(retryAfter));
+		this.rejections = Counter.builder("start.generation.rejected")
+			.description("Number of generation requests rejected by admission control")
+			.register(meterRegistry);
+		Gauge.builder("start.generation.limit", limiter, GradientConcurrencyLimiter::getLimit)
+			.description("Current limit of concurrent generation requests")
+			.register(meterRegistry);
+		Gauge.builder("start.generation.in-flight", limiter, GradientConcurrencyLimiter::getInFlight)
+			.description("Number of generation requests being processed")
+			.register(meterRegistry);
+		Gauge.builder("start.generation.queue", limiter, GradientConcurrencyLimiter::getQueueSize)
+			.description("Number of generation requests waiting to be admitted")
+			.register(meterRegistry);
+	}
+
+	@Override
+	public int getOrder() {
+		return Ordered.LOWEST_PRECEDENCE;
+	}
+
+	@Override
+	protected boolean shouldNotFilter(HttpServletRequest request) {
+		String path = request.getRequestURI().substring(request.getContextPath().length());
+		return !BUILD_PATHS.contains(path) && ARCHIVE_EXTENSIONS.stream().noneMatch(path::endsWith);
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+			throws ServletException, IOException {
+		Permit permit = acquire();
+		if (permit == null) {
+			this.rejections.increment();
+			response.setHeader(HttpHeaders.RETRY_AFTER, this.retryAfter);
+			response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE,
+					"Too many project generation requests, please retry later");
+			return;
+		}
+		try {
+			filterChain.doFilter(request, response);
+		}
+		finally {
+			permit.release();
+		}
+	}
+
+	private static long toRetryAfterSeconds(Duration retryAfter) {
+		long seconds = (retryAfter.getNano() > 0) ? retryAfter.getSeconds() + 1 : retryAfter.getSeconds();
+		return Math.max(1, seconds);
+	}
+
+	private Permit acquire() {
+		try {
+			return this.limiter.tryAcquire();
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			return null;
+		}
+	}
+
+}
@@ -0,0 +1,247 @@
+/*
+ * Copyright 2012 - present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.spring.start.site.web;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import io.spring.initializr.metadata.InitializrMetadata;
+import io.spring.initializr.metadata.InitializrMetadataProvider;
+import io.spring.initializr.web.support.Agent;
+import io.spring.start.site.support.MetadataDocumentCache;
+import io.spring.start.site.support.MetadataDocumentCache.Document;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.util.StringUtils;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.UriComponents;
+
+/**
+ * A filter that serves the metadata documents of the service from a
+ * {@link MetadataDocumentCache}.
+ * <p>
+ * The key of a document is made of the request path, the media type negotiated from the
+ * {@code Accept} header, the agent family of the {@code User-Agent} header for the
+ * command-line help as it drives its format, and the base url of the service that is
+ * part of the rendered links. Only media types that are produced by the service are
+ * negotiated, and a wildcard only negotiates the command-line help of the root path. A
+ * request that does not negotiate such a media type, or whose base url is not valid, is
+ * not cached. Documents are served with a strong {@code ETag} so that conditional requests get a
+ * {@code 304 Not Modified} response, and their gzip variant is used when the client
+ * accepts it, rather than compressing the same document for each request.
+ *
+ * @author agent
+ */
+public class MetadataDocumentCacheFilter extends OncePerRequestFilter {
+
+	private static final Set<String> METADATA_PATHS = Set.of("/", "/metadata/client");
+
+	private static final String GZIP = "gzip";
+
+	private static final List<MediaType> JSON_MEDIA_TYPES = List.of(
+			MediaType.parseMediaType("application/vnd.initializr.v2.3+json"),
+			MediaType.parseMediaType("application/vnd.initializr.v2.2+json"),
+			MediaType.parseMediaType("application/vnd.initializr.v2.1+json"),
+			MediaType.parseMediaType("application/vnd.initializr.v2+json"), MediaType.APPLICATION_JSON,
+			MediaType.parseMediaType("application/hal+json"));
+
+	private static final Pattern HOST_PATTERN = Pattern
+		.compile("[A-Za-z0-9]([A-Za-z0-9-]{0,61}[A-Za-z0-9])?(\\.[A-Za-z0-9]([A-Za-z0-9-]{0,61}[A-Za-z0-9])?)*"
+				+ "|\\[[0-9A-Fa-f:.]+]");
+
+	private static final Set<String> SCHEMES = Set.of("http", "https");
+
+	private final InitializrMetadataProvider metadataProvider;
+
+	private final MetadataDocumentCache cache;
+
+	public MetadataDocumentCacheFilter(InitializrMetadataProvider metadataProvider, MetadataDocumentCache cache) {
+		this.metadataProvider = metadataProvider;
+		this.cache = cache;
+	}
+
+	@Override
+	protected boolean shouldNotFilter(HttpServletRequest request) {
+		if (!HttpMethod.GET.matches(request.getMethod()) || request.getQueryString() != null) {
+			return true;
+		}
+		String accept = request.getHeader(HttpHeaders.ACCEPT);
+		if (accept != null && accept.contains(MediaType.TEXT_HTML_VALUE)) {
+			return true;
+		}
+		return !METADATA_PATHS.contains(request.getRequestURI().substring(request.getContextPath().length()));
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+			throws ServletException, IOException {
+		String key = generateKey(request);
+		if (key == null) {
+			filterChain.doFilter(request, response);
+			return;
+		}
+		InitializrMetadata metadata = this.metadataProvider.get();
+		Document document = this.cache.get(metadata, key);
+		if (document != null) {
+			writeDocument(request, response, document);
+			return;
+		}
+		ContentCachingResponseWrapper responseWrapper = new ContentCachingResponseWrapper(response);
+		filterChain.doFilter(request, responseWrapper);
+		if (isCacheable(responseWrapper)) {
+			document = Document.of(responseWrapper.getContentAsByteArray(), responseWrapper.getContentType(),
+					responseWrapper.getHeader(HttpHeaders.CACHE_CONTROL),
+					new ArrayList<>(responseWrapper.getHeaders(HttpHeaders.VARY)));
+			this.cache.put(metadata, key, document);
+			responseWrapper.setHeader(HttpHeaders.ETAG, document.getEtag());
+		}
+		responseWrapper.copyBodyToResponse();
+	}
+
+	private boolean isCacheable(ContentCachingResponseWrapper response) {
+		if (response.getStatus() != HttpServletResponse.SC_OK || response.getContentType() == null
+				|| response.getContentSize() == 0 || response.containsHeader(HttpHeaders.CONTENT_ENCODING)) {
+			return false;
+		}
+		MediaType contentType = MediaType.parseMediaType(response.getContentType());
+		return MediaType.APPLICATION_JSON.equalsTypeAndSubtype(contentType)
+				|| "json".equals(contentType.getSubtypeSuffix())
+				|| MediaType.TEXT_PLAIN.equalsTypeAndSubtype(contentType);
+	}
+
+	private void writeDocument(HttpServletRequest request, HttpServletResponse response, Document document)
+			throws IOException {
+		if (document.getCacheControl() != null) {
+			response.setHeader(HttpHeaders.CACHE_CONTROL, document.getCacheControl());
+		}
+		document.getVary().forEach((vary) -> response.addHeader(HttpHeaders.VARY, vary));
+		response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+		if (new ServletWebRequest(request, response).checkNotModified(document.getEtag())) {
+			return;
+		}
+		byte[] content = document.getContent();
+		if (acceptsGzip(request)) {
+			response.setHeader(HttpHeaders.CONTENT_ENCODING, GZIP);
+			content = document.getGzipContent();
+		}
+		response.setContentType(document.getContentType());
+		response.setContentLength(content.length);
+		response.getOutputStream().write(content);
+	}
+
+	/**
+	 * Generate the key of the document for the specified request, or {@code null} if the
+	 * document should not be cached.
+	 * @param request the request
+	 * @return the key of the document or {@code null}
+	 */
+	static String generateKey(HttpServletRequest request) {
+		String path = request.getRequestURI().substring(request.getContextPath().length());
+		MediaType mediaType = negotiateMediaType(request, path.equals("/"));
+		String baseUrl = getBaseUrl(request);
+		if (mediaType == null || baseUrl == null) {
+			return null;
+		}
+		String variant = (MediaType.TEXT_PLAIN.equals(mediaType))
+				? getAgentFamily(request.getHeader(HttpHeaders.USER_AGENT)) : "";
+		return String.join("|", path, mediaType.toString(), variant, baseUrl);
+	}
+
+	private static MediaType negotiateMediaType(HttpServletRequest request, boolean commandLineHelp) {
+		String accept = request.getHeader(HttpHeaders.ACCEPT);
+		List<MediaType> acceptedMediaTypes;
+		try {
+			acceptedMediaTypes = StringUtils.hasText(accept) ? MediaType.parseMediaTypes(accept)
+					: List.of(MediaType.ALL);
+		}
+		catch (InvalidMediaTypeException ex) {
+			return null;
+		}
+		MediaType negotiated = null;
+		MediaType negotiatedFrom = null;
+		for (MediaType acceptedMediaType : acceptedMediaTypes) {
+			MediaType candidate = findProducedMediaType(acceptedMediaType, commandLineHelp);
+			if (candidate != null && (negotiatedFrom == null || isPreferred(acceptedMediaType, negotiatedFrom))) {
+				negotiated = candidate;
+				negotiatedFrom = acceptedMediaType;
+			}
+		}
+		return negotiated;
+	}
+
+	private static boolean isPreferred(MediaType mediaType, MediaType other) {
+		if (mediaType.getQualityValue() != other.getQualityValue()) {
+			return mediaType.getQualityValue() > other.getQualityValue();
+		}
+		return other.isWildcardType() && !mediaType.isWildcardType();
+	}
+
+	private static MediaType findProducedMediaType(MediaType acceptedMediaType, boolean commandLineHelp) {
+		if (acceptedMediaType.isWildcardType()) {
+			return (commandLineHelp) ? MediaType.TEXT_PLAIN : null;
+		}
+		if (commandLineHelp && MediaType.TEXT_PLAIN.equalsTypeAndSubtype(acceptedMediaType)) {
+			return MediaType.TEXT_PLAIN;
+		}
+		return JSON_MEDIA_TYPES.stream().filter(acceptedMediaType::equalsTypeAndSubtype).findFirst().orElse(null);
+	}
+
+	private static String getAgentFamily(String userAgent) {
+		Agent agent = (userAgent != null) ? Agent.fromUserAgent(userAgent) : null;
+		return (agent != null) ? agent.getId().name() : "generic";
+	}
+
+	private static String getBaseUrl(HttpServletRequest request) {
+		UriComponents baseUrl = ServletUriComponentsBuilder.fromContextPath(request).build();
+		String scheme = baseUrl.getScheme();
+		String host = baseUrl.getHost();
+		if (scheme == null || !SCHEMES.contains(scheme.toLowerCase()) || host == null || host.length() > 253
+				|| !HOST_PATTERN.matcher(host).matches()) {
+			return null;
+		}
+		return baseUrl.toUriString();
+	}
+
+	private static boolean acceptsGzip(HttpServletRequest request) {
+		String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+		if (acceptEncoding == null) {
+			return false;
+		}
+		for (String coding : StringUtils.commaDelimitedListToStringArray(acceptEncoding)) {
+			String[] parameters = coding.split(";");
+			if (GZIP.equalsIgnoreCase(parameters[0].trim())) {
+				return parameters.length == 1 || !parameters[1].replace(" ", "").matches("q=0(\\.0*)?");
+			}
+		}
+		return false;
+	}
+
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright 2012 - present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site.web;
+
+import java.beans.PropertyDescriptor;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import io.spring.initializr.metadata.InitializrMetadata;
+import io.spring.initializr.metadata.InitializrMetadataProvider;
+import io.spring.initializr.web.project.WebProjectRequest;
+import io.spring.start.site.support.ProjectArchiveCache;
+import io.spring.start.site.support.ProjectArchiveCache.Archive;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.core.Ordered;
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.util.StringUtils;
+import org.springframework.web.bind.ServletRequestDataBinder;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+/**
+ * A filter that serves generated project archives from a {@link ProjectArchiveCache}.
+ * <p>
+ * The key of an archive is a hash of the request path and of the project request, once
+ * the defaults of the metadata have been applied and the request parameters have been
+ * bound to it. Requests that only differ by the order of their parameters, or by
+ * parameters that match the defaults, therefore share the same archive. Dependencies
+ * are trimmed and deduplicated, and their order is retained as it drives the order of
+ * the generated content. Cached archives are served with a strong {@code ETag} so that
+ * conditional requests get a {@code 304 Not Modified} response.
+ *
+ * @author agent
+ */
+public class ProjectArchiveCacheFilter extends OncePerRequestFilter implements Ordered {
+
+	private static final Set<String> ARCHIVE_EXTENSIONS = Set.of(".zip", ".tgz");
+
+	private static final Set<String> IGNORED_PROPERTIES = Set.of("class", "parameters");
+
+	private final InitializrMetadataProvider metadataProvider;
+
+	private final ProjectArchiveCache cache;
+
+	public ProjectArchiveCacheFilter(InitializrMetadataProvider metadataProvider, ProjectArchiveCache cache) {
+		this.metadataProvider = metadataProvider;
+		this.cache = cache;
+	}
+
+	/**
+	 * Run before {@link GenerationAdmissionFilter} so that cached archives are served
+	 * without taking a generation permit.
+	 * @return the order of this filter
+	 */
+	@Override
+	public int getOrder() {
+		return Ordered.LOWEST_PRECEDENCE - 10;
+	}
+
+	@Override
+	protected boolean shouldNotFilter(HttpServletRequest request) {
+		if (!HttpMethod.GET.matches(request.getMethod())) {
+			return true;
+		}
+		String path = request.getRequestURI();
+		return ARCHIVE_EXTENSIONS.stream().noneMatch(path::endsWith);
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+			throws ServletException, IOException {
+		InitializrMetadata metadata = this.metadataProvider.get();
+		String key = ProjectArchiveCache.generateKey(normalize(metadata, request));
+		Archive archive = this.cache.get(metadata, key);
+		if (archive != null) {
+			writeArchive(request, response, archive);
+			return;
+		}
+		ContentCachingResponseWrapper responseWrapper = new ContentCachingResponseWrapper(response);
+		filterChain.doFilter(request, responseWrapper);
+		String contentDisposition = responseWrapper.getHeader(HttpHeaders.CONTENT_DISPOSITION);
+		if (responseWrapper.getStatus() == HttpServletResponse.SC_OK && responseWrapper.getContentType() != null
+				&& contentDisposition != null) {
+			archive = this.cache.createArchive(responseWrapper.getContentAsByteArray(),
+					responseWrapper.getContentType(), contentDisposition);
+			this.cache.put(metadata, key, archive);
+			responseWrapper.setHeader(HttpHeaders.ETAG, archive.getEtag());
+		}
+		responseWrapper.copyBodyToResponse();
+	}
+
+	private void writeArchive(HttpServletRequest request, HttpServletResponse response, Archive archive)
+			throws IOException {
+		if (new ServletWebRequest(request, response).checkNotModified(archive.getEtag())) {
+			return;
+		}
+		response.setContentType(archive.getContentType());
+		response.setHeader(HttpHeaders.CONTENT_DISPOSITION, archive.getContentDisposition());
+		response.setContentLength(archive.getContent().length);
+		response.getOutputStream().write(archive.getContent());
+	}
+
+	static String normalize(InitializrMetadata metadata, HttpServletRequest request) {
+		WebProjectRequest projectRequest = new WebProjectRequest();
+		projectRequest.initialize(metadata);
+		ServletRequestDataBinder binder = new ServletRequestDataBinder(projectRequest);
+		binder.setConversionService(DefaultConversionService.getSharedInstance());
+		binder.bind(request);
+		BeanWrapper bean = new BeanWrapperImpl(projectRequest);
+		return Arrays.stream(bean.getPropertyDescriptors())
+			.map(PropertyDescriptor::getName)
+			.filter((name) -> !IGNORED_PROPERTIES.contains(name) && bean.isReadableProperty(name))
+			.sorted(Comparator.naturalOrder())
+			.map((name) -> name + "=" + normalize(bean.getPropertyValue(name)))
+			.collect(Collectors.joining("&", request.getRequestURI() + "?", ""));
+	}
+
+	private static String normalize(Object value) {
+		if (value instanceof Collection<?> values) {
+			return values.stream()
+				.map(String::valueOf)
+				.map(String::trim)
+				.filter(StringUtils::hasText)
+				.distinct()
+				.collect(Collectors.joining(","));
+		}
+		return (value != null) ? value.toString() : "";
+	}
+
+}
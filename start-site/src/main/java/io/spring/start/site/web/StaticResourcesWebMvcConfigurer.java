@@ -0,0 +1,73 @@
+/*
+ * Copyright 2012 - present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.spring.start.site.web;
+
+import java.time.Duration;
+
+import org.springframework.http.CacheControl;
+import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.resource.EncodedResourceResolver;
+
+/**
+ * A {@link WebMvcConfigurer} that serves the static assets of the web UI.
+ * <p>
+ * The build of the client fingerprints the name of its assets with a hash of their
+ * content, and emits brotli and gzip variants next to them. Fingerprinted assets never
+ * change for a given name so they are cached for a year and flagged as immutable. The
+ * {@code index.html} page, that references the current fingerprinted assets, must be
+ * revalidated by the browser so that a new release is picked up immediately. In both
+ * cases, the precompressed variant matching the {@code Accept-Encoding} header of the
+ * request is served when available.
+ *
+ * @author agent
+ */
+public class StaticResourcesWebMvcConfigurer implements WebMvcConfigurer {
+
+	private static final String[] FINGERPRINTED_ASSETS = { "/*.js", "/fonts/**", "/manifest.*.json",
+			"/icon_*.png" };
+
+	private static final String INDEX = "/index.html";
+
+	private static final Duration FINGERPRINTED_ASSETS_MAX_AGE = Duration.ofDays(365);
+
+	private final String[] locations;
+
+	/**
+	 * Create an instance serving assets from the specified locations.
+	 * @param locations the locations of the static assets
+	 */
+	public StaticResourcesWebMvcConfigurer(String... locations) {
+		this.locations = locations;
+	}
+
+	@Override
+	public void addResourceHandlers(ResourceHandlerRegistry registry) {
+		registry.addResourceHandler(FINGERPRINTED_ASSETS)
+			.addResourceLocations(this.locations)
+			.setCacheControl(CacheControl.maxAge(FINGERPRINTED_ASSETS_MAX_AGE).cachePublic().immutable())
+			.resourceChain(true)
+			.addResolver(new EncodedResourceResolver());
+		registry.addResourceHandler(INDEX)
+			.addResourceLocations(this.locations)
+			.setCacheControl(CacheControl.noCache())
+			.resourceChain(true)
+			.addResolver(new EncodedResourceResolver());
+	}
+
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright 2012 - present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.spring.start.site;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import io.spring.initializr.metadata.InitializrMetadataProvider;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.cache.test.autoconfigure.AutoConfigureCache;
+import org.springframework.boot.resttestclient.TestRestTemplate;
+import org.springframework.boot.resttestclient.autoconfigure.AutoConfigureTestRestTemplate;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests that compare the projects generated by a native image of
+ * {@link StartApplication} with the ones generated on the JVM.
+ * <p>
+ * Only enabled when the {@value #NATIVE_IMAGE_PROPERTY} system property is set to the
+ * location of the native executable, as the {@code native} profile does once it has
+ * been built.
+ *
+ * @author agent
+ */
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT, properties = "initializr.env.spring-boot-metadata-url=")
+@ActiveProfiles("test")
+@AutoConfigureCache
+@AutoConfigureTestRestTemplate
+@EnabledIfSystemProperty(named = NativeImageIntegrationTests.NATIVE_IMAGE_PROPERTY, matches = ".+")
+class NativeImageIntegrationTests {
+
+	static final String NATIVE_IMAGE_PROPERTY = "start.native-image";
+
+	private static final String READY = "Started StartApplication";
+
+	private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(1);
+
+	private static final String DEPENDENCIES = "web,data-jpa,postgresql,docker-compose,testcontainers,native";
+
+	private static Process nativeApplication;
+
+	private static String nativeApplicationUrl;
+
+	@Autowired
+	private TestRestTemplate restTemplate;
+
+	@Autowired
+	private InitializrMetadataProvider metadataProvider;
+
+	@BeforeAll
+	static void startNativeApplication(@TempDir Path directory) throws IOException, InterruptedException {
+		int port;
+		try (ServerSocket socket = new ServerSocket(0)) {
+			port = socket.getLocalPort();
+		}
+		Path output = directory.resolve("native-application.log");
+		nativeApplication = new ProcessBuilder(System.getProperty(NATIVE_IMAGE_PROPERTY), "--server.port=" + port,
+				"--initializr.env.spring-boot-metadata-url=",
+				"--application.maven-version-resolver.warm-up.enabled=false")
+			.redirectErrorStream(true)
+			.redirectOutput(output.toFile())
+			.start();
+		awaitReady(nativeApplication, output);
+		nativeApplicationUrl = "http://localhost:" + port;
+	}
+
+	@AfterAll
+	static void stopNativeApplication() throws InterruptedException {
+		if (nativeApplication != null) {
+			nativeApplication.destroy();
+			nativeApplication.waitFor();
+		}
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = { "maven-project", "gradle-project", "gradle-project-kotlin" })
+	void generatedProjectMatchesJvm(String type) throws IOException {
+		String bootVersion = this.metadataProvider.get().getBootVersions().getDefault().getId();
+		String path = "/starter.zip?type=%s&bootVersion=%s&dependencies=%s".formatted(type, bootVersion,
+				DEPENDENCIES);
+		Map<String, String> jvmProject = unzip(generate(path));
+		Map<String, String> nativeProject = unzip(generate(nativeApplicationUrl + path));
+		assertThat(jvmProject).isNotEmpty();
+		assertThat(nativeProject).containsExactlyEntriesOf(jvmProject);
+	}
+
+	private byte[] generate(String url) {
+		ResponseEntity<byte[]> response = this.restTemplate.getForEntity(url, byte[].class);
+		assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+		return response.getBody();
+	}
+
+	private static Map<String, String> unzip(byte[] archive) throws IOException {
+		Map<String, String> entries = new TreeMap<>();
+		try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(archive))) {
+			ZipEntry entry = zip.getNextEntry();
+			while (entry != null) {
+				if (!entry.isDirectory()) {
+					entries.put(entry.getName(), new String(zip.readAllBytes(), StandardCharsets.ISO_8859_1));
+				}
+				entry = zip.getNextEntry();
+			}
+		}
+		return entries;
+	}
+
+	private static void awaitReady(Process process, Path output) throws IOException, InterruptedException {
+		long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+		while (!Files.readString(output).contains(READY)) {
+			if (!process.isAlive() || System.nanoTime() > deadline) {
+				String log = Files.readString(output);
+				throw new IllegalStateException("Native application is not ready:%n%s".formatted(log));
+			}
+			Thread.sleep(100);
+		}
+	}
+
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2012 - present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site.extension;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+import io.spring.initializr.generator.project.ProjectGenerationConfiguration;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.MergedAnnotation;
+import org.springframework.core.annotation.MergedAnnotations;
+import org.springframework.core.annotation.MergedAnnotations.SearchStrategy;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.StringUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for the {@link ProjectGenerationConfiguration} classes registered in
+ * {@code META-INF/spring.factories}.
+ *
+ * @author agent
+ */
+class ProjectGenerationConfigurationsTests {
+
+	@Test
+	void configurationsDoNotProxyBeanMethods() throws Exception {
+		List<Class<?>> configurations = new ArrayList<>();
+		for (String className : getProjectGenerationConfigurations()) {
+			collectConfigurations(ClassUtils.forName(className, getClass().getClassLoader()), configurations);
+		}
+		assertThat(configurations).isNotEmpty().allSatisfy((configuration) -> {
+			MergedAnnotation<Configuration> annotation = MergedAnnotations
+				.from(configuration, SearchStrategy.TYPE_HIERARCHY)
+				.get(Configuration.class);
+			assertThat(annotation.getBoolean("proxyBeanMethods")).describedAs(configuration.getName()).isFalse();
+		});
+	}
+
+	private void collectConfigurations(Class<?> candidate, List<Class<?>> configurations) {
+		if (MergedAnnotations.from(candidate, SearchStrategy.TYPE_HIERARCHY).isPresent(Configuration.class)) {
+			configurations.add(candidate);
+		}
+		for (Class<?> nestedClass : candidate.getDeclaredClasses()) {
+			collectConfigurations(nestedClass, configurations);
+		}
+	}
+
+	private String[] getProjectGenerationConfigurations() throws IOException {
+		Properties factories = PropertiesLoaderUtils
+			.loadProperties(new ClassPathResource("META-INF/spring.factories"));
+		return StringUtils.trimArrayElements(StringUtils
+			.commaDelimitedListToStringArray(factories.getProperty(ProjectGenerationConfiguration.class.getName())));
+	}
+
+}
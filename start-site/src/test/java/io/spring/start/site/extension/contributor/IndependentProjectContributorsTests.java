@@ -0,0 +1,104 @@
+/*
+ * Copyright 2012 - present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site.extension.contributor;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import io.spring.start.site.support.IndependentProjectContributor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIOException;
+
+/**
+ * Tests for {@link IndependentProjectContributors}.
+ *
+ * @author agent
+ */
+class IndependentProjectContributorsTests {
+
+	private final ExecutorService executor = Executors.newFixedThreadPool(2);
+
+	@TempDir
+	private Path projectRoot;
+
+	@AfterEach
+	void shutdownExecutor() {
+		this.executor.shutdownNow();
+	}
+
+	@Test
+	void contributionsWithoutExecutorRunWhenStarted() throws IOException {
+		IndependentProjectContributors contributors = new IndependentProjectContributors(
+				List.of(writeFile("one.txt"), writeFile("two.txt")), null);
+		contributors.startContributor().contribute(this.projectRoot);
+		assertThat(this.projectRoot.resolve("one.txt")).isRegularFile();
+		assertThat(this.projectRoot.resolve("two.txt")).isRegularFile();
+	}
+
+	@Test
+	void contributionsWithExecutorRunConcurrently() throws IOException {
+		CountDownLatch latch = new CountDownLatch(2);
+		IndependentProjectContributor contributor = (directory) -> {
+			latch.countDown();
+			try {
+				assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+			}
+		};
+		IndependentProjectContributors contributors = new IndependentProjectContributors(
+				List.of(contributor, contributor, writeFile("one.txt")), this.executor);
+		contributors.startContributor().contribute(this.projectRoot);
+		contributors.completeContributor().contribute(this.projectRoot);
+		assertThat(latch.getCount()).isZero();
+		assertThat(this.projectRoot.resolve("one.txt")).isRegularFile();
+	}
+
+	@Test
+	void contributionFailureIsThrownOnCompletion() throws IOException {
+		IndependentProjectContributors contributors = new IndependentProjectContributors(
+				List.of((directory) -> {
+					throw new IOException("test");
+				}), this.executor);
+		contributors.startContributor().contribute(this.projectRoot);
+		assertThatIOException().isThrownBy(() -> contributors.completeContributor().contribute(this.projectRoot))
+			.withMessage("test");
+	}
+
+	@Test
+	void startContributorRunsBeforeCompleteContributor() {
+		IndependentProjectContributors contributors = new IndependentProjectContributors(List.of(), null);
+		assertThat(contributors.startContributor().getOrder())
+			.isLessThan(contributors.completeContributor().getOrder());
+	}
+
+	private IndependentProjectContributor writeFile(String name) {
+		return (directory) -> Files.writeString(directory.resolve(name), name);
+	}
+
+}
@@ -25,6 +25,7 @@ import io.spring.initializr.generator.project.MutableProjectDescription;
 import io.spring.initializr.generator.test.project.ProjectAssetTester;
 import io.spring.initializr.metadata.InitializrMetadata;
 import io.spring.initializr.metadata.InitializrMetadataProvider;
+import io.spring.start.site.support.InitializrMetadataSnapshot;
 import org.junit.jupiter.api.Test;
 
 import org.springframework.beans.factory.annotation.Autowired;
@@ -53,6 +54,7 @@ class SpringCloudProjectGenerationConfigurationTests {
 	private final ProjectAssetTester projectTester = new ProjectAssetTester()
 		.withContextInitializer((context) -> context.setParent(this.applicationContext))
 		.withBean(InitializrMetadata.class, () -> this.metadataProvider.get())
+		.withBean(InitializrMetadataSnapshot.class, () -> InitializrMetadataSnapshot.of(this.metadataProvider.get()))
 		.withBean(Build.class, MavenBuild::new)
 		.withConfiguration(SpringCloudProjectGenerationConfiguration.class);
 
@@ -23,9 +23,11 @@ import io.spring.initializr.generator.version.VersionParser;
 import io.spring.initializr.metadata.BillOfMaterials;
 import io.spring.initializr.metadata.InitializrMetadata;
 import io.spring.initializr.versionresolver.MavenVersionResolver;
+import io.spring.start.site.support.InitializrMetadataSnapshot;
 import org.junit.jupiter.api.Test;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
 
@@ -42,11 +44,26 @@ class SpringCloudProjectVersionResolverTests {
 	void resolveWithNoSpringCloudBom() {
 		BillOfMaterials bom = BillOfMaterials.create("com.example", "custom-bom", "1.0.0");
 		InitializrMetadata metadata = InitializrMetadataTestBuilder.withDefaults().addBom("custom-bom", bom).build();
-		String version = new SpringCloudProjectVersionResolver(metadata, this.versionResolver)
-			.resolveVersion(VersionParser.DEFAULT.parse("2.1.0.RELEASE"), "com.example:test");
+		SpringCloudProjectVersionResolver resolver = new SpringCloudProjectVersionResolver(
+				InitializrMetadataSnapshot.of(metadata), this.versionResolver);
+		String version = resolver.resolveVersion(VersionParser.DEFAULT.parse("2.1.0.RELEASE"), "com.example:test");
 		assertThat(version).isNull();
 	}
 
+	@Test
+	void resolveWithIncompatibleSpringCloudBom() {
+		BillOfMaterials bom = BillOfMaterials.create("org.springframework.cloud", "spring-cloud-dependencies", "1.0.0");
+		bom.getMappings().add(BillOfMaterials.Mapping.create("[3.0.0,3.1.0)", "1.0.0"));
+		InitializrMetadata metadata = InitializrMetadataTestBuilder.withDefaults().addBom("spring-cloud", bom).build();
+		SpringCloudProjectVersionResolver resolver = new SpringCloudProjectVersionResolver(
+				InitializrMetadataSnapshot.of(metadata), this.versionResolver);
+		assertThatIllegalStateException()
+			.isThrownBy(() -> resolver.resolveVersion(VersionParser.DEFAULT.parse("2.1.0.RELEASE"),
+					"org.springframework.cloud:spring-cloud"))
+			.withMessage("Spring Cloud bom org.springframework.cloud:spring-cloud-dependencies is not compatible "
+					+ "with platform version 2.1.0.RELEASE");
+	}
+
 	@Test
 	void resolveWithUnknownArtifactId() {
 		BillOfMaterials bom = BillOfMaterials.create("org.springframework.cloud", "spring-cloud-dependencies", "1.0.0");
@@ -54,8 +71,10 @@ class SpringCloudProjectVersionResolverTests {
 		given(this.versionResolver.resolveDependencies("org.springframework.cloud", "spring-cloud-dependencies",
 				"1.0.0"))
 			.willReturn(Collections.singletonMap("org.springframework.cloud:spring-cloud", "1.1.0"));
-		String version = new SpringCloudProjectVersionResolver(metadata, this.versionResolver)
-			.resolveVersion(VersionParser.DEFAULT.parse("2.1.0.RELEASE"), "org.springframework.cloud:test");
+		SpringCloudProjectVersionResolver resolver = new SpringCloudProjectVersionResolver(
+				InitializrMetadataSnapshot.of(metadata), this.versionResolver);
+		String version = resolver.resolveVersion(VersionParser.DEFAULT.parse("2.1.0.RELEASE"),
+				"org.springframework.cloud:test");
 		assertThat(version).isNull();
 	}
 
@@ -66,8 +85,10 @@ class SpringCloudProjectVersionResolverTests {
 		given(this.versionResolver.resolveDependencies("org.springframework.cloud", "spring-cloud-dependencies",
 				"1.0.0"))
 			.willReturn(Collections.singletonMap("org.springframework.cloud:spring-cloud", "1.1.0"));
-		String version = new SpringCloudProjectVersionResolver(metadata, this.versionResolver)
-			.resolveVersion(VersionParser.DEFAULT.parse("2.1.0.RELEASE"), "org.springframework.cloud:spring-cloud");
+		SpringCloudProjectVersionResolver resolver = new SpringCloudProjectVersionResolver(
+				InitializrMetadataSnapshot.of(metadata), this.versionResolver);
+		String version = resolver.resolveVersion(VersionParser.DEFAULT.parse("2.1.0.RELEASE"),
+				"org.springframework.cloud:spring-cloud");
 		assertThat(version).isEqualTo("1.1.0");
 	}
 
@@ -17,7 +17,13 @@
 package io.spring.start.site.support;
 
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import io.spring.initializr.versionresolver.MavenVersionResolver;
 import io.spring.start.site.SupportedBootVersion;
 import org.junit.jupiter.api.AfterEach;
@@ -31,9 +37,15 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.cache.Cache;
 import org.springframework.cache.Cache.ValueWrapper;
 import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
 import org.springframework.test.context.ActiveProfiles;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 /**
  * Tests for {@link CacheableMavenVersionResolver}.
@@ -83,4 +95,79 @@ class CacheableMavenVersionResolverTests {
 		assertThat(valueWrapper.get()).isInstanceOf(Map.class);
 	}
 
+	@Test
+	void concurrentResolutionsOfTheSameKeyAreResolvedOnce() throws Exception {
+		CountDownLatch resolving = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		MavenVersionResolver delegate = mock(MavenVersionResolver.class);
+		given(delegate.resolveDependencies("com.example", "example-bom", "1.0.0")).willAnswer((invocation) -> {
+			resolving.countDown();
+			release.await();
+			return Map.of("com.example:one", "1.0.0");
+		});
+		SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+		Cache cache = new ConcurrentMapCache("test");
+		CacheableMavenVersionResolver resolver = new CacheableMavenVersionResolver(delegate, cache, meterRegistry);
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			Future<Map<String, String>> first = executor
+				.submit(() -> resolver.resolveDependencies("com.example", "example-bom", "1.0.0"));
+			assertThat(resolving.await(5, TimeUnit.SECONDS)).isTrue();
+			Future<Map<String, String>> second = executor
+				.submit(() -> resolver.resolveDependencies("com.example", "example-bom", "1.0.0"));
+			Thread.sleep(100);
+			assertThat(second).isNotDone();
+			release.countDown();
+			assertThat(first.get(5, TimeUnit.SECONDS)).containsEntry("com.example:one", "1.0.0");
+			assertThat(second.get(5, TimeUnit.SECONDS)).isSameAs(first.get());
+			verify(delegate, times(1)).resolveDependencies("com.example", "example-bom", "1.0.0");
+			assertThat(meterRegistry.get("start.version-resolver.coalesced").counter().count()).isOne();
+			assertThat(cache.get("dependencies-com.example:example-bom:1.0.0")).isNotNull();
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	void cachedResolutionIsNotCoalesced() {
+		MavenVersionResolver delegate = mock(MavenVersionResolver.class);
+		given(delegate.resolvePlugins("com.example", "example-bom", "1.0.0"))
+			.willReturn(Map.of("com.example:example-maven-plugin", "1.0.0"));
+		SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+		CacheableMavenVersionResolver resolver = new CacheableMavenVersionResolver(delegate,
+				new ConcurrentMapCache("test"), meterRegistry);
+		Map<String, String> plugins = resolver.resolvePlugins("com.example", "example-bom", "1.0.0");
+		assertThat(resolver.resolvePlugins("com.example", "example-bom", "1.0.0")).isSameAs(plugins);
+		verify(delegate, times(1)).resolvePlugins("com.example", "example-bom", "1.0.0");
+		assertThat(meterRegistry.get("start.version-resolver.coalesced").counter().count()).isZero();
+	}
+
+	@Test
+	void failedResolutionIsNotRetainedForSubsequentCalls() {
+		MavenVersionResolver delegate = mock(MavenVersionResolver.class);
+		given(delegate.resolvePlugins("com.example", "example-bom", "1.0.0"))
+			.willThrow(new IllegalStateException("test"))
+			.willReturn(Map.of("com.example:example-maven-plugin", "1.0.0"));
+		CacheableMavenVersionResolver resolver = new CacheableMavenVersionResolver(delegate,
+				new ConcurrentMapCache("test"), new SimpleMeterRegistry());
+		assertThatIllegalStateException()
+			.isThrownBy(() -> resolver.resolvePlugins("com.example", "example-bom", "1.0.0"));
+		assertThat(resolver.resolvePlugins("com.example", "example-bom", "1.0.0"))
+			.containsEntry("com.example:example-maven-plugin", "1.0.0");
+	}
+
+	@Test
+	void loadTimeIsRecorded() {
+		MavenVersionResolver delegate = mock(MavenVersionResolver.class);
+		given(delegate.resolveDependencies("com.example", "example-bom", "1.0.0"))
+			.willReturn(Map.of("com.example:one", "1.0.0"));
+		SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+		new CacheableMavenVersionResolver(delegate, new ConcurrentMapCache("test"), meterRegistry)
+			.resolveDependencies("com.example", "example-bom", "1.0.0");
+		assertThat(meterRegistry.get("start.version-resolver.load").tag("type", "dependencies").timer().count())
+			.isOne();
+		assertThat(meterRegistry.get("start.version-resolver.load").tag("type", "plugins").timer().count()).isZero();
+	}
+
 }
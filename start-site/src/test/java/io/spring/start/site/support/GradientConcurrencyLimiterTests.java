@@ -0,0 +1,124 @@
+/*
+ * Copyright 2012 - present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site.support;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.spring.start.site.support.GradientConcurrencyLimiter.Permit;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link GradientConcurrencyLimiter}.
+ *
+ * @author agent
+ */
+class GradientConcurrencyLimiterTests {
+
+	private final AtomicLong nanoTime = new AtomicLong();
+
+	@Test
+	void tryAcquireBelowLimitGrantsPermit() throws InterruptedException {
+		GradientConcurrencyLimiter limiter = createLimiter(2, 0, Duration.ZERO);
+		assertThat(limiter.tryAcquire()).isNotNull();
+		assertThat(limiter.tryAcquire()).isNotNull();
+		assertThat(limiter.getInFlight()).isEqualTo(2);
+	}
+
+	@Test
+	void tryAcquireWhenQueueIsFullIsRejected() throws InterruptedException {
+		GradientConcurrencyLimiter limiter = createLimiter(1, 0, Duration.ofSeconds(10));
+		assertThat(limiter.tryAcquire()).isNotNull();
+		assertThat(limiter.tryAcquire()).isNull();
+	}
+
+	@Test
+	void tryAcquireWhenNoPermitIsReleasedInTimeIsRejected() throws InterruptedException {
+		GradientConcurrencyLimiter limiter = createLimiter(1, 1, Duration.ofMillis(10));
+		assertThat(limiter.tryAcquire()).isNotNull();
+		assertThat(limiter.tryAcquire()).isNull();
+		assertThat(limiter.getQueueSize()).isZero();
+	}
+
+	@Test
+	void tryAcquireWhenPermitIsReleasedWhileWaitingGrantsPermit() throws Exception {
+		GradientConcurrencyLimiter limiter = createLimiter(1, 1, Duration.ofSeconds(10));
+		Permit permit = limiter.tryAcquire();
+		CompletableFuture<Permit> waiting = CompletableFuture.supplyAsync(() -> {
+			try {
+				return limiter.tryAcquire();
+			}
+			catch (InterruptedException ex) {
+				throw new CompletionException(ex);
+			}
+		});
+		while (limiter.getQueueSize() == 0) {
+			Thread.sleep(1);
+		}
+		permit.release();
+		assertThat(waiting.get(5, TimeUnit.SECONDS)).isNotNull();
+		assertThat(limiter.getInFlight()).isOne();
+	}
+
+	@Test
+	void releaseTwiceReleasesPermitOnce() throws InterruptedException {
+		GradientConcurrencyLimiter limiter = createLimiter(2, 0, Duration.ZERO);
+		Permit permit = limiter.tryAcquire();
+		limiter.tryAcquire();
+		permit.release();
+		permit.release();
+		assertThat(limiter.getInFlight()).isOne();
+	}
+
+	@Test
+	void limitAdaptsToLatency() throws InterruptedException {
+		GradientConcurrencyLimiter limiter = new GradientConcurrencyLimiter(10, 2, 100, 0, Duration.ZERO,
+				this.nanoTime::get);
+		for (int i = 0; i < 20; i++) {
+			runConcurrently(limiter, Duration.ofMillis(10));
+		}
+		int limit = limiter.getLimit();
+		assertThat(limit).isGreaterThan(10);
+		for (int i = 0; i < 20; i++) {
+			runConcurrently(limiter, Duration.ofMillis(100));
+		}
+		assertThat(limiter.getLimit()).isLessThan(limit);
+	}
+
+	private void runConcurrently(GradientConcurrencyLimiter limiter, Duration latency) throws InterruptedException {
+		List<Permit> permits = new ArrayList<>();
+		Permit permit = limiter.tryAcquire();
+		while (permit != null) {
+			permits.add(permit);
+			permit = limiter.tryAcquire();
+		}
+		this.nanoTime.addAndGet(latency.toNanos());
+		permits.forEach(Permit::release);
+	}
+
+	private GradientConcurrencyLimiter createLimiter(int limit, int maxQueueSize, Duration maxWait) {
+		return new GradientConcurrencyLimiter(limit, limit, limit, maxQueueSize, maxWait);
+	}
+
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2012 - present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site.support;
+
+import java.util.List;
+
+import io.spring.initializr.generator.test.InitializrMetadataTestBuilder;
+import io.spring.initializr.generator.version.Version;
+import io.spring.initializr.metadata.BillOfMaterials;
+import io.spring.initializr.metadata.Dependency;
+import io.spring.initializr.metadata.InitializrMetadata;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link InitializrMetadataSnapshot}.
+ *
+ * @author agent
+ */
+class InitializrMetadataSnapshotTests {
+
+	private static final Version BOOT_40 = Version.parse("4.0.0");
+
+	private static final Version BOOT_41 = Version.parse("4.1.0");
+
+	@Test
+	void getMetadata() {
+		InitializrMetadata metadata = new InitializrMetadataTestBuilder().addBootVersion("4.1.0", true).build();
+		assertThat(InitializrMetadataSnapshot.of(metadata).getMetadata()).isSameAs(metadata);
+	}
+
+	@Test
+	void getDependencyById() {
+		Dependency web = Dependency.withId("web", "org.springframework.boot", "spring-boot-starter-web");
+		InitializrMetadata metadata = new InitializrMetadataTestBuilder().addBootVersion("4.1.0", true)
+			.addDependencyGroup("test", web)
+			.build();
+		InitializrMetadataSnapshot snapshot = InitializrMetadataSnapshot.of(metadata);
+		assertThat(snapshot.getDependency("web")).isSameAs(web);
+		assertThat(snapshot.getDependency("unknown")).isNull();
+	}
+
+	@Test
+	void getDependencyByAlias() {
+		Dependency web = Dependency.withId("web", "org.springframework.boot", "spring-boot-starter-web");
+		web.getAliases().add("webmvc");
+		InitializrMetadata metadata = new InitializrMetadataTestBuilder().addBootVersion("4.1.0", true)
+			.addDependencyGroup("test", web)
+			.build();
+		assertThat(InitializrMetadataSnapshot.of(metadata).getDependency("webmvc")).isSameAs(web);
+	}
+
+	@Test
+	void getDependencyResolvedAgainstSupportedVersion() {
+		Dependency example = Dependency.withId("example", "com.example", "example", "1.0.0");
+		example.getMappings().add(mapping("[4.1.0,4.2.0-M1)", "1.1.0"));
+		InitializrMetadata metadata = new InitializrMetadataTestBuilder().addBootVersion("4.0.0", false)
+			.addBootVersion("4.1.0", true)
+			.addDependencyGroup("test", example)
+			.build();
+		InitializrMetadataSnapshot snapshot = InitializrMetadataSnapshot.of(metadata);
+		assertThat(snapshot.getDependency("example", BOOT_40).getVersion()).isEqualTo("1.0.0");
+		Dependency resolved = snapshot.getDependency("example", BOOT_41);
+		assertThat(resolved.getVersion()).isEqualTo("1.1.0");
+		assertThat(snapshot.getDependency("example", Version.parse("4.1.0"))).isSameAs(resolved);
+	}
+
+	@Test
+	void getDependencyResolvedAgainstUnsupportedVersion() {
+		Dependency example = Dependency.withId("example", "com.example", "example", "1.0.0");
+		example.getMappings().add(mapping("[4.2.0,4.3.0-M1)", "1.2.0"));
+		InitializrMetadata metadata = new InitializrMetadataTestBuilder().addBootVersion("4.1.0", true)
+			.addDependencyGroup("test", example)
+			.build();
+		assertThat(InitializrMetadataSnapshot.of(metadata).getDependency("example", Version.parse("4.2.1"))
+			.getVersion()).isEqualTo("1.2.0");
+	}
+
+	@Test
+	void getBomResolvedAgainstSupportedVersion() {
+		BillOfMaterials bom = BillOfMaterials.create("com.example", "example-bom");
+		bom.getMappings().add(BillOfMaterials.Mapping.create("[4.1.0,4.2.0-M1)", "1.1.0"));
+		InitializrMetadata metadata = new InitializrMetadataTestBuilder().addBootVersion("4.0.0", false)
+			.addBootVersion("4.1.0", true)
+			.addBom("example", bom)
+			.build();
+		InitializrMetadataSnapshot snapshot = InitializrMetadataSnapshot.of(metadata);
+		assertThat(snapshot.getBom("example", BOOT_41).getVersion()).isEqualTo("1.1.0");
+		assertThat(snapshot.getBom("example", BOOT_40)).isNull();
+		assertThat(snapshot.getBom("unknown", BOOT_41)).isNull();
+	}
+
+	@Test
+	void getBomChainIncludesAdditionalBoms() {
+		BillOfMaterials bom = BillOfMaterials.create("com.example", "example-bom", "1.0.0");
+		bom.getAdditionalBoms().add("another");
+		BillOfMaterials anotherBom = BillOfMaterials.create("com.example", "another-bom", "2.0.0");
+		InitializrMetadata metadata = new InitializrMetadataTestBuilder().addBootVersion("4.1.0", true)
+			.addBom("example", bom)
+			.addBom("another", anotherBom)
+			.build();
+		InitializrMetadataSnapshot snapshot = InitializrMetadataSnapshot.of(metadata);
+		List<BillOfMaterials> chain = snapshot.getBomChain("example", BOOT_41);
+		assertThat(chain).extracting(BillOfMaterials::getArtifactId).containsExactly("example-bom", "another-bom");
+		assertThat(snapshot.getBomChain("example", Version.parse("4.2.0")))
+			.extracting(BillOfMaterials::getArtifactId)
+			.containsExactly("example-bom", "another-bom");
+		assertThat(snapshot.getBomChain("unknown", BOOT_41)).isEmpty();
+	}
+
+	private static Dependency.Mapping mapping(String compatibilityRange, String version) {
+		Dependency.Mapping mapping = new Dependency.Mapping();
+		mapping.setCompatibilityRange(compatibilityRange);
+		mapping.setVersion(version);
+		return mapping;
+	}
+
+}
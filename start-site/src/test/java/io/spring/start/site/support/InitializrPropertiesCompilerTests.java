@@ -0,0 +1,117 @@
+/*
+ * Copyright 2012 - present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.spring.start.site.support;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import io.spring.initializr.metadata.Dependency;
+import io.spring.initializr.metadata.InitializrMetadata;
+import io.spring.initializr.metadata.InitializrMetadataBuilder;
+import io.spring.initializr.metadata.InitializrProperties;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatException;
+
+/**
+ * Tests for {@link InitializrPropertiesCompiler}.
+ *
+ * @author agent
+ */
+class InitializrPropertiesCompilerTests {
+
+	private final Resource metadata = new ClassPathResource("initializr-metadata.yml");
+
+	@Test
+	void compiledMetadataMatchesYamlMetadata() throws IOException {
+		InitializrMetadata expected = build(InitializrPropertiesLoader.bind(this.metadata));
+		InitializrMetadata actual = build(read(InitializrPropertiesCompiler.compile(this.metadata)));
+		assertThat(actual.getDependencies().getAll()).map(Dependency::getId)
+			.containsExactlyElementsOf(expected.getDependencies().getAll().stream().map(Dependency::getId).toList());
+		assertThat(actual.getDependencies().getAll()).allSatisfy((dependency) -> {
+			Dependency expectedDependency = expected.getDependencies().get(dependency.getId());
+			assertThat(dependency.getCompatibilityRange()).isEqualTo(expectedDependency.getCompatibilityRange());
+			assertThat(dependency.getMappings()).hasSameSizeAs(expectedDependency.getMappings());
+			assertThat(dependency.getLinks()).hasSameSizeAs(expectedDependency.getLinks());
+		});
+		assertThat(actual.getConfiguration().getEnv().getBoms())
+			.containsOnlyKeys(expected.getConfiguration().getEnv().getBoms().keySet());
+		assertThat(actual.getTypes().getContent()).hasSameSizeAs(expected.getTypes().getContent());
+		assertThat(actual.getBootVersions().getDefault().getId())
+			.isEqualTo(expected.getBootVersions().getDefault().getId());
+	}
+
+	@Test
+	void compiledMetadataSharesIdenticalStrings() throws IOException {
+		InitializrProperties properties = read(InitializrPropertiesCompiler.compile(this.metadata));
+		List<Dependency> dependencies = properties.getDependencies()
+			.stream()
+			.flatMap((group) -> group.getContent().stream())
+			.filter((dependency) -> "org.springframework.boot".equals(dependency.getGroupId()))
+			.toList();
+		assertThat(dependencies).hasSizeGreaterThan(2);
+		assertThat(dependencies.get(0).getGroupId()).isSameAs(dependencies.get(1).getGroupId());
+	}
+
+	@Test
+	void compileWithInvalidMetadataFails() {
+		Resource invalidMetadata = new ByteArrayResource("""
+				initializr:
+				  dependencies:
+				    - name: Test
+				      content:
+				        - name: Test
+				          id: test
+				          compatibilityRange: "not-a-range"
+				""".getBytes(StandardCharsets.UTF_8));
+		assertThatException().isThrownBy(() -> InitializrPropertiesCompiler.compile(invalidMetadata));
+	}
+
+	@Test
+	void mainWritesSnapshot(@TempDir Path directory) throws IOException {
+		Path metadata = directory.resolve("metadata.yml");
+		Files.copy(this.metadata.getInputStream(), metadata);
+		Path snapshot = directory.resolve("nested/metadata.bin");
+		InitializrPropertiesCompiler.main(new String[] { metadata.toString(), snapshot.toString() });
+		assertThat(snapshot).hasBinaryContent(InitializrPropertiesCompiler.compile(this.metadata));
+	}
+
+	private InitializrProperties read(byte[] snapshot) throws IOException {
+		try (InputStream input = new ByteArrayInputStream(snapshot)) {
+			assertThat(InitializrPropertiesSnapshot.readSourceDigest(input))
+				.isEqualTo(InitializrPropertiesLoader.digest(this.metadata));
+			return InitializrPropertiesSnapshot.read(input);
+		}
+	}
+
+	private InitializrMetadata build(InitializrProperties properties) {
+		return InitializrMetadataBuilder.fromInitializrProperties(properties).build();
+	}
+
+}
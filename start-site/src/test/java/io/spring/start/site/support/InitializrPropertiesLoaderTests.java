@@ -0,0 +1,108 @@
+/*
+ * Copyright 2012 - present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.spring.start.site.support;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Map;
+
+import io.spring.initializr.metadata.InitializrProperties;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.MapConfigurationPropertySource;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.Resource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link InitializrPropertiesLoader}.
+ *
+ * @author agent
+ */
+class InitializrPropertiesLoaderTests {
+
+	private final Binder emptyBinder = new Binder(new MapConfigurationPropertySource());
+
+	@Test
+	void loadWithoutCompiledMetadataBindsYaml() {
+		InitializrProperties properties = InitializrPropertiesLoader.load(new TestResourceLoader(null),
+				this.emptyBinder);
+		assertThat(properties.getDependencies()).isNotEmpty();
+	}
+
+	@Test
+	void loadWithUpToDateCompiledMetadataUsesIt() throws IOException {
+		String digest = InitializrPropertiesLoader.digest(new ClassPathResource("initializr-metadata.yml"));
+		InitializrProperties properties = InitializrPropertiesLoader
+			.load(new TestResourceLoader(snapshot(new InitializrProperties(), digest)), this.emptyBinder);
+		assertThat(properties.getDependencies()).isEmpty();
+	}
+
+	@Test
+	void loadWithOutOfDateCompiledMetadataBindsYaml() throws IOException {
+		InitializrProperties properties = InitializrPropertiesLoader
+			.load(new TestResourceLoader(snapshot(new InitializrProperties(), "stale")), this.emptyBinder);
+		assertThat(properties.getDependencies()).isNotEmpty();
+	}
+
+	@Test
+	void loadWithCorruptedCompiledMetadataBindsYaml() {
+		InitializrProperties properties = InitializrPropertiesLoader
+			.load(new TestResourceLoader(new ByteArrayResource(new byte[] { 1, 2, 3 })), this.emptyBinder);
+		assertThat(properties.getDependencies()).isNotEmpty();
+	}
+
+	@Test
+	void loadBindsEnvironmentOnTop() {
+		Binder binder = new Binder(new MapConfigurationPropertySource(
+				Map.of("initializr.env.spring-boot-metadata-url", "https://example.com/releases")));
+		InitializrProperties properties = InitializrPropertiesLoader.load(new TestResourceLoader(null), binder);
+		assertThat(properties.getEnv().getSpringBootMetadataUrl()).isEqualTo("https://example.com/releases");
+		assertThat(properties.getDependencies()).isNotEmpty();
+	}
+
+	private Resource snapshot(InitializrProperties properties, String digest) throws IOException {
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		InitializrPropertiesSnapshot.write(properties, digest, output);
+		return new ByteArrayResource(output.toByteArray());
+	}
+
+	static class TestResourceLoader extends DefaultResourceLoader {
+
+		private final Resource compiledMetadata;
+
+		TestResourceLoader(Resource compiledMetadata) {
+			this.compiledMetadata = compiledMetadata;
+		}
+
+		@Override
+		public Resource getResource(String location) {
+			if (location.equals(InitializrPropertiesLoader.COMPILED_METADATA_LOCATION)) {
+				return (this.compiledMetadata != null) ? this.compiledMetadata
+						: new ClassPathResource("does-not-exist.bin");
+			}
+			return super.getResource(location);
+		}
+
+	}
+
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2012 - present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site.support;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.spring.initializr.generator.test.InitializrMetadataTestBuilder;
+import io.spring.initializr.metadata.BillOfMaterials;
+import io.spring.initializr.metadata.InitializrMetadata;
+import io.spring.initializr.metadata.InitializrMetadataProvider;
+import io.spring.initializr.versionresolver.MavenVersionResolver;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Tests for {@link MavenVersionResolverWarmUp}.
+ *
+ * @author agent
+ */
+class MavenVersionResolverWarmUpTests {
+
+	private final MavenVersionResolver versionResolver = mock(MavenVersionResolver.class);
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	@Test
+	void warmUpResolvesSpringBootDependenciesAndPlugins() {
+		InitializrMetadata metadata = new InitializrMetadataTestBuilder().addBootVersion("4.0.0", false)
+			.addBootVersion("4.1.0", true)
+			.build();
+		createWarmUp(metadata).warmUp();
+		verify(this.versionResolver).resolveDependencies("org.springframework.boot", "spring-boot-dependencies",
+				"4.0.0");
+		verify(this.versionResolver).resolvePlugins("org.springframework.boot", "spring-boot-dependencies", "4.0.0");
+		verify(this.versionResolver).resolveDependencies("org.springframework.boot", "spring-boot-dependencies",
+				"4.1.0");
+		verify(this.versionResolver).resolvePlugins("org.springframework.boot", "spring-boot-dependencies", "4.1.0");
+	}
+
+	@Test
+	void warmUpResolvesBomsForSupportedVersionsOnly() {
+		BillOfMaterials bom = BillOfMaterials.create("com.example", "example-bom");
+		bom.getMappings().add(BillOfMaterials.Mapping.create("[4.0.0,4.1.0-M1)", "1.0.0"));
+		InitializrMetadata metadata = new InitializrMetadataTestBuilder().addBootVersion("4.0.0", false)
+			.addBootVersion("4.1.0", true)
+			.addBom("example", bom)
+			.build();
+		createWarmUp(metadata).warmUp();
+		verify(this.versionResolver).resolveDependencies("com.example", "example-bom", "1.0.0");
+		verify(this.versionResolver, never()).resolvePlugins("com.example", "example-bom", "1.0.0");
+	}
+
+	@Test
+	void warmUpRecordsTimings() {
+		BillOfMaterials bom = BillOfMaterials.create("com.example", "example-bom", "1.0.0");
+		InitializrMetadata metadata = new InitializrMetadataTestBuilder().addBootVersion("4.1.0", true)
+			.addBom("example", bom)
+			.build();
+		createWarmUp(metadata).warmUp();
+		assertThat(this.meterRegistry.get("start.version-resolver.warm-up").timer().count()).isOne();
+		Timer bomTimer = this.meterRegistry.get("start.version-resolver.warm-up.bom")
+			.tag("bom", "com.example:example-bom")
+			.tag("version", "1.0.0")
+			.tag("outcome", "success")
+			.timer();
+		assertThat(bomTimer.count()).isOne();
+	}
+
+	@Test
+	void warmUpRecordsFailures() {
+		BillOfMaterials bom = BillOfMaterials.create("com.example", "example-bom", "1.0.0");
+		InitializrMetadata metadata = new InitializrMetadataTestBuilder().addBootVersion("4.1.0", true)
+			.addBom("example", bom)
+			.build();
+		given(this.versionResolver.resolveDependencies(anyString(), anyString(), anyString()))
+			.willThrow(new IllegalStateException("test"));
+		createWarmUp(metadata).warmUp();
+		assertThat(this.meterRegistry.get("start.version-resolver.warm-up.bom")
+			.tag("bom", "com.example:example-bom")
+			.tag("outcome", "failure")
+			.timer()
+			.count()).isOne();
+	}
+
+	private MavenVersionResolverWarmUp createWarmUp(InitializrMetadata metadata) {
+		InitializrMetadataProvider metadataProvider = mock(InitializrMetadataProvider.class);
+		given(metadataProvider.get()).willReturn(metadata);
+		return new MavenVersionResolverWarmUp(metadataProvider, this.versionResolver, this.meterRegistry, 2);
+	}
+
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2012 - present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.spring.start.site.support;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.spring.initializr.metadata.InitializrMetadata;
+import io.spring.start.site.support.MetadataDocumentCache.Document;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Tests for {@link MetadataDocumentCache}.
+ *
+ * @author agent
+ */
+class MetadataDocumentCacheTests {
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	private final MetadataDocumentCache cache = new MetadataDocumentCache(2, this.meterRegistry);
+
+	private final InitializrMetadata metadata = mock(InitializrMetadata.class);
+
+	@Test
+	void getWithUnknownKeyReturnsNull() {
+		assertThat(this.cache.get(this.metadata, "test")).isNull();
+		assertThat(lookups("miss")).isOne();
+	}
+
+	@Test
+	void getWithKnownKeyReturnsDocument() {
+		Document document = createDocument("test");
+		this.cache.put(this.metadata, "test", document);
+		assertThat(this.cache.get(this.metadata, "test")).isSameAs(document);
+		assertThat(lookups("hit")).isOne();
+	}
+
+	@Test
+	void getWithDifferentMetadataReturnsNull() {
+		this.cache.put(this.metadata, "test", createDocument("test"));
+		assertThat(this.cache.get(mock(InitializrMetadata.class), "test")).isNull();
+	}
+
+	@Test
+	void putWithDifferentMetadataDiscardsDocuments() {
+		this.cache.put(this.metadata, "first", createDocument("first"));
+		InitializrMetadata refreshedMetadata = mock(InitializrMetadata.class);
+		this.cache.put(refreshedMetadata, "second", createDocument("second"));
+		assertThat(this.cache.get(refreshedMetadata, "first")).isNull();
+		assertThat(this.cache.get(refreshedMetadata, "second")).isNotNull();
+		assertThat(this.cache.get(this.metadata, "first")).isNull();
+	}
+
+	@Test
+	void putWhenMaxDocumentsIsReachedEvictsLeastRecentlyUsedDocument() {
+		this.cache.put(this.metadata, "first", createDocument("first"));
+		this.cache.put(this.metadata, "second", createDocument("second"));
+		assertThat(this.cache.get(this.metadata, "first")).isNotNull();
+		this.cache.put(this.metadata, "third", createDocument("third"));
+		assertThat(this.cache.get(this.metadata, "first")).isNotNull();
+		assertThat(this.cache.get(this.metadata, "second")).isNull();
+		assertThat(this.cache.get(this.metadata, "third")).isNotNull();
+	}
+
+	@Test
+	void documentHasGzipVariant() throws IOException {
+		Document document = createDocument("{ \"test\": true }");
+		try (InputStream content = new GZIPInputStream(new ByteArrayInputStream(document.getGzipContent()))) {
+			assertThat(content.readAllBytes()).isEqualTo(document.getContent());
+		}
+	}
+
+	@Test
+	void documentHasStrongEtagDerivedFromContent() {
+		Document document = createDocument("test");
+		assertThat(document.getEtag()).startsWith("\"").endsWith("\"").hasSize(66);
+		assertThat(createDocument("test").getEtag()).isEqualTo(document.getEtag());
+		assertThat(createDocument("another").getEtag()).isNotEqualTo(document.getEtag());
+	}
+
+	private Document createDocument(String content) {
+		return Document.of(content.getBytes(StandardCharsets.UTF_8), "application/json", "max-age=7200",
+				List.of("Accept"));
+	}
+
+	private double lookups(String result) {
+		return this.meterRegistry.get("start.metadata-cache.lookups").tag("result", result).counter().count();
+	}
+
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2012 - present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site.support;
+
+import java.nio.file.Path;
+import java.util.Map;
+
+import io.spring.initializr.versionresolver.MavenVersionResolver;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+/**
+ * Tests for {@link PersistentMavenVersionResolver}.
+ *
+ * @author agent
+ */
+class PersistentMavenVersionResolverTests {
+
+	@TempDir
+	private Path directory;
+
+	@Test
+	void managedDependenciesAreReloadedFromDisk() {
+		MavenVersionResolver delegate = mock(MavenVersionResolver.class);
+		given(delegate.resolveDependencies("com.example", "example-bom", "1.0.0"))
+			.willReturn(Map.of("com.example:one", "1.0.0", "com.example:two", "2.0.0"));
+		Map<String, String> dependencies = new PersistentMavenVersionResolver(delegate, this.directory)
+			.resolveDependencies("com.example", "example-bom", "1.0.0");
+		assertThat(dependencies).containsOnly(Map.entry("com.example:one", "1.0.0"),
+				Map.entry("com.example:two", "2.0.0"));
+		MavenVersionResolver anotherDelegate = mock(MavenVersionResolver.class);
+		Map<String, String> reloaded = new PersistentMavenVersionResolver(anotherDelegate, this.directory)
+			.resolveDependencies("com.example", "example-bom", "1.0.0");
+		assertThat(reloaded).isEqualTo(dependencies);
+		verifyNoInteractions(anotherDelegate);
+	}
+
+	@Test
+	void managedPluginsAreReloadedFromDisk() {
+		MavenVersionResolver delegate = mock(MavenVersionResolver.class);
+		given(delegate.resolvePlugins("com.example", "example-bom", "1.0.0"))
+			.willReturn(Map.of("com.example:example-maven-plugin", "1.0.0"));
+		new PersistentMavenVersionResolver(delegate, this.directory).resolvePlugins("com.example", "example-bom",
+				"1.0.0");
+		MavenVersionResolver anotherDelegate = mock(MavenVersionResolver.class);
+		Map<String, String> reloaded = new PersistentMavenVersionResolver(anotherDelegate, this.directory)
+			.resolvePlugins("com.example", "example-bom", "1.0.0");
+		assertThat(reloaded).containsOnly(Map.entry("com.example:example-maven-plugin", "1.0.0"));
+		verifyNoInteractions(anotherDelegate);
+	}
+
+	@Test
+	void dependenciesAndPluginsAreStoredSeparately() {
+		MavenVersionResolver delegate = mock(MavenVersionResolver.class);
+		given(delegate.resolveDependencies("com.example", "example-bom", "1.0.0"))
+			.willReturn(Map.of("com.example:one", "1.0.0"));
+		given(delegate.resolvePlugins("com.example", "example-bom", "1.0.0"))
+			.willReturn(Map.of("com.example:example-maven-plugin", "1.0.0"));
+		PersistentMavenVersionResolver resolver = new PersistentMavenVersionResolver(delegate, this.directory);
+		assertThat(resolver.resolveDependencies("com.example", "example-bom", "1.0.0"))
+			.containsOnlyKeys("com.example:one");
+		assertThat(resolver.resolvePlugins("com.example", "example-bom", "1.0.0"))
+			.containsOnlyKeys("com.example:example-maven-plugin");
+	}
+
+	@Test
+	void snapshotResolutionsAreNotStored() {
+		MavenVersionResolver delegate = mock(MavenVersionResolver.class);
+		given(delegate.resolveDependencies("com.example", "example-bom", "1.0.0-SNAPSHOT"))
+			.willReturn(Map.of("com.example:one", "1.0.0-SNAPSHOT"));
+		PersistentMavenVersionResolver resolver = new PersistentMavenVersionResolver(delegate, this.directory);
+		resolver.resolveDependencies("com.example", "example-bom", "1.0.0-SNAPSHOT");
+		resolver.resolveDependencies("com.example", "example-bom", "1.0.0-SNAPSHOT");
+		verify(delegate, times(2)).resolveDependencies("com.example", "example-bom", "1.0.0-SNAPSHOT");
+		assertThat(this.directory).isEmptyDirectory();
+	}
+
+}
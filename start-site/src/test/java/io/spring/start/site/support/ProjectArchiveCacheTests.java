@@ -0,0 +1,229 @@
+/*
+ * Copyright 2012 - present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site.support;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.spring.initializr.generator.test.InitializrMetadataTestBuilder;
+import io.spring.initializr.metadata.InitializrMetadata;
+import io.spring.start.site.support.ProjectArchiveCache.Archive;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link ProjectArchiveCache}.
+ *
+ * @author agent
+ */
+class ProjectArchiveCacheTests {
+
+	private static final Instant NOW = Instant.parse("2025-01-01T10:00:00Z");
+
+	private final InitializrMetadata metadata = createMetadata("4.1.0");
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	@TempDir
+	private Path directory;
+
+	@Test
+	void archiveIsCached() {
+		ProjectArchiveCache cache = createCache(1024, null);
+		Archive archive = createArchive("test", NOW);
+		cache.put(this.metadata, "one", archive);
+		assertThat(cache.get(this.metadata, "one")).isSameAs(archive);
+		assertThat(cache.get(this.metadata, "two")).isNull();
+		assertThat(this.meterRegistry.get("start.archive-cache.lookups").tag("result", "hit").counter().count())
+			.isOne();
+		assertThat(this.meterRegistry.get("start.archive-cache.lookups").tag("result", "miss").counter().count())
+			.isOne();
+	}
+
+	@Test
+	void archiveHasStrongEtagBasedOnContent() {
+		assertThat(createArchive("test", NOW).getEtag()).startsWith("\"")
+			.endsWith("\"")
+			.isEqualTo(createArchive("test", NOW.plusSeconds(10)).getEtag())
+			.isNotEqualTo(createArchive("another", NOW).getEtag());
+	}
+
+	@Test
+	void archivesAreInvalidatedWhenMetadataIsRefreshed() {
+		ProjectArchiveCache cache = createCache(1024, null);
+		cache.put(this.metadata, "one", createArchive("test", NOW));
+		assertThat(cache.get(createMetadata("4.1.1"), "one")).isNull();
+		assertThat(cache.getSize()).isZero();
+	}
+
+	@Test
+	void archivesAreKeptWhenMetadataIsRefreshedWithSameContent() {
+		ProjectArchiveCache cache = createCache(1024, null);
+		Archive archive = createArchive("test", NOW);
+		cache.put(this.metadata, "one", archive);
+		assertThat(cache.get(createMetadata("4.1.0"), "one")).isSameAs(archive);
+	}
+
+	@Test
+	void expiredArchiveIsNotReturned() {
+		ProjectArchiveCache cache = createCache(1024, null);
+		cache.put(this.metadata, "one", createArchive("test", NOW.minus(Duration.ofMinutes(11))));
+		assertThat(cache.get(this.metadata, "one")).isNull();
+	}
+
+	@Test
+	void expiredArchiveIsRemoved() {
+		ProjectArchiveCache cache = createCache(1024, null);
+		cache.put(this.metadata, "one", createArchive("test", NOW.minus(Duration.ofMinutes(11))));
+		assertThat(cache.getSize()).isEqualTo(4);
+		assertThat(cache.get(this.metadata, "one")).isNull();
+		assertThat(cache.getSize()).isZero();
+	}
+
+	@Test
+	void expiredArchivesAreRemovedBeforeEvictingArchives() {
+		ProjectArchiveCache cache = createCache(8, null);
+		cache.put(this.metadata, "one", createArchive("1234", NOW));
+		cache.put(this.metadata, "two", createArchive("5678", NOW.minus(Duration.ofMinutes(11))));
+		cache.put(this.metadata, "three", createArchive("9012", NOW));
+		assertThat(cache.get(this.metadata, "one")).isNotNull();
+		assertThat(cache.get(this.metadata, "three")).isNotNull();
+		assertThat(cache.getSize()).isEqualTo(8);
+	}
+
+	@Test
+	void archiveIsCreatedUsingTheClockOfTheCache() {
+		ProjectArchiveCache cache = createCache(1024, null);
+		Archive archive = cache.createArchive("test".getBytes(StandardCharsets.UTF_8), "application/zip",
+				"attachment; filename=\"demo.zip\"");
+		assertThat(archive.getCreatedAt()).isEqualTo(NOW);
+	}
+
+	@Test
+	void leastRecentlyUsedArchiveIsEvictedWhenMaxSizeIsExceeded() {
+		ProjectArchiveCache cache = createCache(10, null);
+		cache.put(this.metadata, "one", createArchive("1234", NOW));
+		cache.put(this.metadata, "two", createArchive("5678", NOW));
+		assertThat(cache.get(this.metadata, "one")).isNotNull();
+		cache.put(this.metadata, "three", createArchive("9012", NOW));
+		assertThat(cache.get(this.metadata, "one")).isNotNull();
+		assertThat(cache.get(this.metadata, "two")).isNull();
+		assertThat(cache.get(this.metadata, "three")).isNotNull();
+		assertThat(cache.getSize()).isEqualTo(8);
+	}
+
+	@Test
+	void archiveEvictedFromMemoryIsReloadedFromDisk() {
+		ProjectArchiveCache cache = createCache(10, this.directory);
+		Archive archive = createArchive("1234", NOW);
+		cache.put(this.metadata, "one", archive);
+		cache.put(this.metadata, "two", createArchive("5678", NOW));
+		cache.put(this.metadata, "three", createArchive("9012", NOW));
+		Archive reloaded = cache.get(this.metadata, "one");
+		assertThat(reloaded).isNotNull().isNotSameAs(archive);
+		assertThat(reloaded.getContent()).isEqualTo(archive.getContent());
+		assertThat(reloaded.getContentType()).isEqualTo(archive.getContentType());
+		assertThat(reloaded.getContentDisposition()).isEqualTo(archive.getContentDisposition());
+		assertThat(reloaded.getEtag()).isEqualTo(archive.getEtag());
+		assertThat(reloaded.getCreatedAt()).isEqualTo(archive.getCreatedAt());
+	}
+
+	@Test
+	void archivesOnDiskAreInvalidatedWhenMetadataIsRefreshed() {
+		ProjectArchiveCache cache = createCache(10, this.directory);
+		cache.put(this.metadata, "one", createArchive("1234", NOW));
+		assertThat(this.directory.resolve("one.archive")).isRegularFile();
+		assertThat(cache.get(createMetadata("4.1.1"), "one")).isNull();
+		assertThat(this.directory.resolve("one.archive")).doesNotExist();
+	}
+
+	@Test
+	void leastRecentlyUsedArchiveIsEvictedFromDiskWhenMaxDiskSizeIsExceeded() throws IOException {
+		createCache(4, this.directory).put(this.metadata, "size", createArchive("1234", NOW));
+		long fileSize = Files.size(this.directory.resolve("size.archive"));
+		Files.delete(this.directory.resolve("size.archive"));
+		ProjectArchiveCache cache = createCache(4, this.directory, (fileSize * 2) + (fileSize / 2));
+		cache.put(this.metadata, "one", createArchive("1234", NOW));
+		cache.put(this.metadata, "two", createArchive("5678", NOW));
+		assertThat(cache.get(this.metadata, "one")).isNotNull();
+		cache.put(this.metadata, "three", createArchive("9012", NOW));
+		assertThat(this.directory.resolve("two.archive")).doesNotExist();
+		assertThat(this.directory.resolve("one.archive")).isRegularFile();
+		assertThat(this.directory.resolve("three.archive")).isRegularFile();
+	}
+
+	@Test
+	void archivesOnDiskAreAvailableAfterRestart() {
+		Archive archive = createArchive("1234", NOW);
+		createCache(10, this.directory).put(this.metadata, "one", archive);
+		Archive reloaded = createCache(10, this.directory).get(createMetadata("4.1.0"), "one");
+		assertThat(reloaded).isNotNull();
+		assertThat(reloaded.getContent()).isEqualTo(archive.getContent());
+	}
+
+	@Test
+	void archivesOnDiskAreInvalidatedAfterRestartWithDifferentMetadata() {
+		createCache(10, this.directory).put(this.metadata, "one", createArchive("1234", NOW));
+		assertThat(createCache(10, this.directory).get(createMetadata("4.1.1"), "one")).isNull();
+		assertThat(this.directory.resolve("one.archive")).doesNotExist();
+	}
+
+	@Test
+	void archivesOnDiskAreInvalidatedAfterRestartWithDifferentApplicationVersion() {
+		createCache(10, this.directory).put(this.metadata, "one", createArchive("1234", NOW));
+		ProjectArchiveCache cache = new ProjectArchiveCache(10, Duration.ofMinutes(10), "2.0.0", this.directory, 1024,
+				this.meterRegistry, Clock.fixed(NOW, ZoneOffset.UTC));
+		assertThat(cache.get(this.metadata, "one")).isNull();
+		assertThat(this.directory.resolve("one.archive")).doesNotExist();
+	}
+
+	@Test
+	void expiredArchiveOnDiskIsRemoved() {
+		createCache(10, this.directory).put(this.metadata, "one",
+				createArchive("1234", NOW.minus(Duration.ofMinutes(11))));
+		assertThat(createCache(10, this.directory).get(this.metadata, "one")).isNull();
+		assertThat(this.directory.resolve("one.archive")).doesNotExist();
+	}
+
+	private ProjectArchiveCache createCache(long maxSize, Path directory) {
+		return createCache(maxSize, directory, 1024);
+	}
+
+	private ProjectArchiveCache createCache(long maxSize, Path directory, long maxDiskSize) {
+		return new ProjectArchiveCache(maxSize, Duration.ofMinutes(10), "1.0.0", directory, maxDiskSize,
+				this.meterRegistry, Clock.fixed(NOW, ZoneOffset.UTC));
+	}
+
+	private static InitializrMetadata createMetadata(String bootVersion) {
+		return new InitializrMetadataTestBuilder().addBootVersion(bootVersion, true).build();
+	}
+
+	private Archive createArchive(String content, Instant createdAt) {
+		return Archive.of(content.getBytes(StandardCharsets.UTF_8), "application/zip",
+				"attachment; filename=\"demo.zip\"", createdAt);
+	}
+
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright 2012 - present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site.support;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.spring.initializr.generator.buildsystem.maven.MavenBuild;
+import io.spring.initializr.generator.buildsystem.maven.MavenBuildSystem;
+import io.spring.initializr.generator.project.MutableProjectDescription;
+import io.spring.initializr.generator.project.ProjectDescriptionCustomizer;
+import io.spring.initializr.generator.project.contributor.ProjectContributor;
+import io.spring.initializr.generator.spring.build.BuildCustomizer;
+import io.spring.initializr.generator.version.Version;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link ProjectGenerationTimings}.
+ *
+ * @author agent
+ */
+class ProjectGenerationTimingsTests {
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	private final ProjectGenerationTimings timings = new ProjectGenerationTimings(this.meterRegistry);
+
+	private final MutableProjectDescription description = createDescription();
+
+	@Test
+	void instrumentClassKeepsItsType() {
+		Object instrumented = this.timings.instrument(new TestBuildCustomizer(), () -> this.description);
+		assertThat(instrumented).isInstanceOf(TestBuildCustomizer.class);
+	}
+
+	@Test
+	void instrumentClassRecordsInvocation() {
+		TestBuildCustomizer customizer = (TestBuildCustomizer) this.timings.instrument(new TestBuildCustomizer(),
+				() -> this.description);
+		customizer.customize(new MavenBuild());
+		Timer timer = this.meterRegistry.get("start.generation.components")
+			.tag("type", "BuildCustomizer")
+			.tag("class", TestBuildCustomizer.class.getName())
+			.tag("boot.version", "3.5.0")
+			.tag("build.system", "maven")
+			.timer();
+		assertThat(timer.count()).isOne();
+	}
+
+	@Test
+	void instrumentComponentsOfSeveralGenerationsRecordsInSameTimer() {
+		TestBuildCustomizer customizer = (TestBuildCustomizer) this.timings.instrument(new TestBuildCustomizer(),
+				() -> this.description);
+		TestBuildCustomizer anotherCustomizer = (TestBuildCustomizer) this.timings
+			.instrument(new TestBuildCustomizer(), () -> this.description);
+		customizer.customize(new MavenBuild());
+		anotherCustomizer.customize(new MavenBuild());
+		Timer timer = this.meterRegistry.get("start.generation.components")
+			.tag("class", TestBuildCustomizer.class.getName())
+			.timer();
+		assertThat(timer.count()).isEqualTo(2);
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void instrumentLambdaRecordsInvocationWithDeclaringClass() {
+		List<String> customized = new ArrayList<>();
+		BuildCustomizer<MavenBuild> lambda = (build) -> customized.add("test");
+		BuildCustomizer<MavenBuild> customizer = (BuildCustomizer<MavenBuild>) this.timings.instrument(lambda,
+				() -> this.description);
+		customizer.customize(new MavenBuild());
+		assertThat(customized).containsExactly("test");
+		assertThat(this.meterRegistry.get("start.generation.components")
+			.tag("class", ProjectGenerationTimingsTests.class.getName())
+			.timer()
+			.count()).isOne();
+	}
+
+	@Test
+	void instrumentProjectDescriptionCustomizerUsesDescriptionArgument() {
+		ProjectDescriptionCustomizer customizer = (ProjectDescriptionCustomizer) this.timings
+			.instrument(new TestProjectDescriptionCustomizer(), () -> null);
+		customizer.customize(this.description);
+		assertThat(this.meterRegistry.get("start.generation.components")
+			.tag("type", "ProjectDescriptionCustomizer")
+			.tag("boot.version", "3.5.0")
+			.timer()
+			.count()).isOne();
+	}
+
+	@Test
+	void instrumentDoesNotRecordOtherMethods() {
+		ProjectContributor contributor = (ProjectContributor) this.timings.instrument(new TestProjectContributor(),
+				() -> this.description);
+		assertThat(contributor.getOrder()).isEqualTo(42);
+		assertThat(this.meterRegistry.find("start.generation.components").timer()).isNull();
+	}
+
+	@Test
+	void instrumentFinalClassReturnsComponent() {
+		FinalProjectContributor contributor = new FinalProjectContributor();
+		assertThat(this.timings.instrument(contributor, () -> this.description)).isSameAs(contributor);
+	}
+
+	@Test
+	void instrumentOtherTypeReturnsComponent() {
+		Object component = new Object();
+		assertThat(this.timings.instrument(component, () -> this.description)).isSameAs(component);
+	}
+
+	private static MutableProjectDescription createDescription() {
+		MutableProjectDescription description = new MutableProjectDescription();
+		description.setPlatformVersion(Version.parse("3.5.0"));
+		description.setBuildSystem(new MavenBuildSystem());
+		return description;
+	}
+
+	static class TestBuildCustomizer implements BuildCustomizer<MavenBuild> {
+
+		@Override
+		public void customize(MavenBuild build) {
+		}
+
+	}
+
+	static class TestProjectDescriptionCustomizer implements ProjectDescriptionCustomizer {
+
+		@Override
+		public void customize(MutableProjectDescription description) {
+		}
+
+	}
+
+	static class TestProjectContributor implements ProjectContributor {
+
+		@Override
+		public void contribute(Path projectRoot) {
+		}
+
+		@Override
+		public int getOrder() {
+			return 42;
+		}
+
+	}
+
+	static final class FinalProjectContributor implements ProjectContributor {
+
+		@Override
+		public void contribute(Path projectRoot) {
+		}
+
+	}
+
+}
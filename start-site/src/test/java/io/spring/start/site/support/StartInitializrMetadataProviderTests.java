@@ -0,0 +1,133 @@
+/*
+ * Copyright 2012 - present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site.support;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.spring.initializr.generator.test.InitializrMetadataTestBuilder;
+import io.spring.initializr.metadata.DefaultMetadataElement;
+import io.spring.initializr.metadata.InitializrMetadata;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Tests for {@link StartInitializrMetadataProvider}.
+ *
+ * @author agent
+ */
+class StartInitializrMetadataProviderTests {
+
+	private final StartInitializrMetadataUpdateStrategy updateStrategy = mock(
+			StartInitializrMetadataUpdateStrategy.class);
+
+	private final AtomicInteger metadataInstances = new AtomicInteger();
+
+	@Test
+	void initialMetadataIsUpdatedWithFetchedVersions() {
+		given(this.updateStrategy.fetchSpringBootVersions(any())).willReturn(bootVersions("4.1.0"));
+		StartInitializrMetadataProvider provider = createProvider(new SyncTaskExecutor(), Duration.ofMinutes(10));
+		InitializrMetadata metadata = provider.get();
+		assertThat(metadata.getBootVersions().getContent()).singleElement()
+			.satisfies((element) -> assertThat(element.getId()).isEqualTo("4.1.0"));
+		assertThat(provider.get()).isSameAs(metadata);
+		verify(this.updateStrategy, times(1)).fetchSpringBootVersions(any());
+	}
+
+	@Test
+	void initialMetadataIsUsedWhenVersionsCannotBeFetched() {
+		StartInitializrMetadataProvider provider = createProvider(new SyncTaskExecutor(), Duration.ofMinutes(10));
+		InitializrMetadata metadata = provider.get();
+		assertThat(metadata.getBootVersions().getContent()).singleElement()
+			.satisfies((element) -> assertThat(element.getId()).isEqualTo("4.0.0"));
+	}
+
+	@Test
+	void staleMetadataIsServedWhileRefreshing() {
+		given(this.updateStrategy.fetchSpringBootVersions(any())).willReturn(bootVersions("4.1.0"))
+			.willReturn(bootVersions("4.1.1"));
+		List<Runnable> tasks = new ArrayList<>();
+		StartInitializrMetadataProvider provider = createProvider(tasks::add, Duration.ZERO);
+		InitializrMetadata metadata = provider.get();
+		assertThat(provider.get()).isSameAs(metadata);
+		assertThat(provider.get()).isSameAs(metadata);
+		assertThat(tasks).hasSize(1);
+		tasks.get(0).run();
+		InitializrMetadata refreshedMetadata = provider.get();
+		assertThat(refreshedMetadata).isNotSameAs(metadata);
+		assertThat(refreshedMetadata.getBootVersions().getDefault().getId()).isEqualTo("4.1.1");
+		assertThat(metadata.getBootVersions().getDefault().getId()).isEqualTo("4.1.0");
+	}
+
+	@Test
+	void unchangedVersionsKeepCurrentMetadata() {
+		given(this.updateStrategy.fetchSpringBootVersions(any())).willReturn(bootVersions("4.1.0")).willReturn(null);
+		StartInitializrMetadataProvider provider = createProvider(new SyncTaskExecutor(), Duration.ZERO);
+		InitializrMetadata metadata = provider.get();
+		assertThat(provider.get()).isSameAs(metadata);
+		assertThat(provider.get()).isSameAs(metadata);
+		assertThat(this.metadataInstances).hasValue(1);
+	}
+
+	@Test
+	void snapshotIsBuiltWhenMetadataIsSwapped() {
+		given(this.updateStrategy.fetchSpringBootVersions(any())).willReturn(bootVersions("4.1.0"))
+			.willReturn(bootVersions("4.1.1"));
+		List<Runnable> tasks = new ArrayList<>();
+		StartInitializrMetadataProvider provider = createProvider(tasks::add, Duration.ZERO);
+		InitializrMetadata metadata = provider.get();
+		InitializrMetadataSnapshot snapshot = provider.getSnapshot(metadata);
+		assertThat(snapshot.getMetadata()).isSameAs(metadata);
+		assertThat(provider.getSnapshot(metadata)).isSameAs(snapshot);
+		tasks.get(0).run();
+		InitializrMetadata refreshedMetadata = provider.get();
+		InitializrMetadataSnapshot refreshedSnapshot = provider.getSnapshot(refreshedMetadata);
+		assertThat(refreshedSnapshot.getMetadata()).isSameAs(refreshedMetadata);
+		assertThat(provider.getSnapshot(refreshedMetadata)).isSameAs(refreshedSnapshot);
+		assertThat(provider.getSnapshot(metadata).getMetadata()).isSameAs(metadata);
+	}
+
+	private StartInitializrMetadataProvider createProvider(TaskExecutor taskExecutor, Duration refreshInterval) {
+		return new StartInitializrMetadataProvider(this::createMetadata, this.updateStrategy, taskExecutor,
+				refreshInterval);
+	}
+
+	private InitializrMetadata createMetadata() {
+		this.metadataInstances.incrementAndGet();
+		return new InitializrMetadataTestBuilder().addBootVersion("4.0.0", true).build();
+	}
+
+	private static List<DefaultMetadataElement> bootVersions(String version) {
+		DefaultMetadataElement element = new DefaultMetadataElement();
+		element.setId(version);
+		element.setName(version);
+		element.setDefault(true);
+		return new ArrayList<>(List.of(element));
+	}
+
+}
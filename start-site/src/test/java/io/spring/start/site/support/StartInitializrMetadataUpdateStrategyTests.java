@@ -34,6 +34,7 @@ import org.springframework.test.web.client.MockRestServiceServer;
 import org.springframework.web.client.RestTemplate;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
 import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
 import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
 import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
@@ -77,6 +78,53 @@ class StartInitializrMetadataUpdateStrategyTests {
 		assertBootVersion(updatedBootVersions.get(3), "4.0.7", false);
 	}
 
+	@Test
+	void conditionalRequestIsSentOnRefresh() {
+		String url = "https://example.com/releases";
+		HttpHeaders headers = new HttpHeaders();
+		headers.setContentType(MediaType.APPLICATION_JSON);
+		headers.setETag("\"1234\"");
+		this.mockServer.expect(requestTo(url))
+			.andExpect(method(HttpMethod.GET))
+			.andRespond(withStatus(HttpStatus.OK).body(new ClassPathResource("metadata/springio/spring-boot.json"))
+				.headers(headers));
+		this.mockServer.expect(requestTo(url))
+			.andExpect(header(HttpHeaders.IF_NONE_MATCH, "\"1234\""))
+			.andRespond(withStatus(HttpStatus.NOT_MODIFIED));
+		StartInitializrMetadataUpdateStrategy provider = new StartInitializrMetadataUpdateStrategy(this.restTemplate,
+				jsonMapper);
+		assertThat(provider.fetchSpringBootVersions(url)).hasSize(4);
+		assertThat(provider.fetchSpringBootVersions(url)).isNull();
+		this.mockServer.verify();
+	}
+
+	@Test
+	void identicalPayloadIsIgnored() {
+		String url = "https://example.com/releases";
+		expectJson(url, "metadata/springio/spring-boot.json");
+		expectJson(url, "metadata/springio/spring-boot.json");
+		StartInitializrMetadataUpdateStrategy provider = new StartInitializrMetadataUpdateStrategy(this.restTemplate,
+				jsonMapper);
+		assertThat(provider.fetchSpringBootVersions(url)).hasSize(4);
+		assertThat(provider.fetchSpringBootVersions(url)).isNull();
+		this.mockServer.verify();
+	}
+
+	@Test
+	void unchangedPayloadLeavesMetadataUntouched() {
+		InitializrMetadata metadata = new InitializrMetadataTestBuilder().addBootVersion("0.0.9.RELEASE", true)
+			.build();
+		String url = metadata.getConfiguration().getEnv().getSpringBootMetadataUrl();
+		expectJson(url, "metadata/springio/spring-boot.json");
+		expectJson(url, "metadata/springio/spring-boot.json");
+		StartInitializrMetadataUpdateStrategy provider = new StartInitializrMetadataUpdateStrategy(this.restTemplate,
+				jsonMapper);
+		DefaultMetadataElement latest = provider.update(metadata).getBootVersions().getContent().get(0);
+		assertThat(latest.getId()).isEqualTo("4.1.1-SNAPSHOT");
+		assertThat(provider.update(metadata).getBootVersions().getContent().get(0)).isSameAs(latest);
+		this.mockServer.verify();
+	}
+
 	@Test
 	void noVersionsAreHandled() {
 		StartInitializrMetadataUpdateStrategy provider = new StartInitializrMetadataUpdateStrategy(this.restTemplate,
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2012 - present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site.support;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.spring.initializr.generator.project.MutableProjectDescription;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import org.springframework.util.FileSystemUtils;
+import org.springframework.util.unit.DataSize;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link StartProjectDirectoryFactory}.
+ *
+ * @author agent
+ */
+class StartProjectDirectoryFactoryTests {
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	@TempDir
+	private Path directory;
+
+	@Test
+	void projectDirectoryIsCreatedInDirectory() throws IOException {
+		StartProjectDirectoryFactory factory = new StartProjectDirectoryFactory(this.directory, DataSize.ofBytes(0),
+				this.meterRegistry);
+		Path projectDirectory = factory.createProjectDirectory(new MutableProjectDescription());
+		assertThat(projectDirectory).isDirectory().hasParent(this.directory);
+		assertThat(count("directory")).isOne();
+		assertThat(count("fallback")).isZero();
+	}
+
+	@Test
+	void projectDirectoryIsCreatedInTemporaryDirectoryWhenSpaceIsLow() throws IOException {
+		StartProjectDirectoryFactory factory = new StartProjectDirectoryFactory(this.directory,
+				DataSize.ofBytes(Long.MAX_VALUE), this.meterRegistry);
+		Path projectDirectory = factory.createProjectDirectory(new MutableProjectDescription());
+		try {
+			assertThat(projectDirectory).isDirectory().hasParent(Path.of(System.getProperty("java.io.tmpdir")));
+			assertThat(count("directory")).isZero();
+			assertThat(count("fallback")).isOne();
+		}
+		finally {
+			FileSystemUtils.deleteRecursively(projectDirectory);
+		}
+	}
+
+	private double count(String location) {
+		return this.meterRegistry.get("start.generation.directories").tag("location", location).counter().count();
+	}
+
+}
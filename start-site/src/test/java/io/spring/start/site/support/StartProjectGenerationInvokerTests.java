@@ -0,0 +1,89 @@
+/*
+ * Copyright 2012 - present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site.support;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.spring.initializr.metadata.InitializrMetadataProvider;
+import io.spring.initializr.web.project.DefaultProjectRequestToDescriptionConverter;
+import io.spring.initializr.web.project.ProjectRequest;
+import io.spring.initializr.web.project.WebProjectRequest;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.core.type.classreading.CachingMetadataReaderFactory;
+import org.springframework.core.type.classreading.MetadataReader;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link StartProjectGenerationInvoker}.
+ *
+ * @author agent
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class StartProjectGenerationInvokerTests {
+
+	@Autowired
+	private ApplicationContext applicationContext;
+
+	@Autowired
+	private InitializrMetadataProvider metadataProvider;
+
+	@Test
+	void sharedMetadataReaderFactoryIsUsedByEachGenerationContext() {
+		CountingMetadataReaderFactory metadataReaderFactory = new CountingMetadataReaderFactory();
+		StartProjectGenerationInvoker<ProjectRequest> invoker = new StartProjectGenerationInvoker<>(
+				this.applicationContext, new DefaultProjectRequestToDescriptionConverter(), metadataReaderFactory);
+		Path firstProject = invoker.invokeProjectStructureGeneration(createProjectRequest()).getRootDirectory();
+		assertThat(firstProject.resolve("pom.xml")).isRegularFile();
+		int lookups = metadataReaderFactory.lookups.get();
+		assertThat(lookups).isPositive();
+		Path secondProject = invoker.invokeProjectStructureGeneration(createProjectRequest()).getRootDirectory();
+		assertThat(secondProject.resolve("pom.xml")).isRegularFile();
+		assertThat(metadataReaderFactory.lookups.get()).isGreaterThan(lookups);
+		invoker.cleanTempFiles(firstProject);
+		invoker.cleanTempFiles(secondProject);
+	}
+
+	private ProjectRequest createProjectRequest() {
+		WebProjectRequest request = new WebProjectRequest();
+		request.initialize(this.metadataProvider.get());
+		request.setType("maven-project");
+		request.getDependencies().add("web");
+		return request;
+	}
+
+	static class CountingMetadataReaderFactory extends CachingMetadataReaderFactory {
+
+		private final AtomicInteger lookups = new AtomicInteger();
+
+		@Override
+		public MetadataReader getMetadataReader(String className) throws IOException {
+			this.lookups.incrementAndGet();
+			return super.getMetadataReader(className);
+		}
+
+	}
+
+}
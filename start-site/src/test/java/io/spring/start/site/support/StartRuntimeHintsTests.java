@@ -0,0 +1,111 @@
+/*
+ * Copyright 2012 - present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.spring.start.site.support;
+
+import io.spring.initializr.generator.condition.ConditionalOnRequestedDependency;
+import io.spring.initializr.metadata.Dependency;
+import io.spring.initializr.metadata.InitializrProperties;
+import io.spring.start.site.extension.build.maven.MavenProjectGenerationConfiguration;
+import io.spring.start.site.extension.dependency.activemq.ActiveMQProjectGenerationConfiguration;
+import org.ehcache.impl.copy.IdentityCopier;
+import org.ehcache.xml.model.ConfigType;
+import org.ehcache.xml.model.ObjectFactory;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.core.annotation.MergedAnnotations;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link StartRuntimeHints}.
+ *
+ * @author agent
+ */
+class StartRuntimeHintsTests {
+
+	private final RuntimeHints hints = registerHints();
+
+	@Test
+	void projectGenerationConfigurationsAreRegistered() {
+		assertThat(RuntimeHintsPredicates.reflection()
+			.onType(MavenProjectGenerationConfiguration.class)
+			.withMemberCategories(MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.INVOKE_DECLARED_METHODS))
+			.accepts(this.hints);
+		assertThat(RuntimeHintsPredicates.reflection().onType(ActiveMQProjectGenerationConfiguration.class))
+			.accepts(this.hints);
+	}
+
+	@Test
+	void conditionsOfProjectGenerationConfigurationsAreRegistered() {
+		Class<?>[] conditions = MergedAnnotations.from(ConditionalOnRequestedDependency.class)
+			.get(Conditional.class)
+			.getClassArray("value");
+		assertThat(conditions).isNotEmpty().allSatisfy((condition) -> assertThat(RuntimeHintsPredicates.reflection()
+			.onType(condition)
+			.withMemberCategory(MemberCategory.INVOKE_DECLARED_CONSTRUCTORS)).accepts(this.hints));
+		assertThat(RuntimeHintsPredicates.reflection().onType(ConditionalOnRequestedDependency.class))
+			.accepts(this.hints);
+	}
+
+	@Test
+	void templatesAreRegistered() {
+		assertThat(RuntimeHintsPredicates.resource().forResource("templates/graalvm.mustache")).accepts(this.hints);
+	}
+
+	@Test
+	void metadataIsRegistered() {
+		assertThat(RuntimeHintsPredicates.resource().forResource("initializr-metadata.yml")).accepts(this.hints);
+		assertThat(RuntimeHintsPredicates.resource().forResource("initializr-metadata.bin")).accepts(this.hints);
+		assertThat(RuntimeHintsPredicates.reflection().onType(InitializrProperties.class)).accepts(this.hints);
+		assertThat(RuntimeHintsPredicates.reflection().onType(Dependency.class)).accepts(this.hints);
+	}
+
+	@Test
+	void ehcacheConfigurationIsRegistered() {
+		assertThat(RuntimeHintsPredicates.resource().forResource("ehcache.xml")).accepts(this.hints);
+		assertThat(RuntimeHintsPredicates.reflection().onType(IdentityCopier.class))
+			.accepts(this.hints);
+	}
+
+	@Test
+	void ehcacheXmlModelIsRegistered() {
+		assertThat(RuntimeHintsPredicates.reflection()
+			.onType(ConfigType.class)
+			.withMemberCategories(MemberCategory.ACCESS_DECLARED_FIELDS, MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+					MemberCategory.INVOKE_DECLARED_METHODS))
+			.accepts(this.hints);
+		assertThat(RuntimeHintsPredicates.reflection().onType(ObjectFactory.class)).accepts(this.hints);
+	}
+
+	@Test
+	void mavenSuperPomIsRegistered() {
+		assertThat(RuntimeHintsPredicates.resource().forResource("org/apache/maven/model/pom-4.0.0.xml"))
+			.accepts(this.hints);
+	}
+
+	private static RuntimeHints registerHints() {
+		RuntimeHints hints = new RuntimeHints();
+		new StartRuntimeHints().registerHints(hints, StartRuntimeHintsTests.class.getClassLoader());
+		return hints;
+	}
+
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2012 - present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site.support;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+
+import com.samskivert.mustache.Template;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link StartTemplateRenderer}.
+ *
+ * @author agent
+ */
+class StartTemplateRendererTests {
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	@Test
+	void templatesArePrecompiled() throws IOException {
+		ConcurrentMapCache templatesCache = new ConcurrentMapCache("templates");
+		new StartTemplateRenderer("classpath:/templates", templatesCache, this.meterRegistry, Set.of())
+			.afterPropertiesSet();
+		assertThat(templatesCache.getNativeCache()).containsKey("okta");
+		assertThat(templatesCache.get("okta", Template.class)).isNotNull();
+	}
+
+	@Test
+	void precompiledTemplateIsUsedToRender() throws IOException {
+		ConcurrentMapCache templatesCache = new ConcurrentMapCache("templates");
+		StartTemplateRenderer renderer = new StartTemplateRenderer("classpath:/templates", templatesCache,
+				this.meterRegistry, Set.of());
+		renderer.afterPropertiesSet();
+		Template template = templatesCache.get("okta", Template.class);
+		assertThat(renderer.render("okta", Map.of())).isNotEmpty();
+		assertThat(templatesCache.get("okta", Template.class)).isSameAs(template);
+	}
+
+	@Test
+	void renderRecordsRenderTime() throws IOException {
+		StartTemplateRenderer renderer = createRenderer(Set.of());
+		renderer.render("okta", Map.of());
+		renderer.render("okta", Map.of());
+		assertThat(renderCount("okta")).isEqualTo(2);
+	}
+
+	@Test
+	void renderOfMemoizedTemplateWithSameModelRendersOnce() throws IOException {
+		StartTemplateRenderer renderer = createRenderer(Set.of("okta"));
+		String first = renderer.render("okta", Map.of());
+		String second = renderer.render("okta", Map.of());
+		assertThat(second).isSameAs(first);
+		assertThat(renderCount("okta")).isOne();
+	}
+
+	@Test
+	void renderOfMemoizedTemplateWithDifferentModelRendersEachTime() throws IOException {
+		StartTemplateRenderer renderer = createRenderer(Set.of("okta"));
+		renderer.render("okta", Map.of("test", "one"));
+		renderer.render("okta", Map.of("test", "two"));
+		assertThat(renderCount("okta")).isEqualTo(2);
+	}
+
+	@Test
+	void renderOfMemoizedTemplateEvictsLeastRecentlyUsedFragment() throws IOException {
+		StartTemplateRenderer renderer = createRenderer(Set.of("okta"));
+		for (int i = 0; i < StartTemplateRenderer.MAX_FRAGMENTS; i++) {
+			renderer.render("okta", Map.of("test", i));
+		}
+		renderer.render("okta", Map.of("test", 0));
+		renderer.render("okta", Map.of("test", StartTemplateRenderer.MAX_FRAGMENTS));
+		assertThat(renderCount("okta")).isEqualTo(StartTemplateRenderer.MAX_FRAGMENTS + 1);
+		renderer.render("okta", Map.of("test", 0));
+		assertThat(renderCount("okta")).isEqualTo(StartTemplateRenderer.MAX_FRAGMENTS + 1);
+		renderer.render("okta", Map.of("test", 1));
+		assertThat(renderCount("okta")).isEqualTo(StartTemplateRenderer.MAX_FRAGMENTS + 2);
+	}
+
+	private StartTemplateRenderer createRenderer(Set<String> memoizedTemplates) {
+		return new StartTemplateRenderer("classpath:/templates", new ConcurrentMapCache("templates"),
+				this.meterRegistry, memoizedTemplates);
+	}
+
+	private long renderCount(String templateName) {
+		return this.meterRegistry.get("start.templates.render").tag("template", templateName).timer().count();
+	}
+
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2012 - present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.spring.start.site.support;
+
+import io.spring.initializr.metadata.InitializrMetadataProvider;
+import io.spring.initializr.web.project.DefaultProjectRequestToDescriptionConverter;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link StartupTrainingRun}.
+ *
+ * @author agent
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class StartupTrainingRunTests {
+
+	@Autowired
+	private ApplicationContext applicationContext;
+
+	@Autowired
+	private InitializrMetadataProvider metadataProvider;
+
+	@Test
+	void trainGeneratesEachProject() {
+		StartupTrainingRun trainingRun = new StartupTrainingRun(this.metadataProvider,
+				new StartProjectGenerationInvoker<>(this.applicationContext,
+						new DefaultProjectRequestToDescriptionConverter()),
+				1);
+		assertThat(trainingRun.train()).isEqualTo(12);
+	}
+
+}
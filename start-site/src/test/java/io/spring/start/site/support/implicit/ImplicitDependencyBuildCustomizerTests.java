@@ -59,6 +59,20 @@ class ImplicitDependencyBuildCustomizerTests {
 		verifyNoInteractions(buildCustomizer);
 	}
 
+	@Test
+	void customizerMatchingDependencyAddedByPreviousCustomizerIsInvoked() {
+		Consumer<Build> buildCustomizer = mockBuildCustomizer();
+		List<ImplicitDependency> dependencies = List.of(
+				new Builder().matchAnyDependencyIds("test")
+					.customizeBuild((build) -> build.dependencies().add("added", mock(Dependency.class)))
+					.build(),
+				new Builder().matchAllDependencyIds("test", "added").customizeBuild(buildCustomizer).build());
+		Build build = new MavenBuild();
+		build.dependencies().add("test", mock(Dependency.class));
+		new ImplicitDependencyBuildCustomizer(dependencies).customize(build);
+		verify(buildCustomizer).accept(build);
+	}
+
 	@SuppressWarnings("unchecked")
 	private Consumer<Build> mockBuildCustomizer() {
 		return mock(Consumer.class);
@@ -0,0 +1,138 @@
+/*
+ * Copyright 2012 - present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site.support.implicit;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+import io.spring.initializr.generator.buildsystem.Build;
+import io.spring.initializr.generator.buildsystem.Dependency;
+import io.spring.initializr.generator.buildsystem.maven.MavenBuild;
+import io.spring.initializr.generator.spring.documentation.HelpDocument;
+import io.spring.start.site.support.implicit.ImplicitDependency.Builder;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Tests for {@link ImplicitDependencyMatcher}.
+ *
+ * @author agent
+ */
+class ImplicitDependencyMatcherTests {
+
+	private final HelpDocument document = mock(HelpDocument.class);
+
+	@Test
+	void implicitDependencyWithNoMatchingDependencyIdIsNotEvaluated() {
+		CountingPredicate predicate = new CountingPredicate();
+		ImplicitDependencyMatcher matcher = createMatcher(
+				new Builder().matchAnyDependencyIds("test").match(predicate).customizeBuild((build) -> {
+				}).build());
+		matcher.customize(createBuild("another"));
+		assertThat(predicate.invocations).hasValue(0);
+	}
+
+	@Test
+	void implicitDependencyWithNoDependencyIdIsAlwaysEvaluated() {
+		CountingPredicate predicate = new CountingPredicate();
+		ImplicitDependencyMatcher matcher = createMatcher(new Builder().match(predicate).customizeBuild((build) -> {
+		}).build());
+		matcher.customize(createBuild("another"));
+		assertThat(predicate.invocations).hasValue(1);
+	}
+
+	@Test
+	void implicitDependencyIsEvaluatedOnceWhenBuildIsUnchanged() {
+		CountingPredicate predicate = new CountingPredicate();
+		Consumer<HelpDocument> helpDocumentCustomizer = mockHelpDocumentCustomizer();
+		ImplicitDependencyMatcher matcher = createMatcher(new Builder().matchAnyDependencyIds("test")
+			.match(predicate)
+			.customizeBuild((build) -> {
+			})
+			.customizeHelpDocument(helpDocumentCustomizer)
+			.build());
+		Build build = createBuild("test");
+		matcher.customize(build);
+		matcher.customize(this.document, build);
+		verify(helpDocumentCustomizer).accept(this.document);
+		assertThat(predicate.invocations).hasValue(1);
+	}
+
+	@Test
+	void implicitDependencyIsEvaluatedAgainWhenDependenciesHaveChanged() {
+		CountingPredicate predicate = new CountingPredicate();
+		Consumer<HelpDocument> helpDocumentCustomizer = mockHelpDocumentCustomizer();
+		ImplicitDependencyMatcher matcher = createMatcher(new Builder().matchAnyDependencyIds("test")
+			.match(predicate)
+			.customizeBuild((build) -> {
+			})
+			.customizeHelpDocument(helpDocumentCustomizer)
+			.build());
+		Build build = createBuild("test");
+		matcher.customize(build);
+		build.dependencies().add("another", mock(Dependency.class));
+		matcher.customize(this.document, build);
+		verify(helpDocumentCustomizer).accept(this.document);
+		assertThat(predicate.invocations).hasValue(2);
+	}
+
+	@Test
+	void implicitDependenciesAreAppliedInRegistrationOrder() {
+		StringBuilder order = new StringBuilder();
+		ImplicitDependencyMatcher matcher = createMatcher(
+				new Builder().matchAnyDependencyIds("second").customizeBuild((build) -> order.append("1")).build(),
+				new Builder().customizeBuild((build) -> order.append("2")).build(),
+				new Builder().matchAnyDependencyIds("first").customizeBuild((build) -> order.append("3")).build());
+		matcher.customize(createBuild("first", "second"));
+		assertThat(order).hasToString("123");
+	}
+
+	private ImplicitDependencyMatcher createMatcher(ImplicitDependency... dependencies) {
+		return ImplicitDependencyRegistry.of(List.of(dependencies)).matcher();
+	}
+
+	private Build createBuild(String... dependencyIds) {
+		Build build = new MavenBuild();
+		for (String dependencyId : dependencyIds) {
+			build.dependencies().add(dependencyId, mock(Dependency.class));
+		}
+		return build;
+	}
+
+	@SuppressWarnings("unchecked")
+	private Consumer<HelpDocument> mockHelpDocumentCustomizer() {
+		return mock(Consumer.class);
+	}
+
+	static class CountingPredicate implements Predicate<Build> {
+
+		private final AtomicInteger invocations = new AtomicInteger();
+
+		@Override
+		public boolean test(Build build) {
+			this.invocations.incrementAndGet();
+			return true;
+		}
+
+	}
+
+}
@@ -0,0 +1,204 @@
+/*
+ * Copyright 2012 - present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site.support.jfr;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.function.Consumer;
+
+import io.spring.initializr.metadata.InitializrMetadataProvider;
+import io.spring.initializr.versionresolver.MavenVersionResolver;
+import io.spring.initializr.web.project.DefaultProjectRequestToDescriptionConverter;
+import io.spring.initializr.web.project.ProjectGenerationInvoker;
+import io.spring.initializr.web.project.ProjectRequest;
+import io.spring.initializr.web.project.WebProjectRequest;
+import io.spring.start.site.SupportedBootVersion;
+import io.spring.start.site.support.EventRecordingProjectGenerationInvoker;
+import io.spring.start.site.support.StartProjectGenerationInvoker;
+import jdk.jfr.Event;
+import jdk.jfr.Name;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for the JDK Flight Recorder events of the project generation lifecycle, using a
+ * local recording.
+ *
+ * @author agent
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class ProjectGenerationEventsTests {
+
+	private static final List<Class<? extends Event>> EVENT_TYPES = List.of(ProjectGenerationEvent.class,
+			ProjectDescriptionEvent.class, ContextRefreshEvent.class, BuildCustomizationEvent.class,
+			ProjectComponentEvent.class, ProjectArchiveEvent.class, VersionResolutionEvent.class);
+
+	@Autowired
+	private ApplicationContext applicationContext;
+
+	@Autowired
+	private InitializrMetadataProvider metadataProvider;
+
+	@Autowired
+	private MavenVersionResolver versionResolver;
+
+	@Autowired
+	private CacheManager cacheManager;
+
+	@TempDir
+	private Path tempDir;
+
+	@Test
+	void projectGenerationRecordsLifecycleEvents() throws IOException {
+		List<RecordedEvent> events = record(() -> {
+			StartProjectGenerationInvoker<ProjectRequest> invoker = new StartProjectGenerationInvoker<>(
+					this.applicationContext, new DefaultProjectRequestToDescriptionConverter());
+			Path projectDirectory = invoker.invokeProjectStructureGeneration(createProjectRequest())
+				.getRootDirectory();
+			Path archive = invoker.createDistributionFile(projectDirectory, ".zip");
+			Files.write(archive, new byte[128]);
+			invoker.cleanTempFiles(projectDirectory);
+		});
+		assertThat(events).anySatisfy(hasEvent(ProjectGenerationEvent.class, (event) -> {
+			assertThat(event.getString("projectType")).isEqualTo("maven-project");
+			assertThat(event.getInt("dependencyCount")).isEqualTo(2);
+		}));
+		assertThat(events).anySatisfy(hasEvent(ProjectDescriptionEvent.class, (event) -> {
+			assertThat(event.getString("bootVersion")).isNotNull();
+			assertThat(event.getInt("dependencyCount")).isEqualTo(2);
+		}));
+		assertThat(events).anySatisfy(hasEvent(ContextRefreshEvent.class,
+				(event) -> assertThat(event.getInt("beanCount")).isPositive()));
+		assertThat(events).anySatisfy(hasEvent(BuildCustomizationEvent.class, (event) -> {
+			assertThat(event.getString("buildSystem")).isEqualTo("maven");
+			assertThat(event.getInt("dependencyCount")).isGreaterThanOrEqualTo(2);
+		}));
+		assertThat(events).anySatisfy(hasEvent(ProjectComponentEvent.class, (event) -> {
+			assertThat(event.getString("componentType")).isEqualTo("IndependentProjectContributor");
+			assertThat(event.getString("componentClass")).endsWith("FlywayProjectContributor");
+			assertThat(event.getString("buildSystem")).isEqualTo("maven");
+		}));
+		assertThat(events).anySatisfy(hasEvent(ProjectArchiveEvent.class, (event) -> {
+			assertThat(event.getString("format")).isEqualTo(".zip");
+			assertThat(event.getLong("size")).isEqualTo(128);
+		}));
+	}
+
+	@Test
+	void buildGenerationRecordsLifecycleEvents() throws IOException {
+		List<RecordedEvent> events = record(() -> {
+			ProjectGenerationInvoker<ProjectRequest> invoker = new EventRecordingProjectGenerationInvoker<>(
+					this.applicationContext, new DefaultProjectRequestToDescriptionConverter());
+			assertThat(invoker.invokeBuildGeneration(createProjectRequest())).isNotEmpty();
+		});
+		assertThat(events).anySatisfy(hasEvent(ProjectGenerationEvent.class, (event) -> {
+			assertThat(event.getString("projectType")).isEqualTo("maven-project");
+			assertThat(event.getInt("dependencyCount")).isEqualTo(2);
+		}));
+		assertThat(events).anySatisfy(hasEvent(ProjectDescriptionEvent.class, (event) -> {
+			assertThat(event.getString("bootVersion")).isNotNull();
+			assertThat(event.getInt("dependencyCount")).isEqualTo(2);
+		}));
+	}
+
+	@Test
+	void archiveThatIsNotCleanedIsDiscardedByNextGeneration() throws IOException {
+		List<RecordedEvent> events = record(() -> {
+			ProjectGenerationInvoker<ProjectRequest> invoker = new EventRecordingProjectGenerationInvoker<>(
+					this.applicationContext, new DefaultProjectRequestToDescriptionConverter());
+			Path firstProject = invoker.invokeProjectStructureGeneration(createProjectRequest()).getRootDirectory();
+			invoker.createDistributionFile(firstProject, ".zip");
+			Path secondProject = invoker.invokeProjectStructureGeneration(createProjectRequest()).getRootDirectory();
+			invoker.cleanTempFiles(firstProject);
+			invoker.cleanTempFiles(secondProject);
+		});
+		assertThat(events).extracting((event) -> event.getEventType().getName())
+			.doesNotContain(ProjectArchiveEvent.class.getAnnotation(Name.class).value());
+	}
+
+	@Test
+	void versionResolutionRecordsCacheMissAndHit() throws IOException {
+		this.cacheManager.getCache("initializr.metadata").clear();
+		String version = SupportedBootVersion.latest().getVersion();
+		List<RecordedEvent> events = record(() -> {
+			this.versionResolver.resolvePlugins("org.springframework.boot", "spring-boot-dependencies", version);
+			this.versionResolver.resolvePlugins("org.springframework.boot", "spring-boot-dependencies", version);
+		});
+		List<RecordedEvent> resolutions = events.stream()
+			.filter((event) -> event.getEventType().getName().equals("io.spring.start.VersionResolution"))
+			.toList();
+		assertThat(resolutions).hasSize(2).allSatisfy((event) -> {
+			assertThat(event.getString("coordinates"))
+				.isEqualTo("org.springframework.boot:spring-boot-dependencies:" + version);
+			assertThat(event.getString("kind")).isEqualTo("plugins");
+		});
+		assertThat(resolutions.get(0).getBoolean("cacheHit")).isFalse();
+		assertThat(resolutions.get(1).getBoolean("cacheHit")).isTrue();
+		assertThat(resolutions.get(1).getInt("versionCount")).isPositive();
+	}
+
+	private List<RecordedEvent> record(RecordedAction action) throws IOException {
+		Path recordingFile = this.tempDir.resolve("recording.jfr");
+		try (Recording recording = new Recording()) {
+			EVENT_TYPES.forEach((eventType) -> recording.enable(eventType).withoutThreshold());
+			recording.start();
+			action.run();
+			recording.stop();
+			recording.dump(recordingFile);
+		}
+		return RecordingFile.readAllEvents(recordingFile);
+	}
+
+	private Consumer<RecordedEvent> hasEvent(Class<? extends Event> eventType, Consumer<RecordedEvent> assertions) {
+		String name = eventType.getAnnotation(Name.class).value();
+		return (event) -> {
+			assertThat(event.getEventType().getName()).isEqualTo(name);
+			assertions.accept(event);
+		};
+	}
+
+	private ProjectRequest createProjectRequest() {
+		WebProjectRequest request = new WebProjectRequest();
+		request.initialize(this.metadataProvider.get());
+		request.setType("maven-project");
+		request.getDependencies().add("web");
+		request.getDependencies().add("flyway");
+		return request;
+	}
+
+	@FunctionalInterface
+	private interface RecordedAction {
+
+		void run() throws IOException;
+
+	}
+
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2012 - present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site.web;
+
+import java.time.Duration;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.spring.start.site.support.GradientConcurrencyLimiter;
+import io.spring.start.site.support.GradientConcurrencyLimiter.Permit;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link GenerationAdmissionFilter}.
+ *
+ * @author agent
+ */
+class GenerationAdmissionFilterTests {
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	private final GradientConcurrencyLimiter limiter = new GradientConcurrencyLimiter(1, 1, 1, 0, Duration.ZERO);
+
+	private final GenerationAdmissionFilter filter = new GenerationAdmissionFilter(this.limiter,
+			Duration.ofSeconds(5), this.meterRegistry);
+
+	@Test
+	void generationRequestIsAdmittedAndReleased() throws Exception {
+		MockFilterChain filterChain = new MockFilterChain();
+		MockHttpServletResponse response = filter("/starter.zip", filterChain);
+		assertThat(response.getStatus()).isEqualTo(HttpServletResponse.SC_OK);
+		assertThat(filterChain.getRequest()).isNotNull();
+		assertThat(this.limiter.getInFlight()).isZero();
+	}
+
+	@Test
+	void generationRequestWhenSaturatedIsRejected() throws Exception {
+		Permit permit = this.limiter.tryAcquire();
+		MockFilterChain filterChain = new MockFilterChain();
+		MockHttpServletResponse response = filter("/pom.xml", filterChain);
+		assertThat(response.getStatus()).isEqualTo(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+		assertThat(response.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("5");
+		assertThat(filterChain.getRequest()).isNull();
+		assertThat(this.meterRegistry.get("start.generation.rejected").counter().count()).isOne();
+		permit.release();
+	}
+
+	@Test
+	void retryAfterIsRoundedUpToAtLeastOneSecond() throws Exception {
+		assertThat(retryAfter(Duration.ofMillis(1500))).isEqualTo("2");
+		assertThat(retryAfter(Duration.ofMillis(200))).isEqualTo("1");
+		assertThat(retryAfter(Duration.ZERO)).isEqualTo("1");
+	}
+
+	@Test
+	void metadataRequestWhenSaturatedIsAdmitted() throws Exception {
+		Permit permit = this.limiter.tryAcquire();
+		MockFilterChain filterChain = new MockFilterChain();
+		MockHttpServletResponse response = filter("/", filterChain);
+		assertThat(response.getStatus()).isEqualTo(HttpServletResponse.SC_OK);
+		assertThat(filterChain.getRequest()).isNotNull();
+		permit.release();
+	}
+
+	private String retryAfter(Duration retryAfter) throws Exception {
+		GenerationAdmissionFilter filter = new GenerationAdmissionFilter(this.limiter, retryAfter,
+				new SimpleMeterRegistry());
+		Permit permit = this.limiter.tryAcquire();
+		try {
+			MockHttpServletResponse response = new MockHttpServletResponse();
+			filter.doFilter(new MockHttpServletRequest("GET", "/starter.zip"), response, new MockFilterChain());
+			assertThat(response.getStatus()).isEqualTo(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+			return response.getHeader(HttpHeaders.RETRY_AFTER);
+		}
+		finally {
+			permit.release();
+		}
+	}
+
+	private MockHttpServletResponse filter(String path, MockFilterChain filterChain) throws Exception {
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		this.filter.doFilter(new MockHttpServletRequest("GET", path), response, filterChain);
+		return response;
+	}
+
+}
@@ -0,0 +1,255 @@
+/*
+ * Copyright 2012 - present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.spring.start.site.web;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.spring.initializr.metadata.InitializrMetadata;
+import io.spring.initializr.metadata.InitializrMetadataProvider;
+import io.spring.start.site.support.MetadataDocumentCache;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Tests for {@link MetadataDocumentCacheFilter}.
+ *
+ * @author agent
+ */
+class MetadataDocumentCacheFilterTests {
+
+	private static final String V2_3 = "application/vnd.initializr.v2.3+json";
+
+	private final InitializrMetadataProvider metadataProvider = mock(InitializrMetadataProvider.class);
+
+	private final RenderingFilterChain filterChain = new RenderingFilterChain();
+
+	private MetadataDocumentCacheFilter filter;
+
+	@BeforeEach
+	void setUp() {
+		given(this.metadataProvider.get()).willReturn(mock(InitializrMetadata.class));
+		this.filter = new MetadataDocumentCacheFilter(this.metadataProvider,
+				new MetadataDocumentCache(8, new SimpleMeterRegistry()));
+	}
+
+	@Test
+	void documentIsServedFromCache() throws Exception {
+		MockHttpServletResponse first = render(createRequest(V2_3));
+		MockHttpServletResponse second = render(createRequest(V2_3));
+		assertThat(this.filterChain.invocations).hasValue(1);
+		assertThat(second.getStatus()).isEqualTo(HttpServletResponse.SC_OK);
+		assertThat(second.getContentAsString()).isEqualTo(first.getContentAsString()).isEqualTo("document-1");
+		assertThat(second.getContentType()).isEqualTo(V2_3);
+		assertThat(second.getHeader(HttpHeaders.CACHE_CONTROL)).isEqualTo("max-age=7200");
+		assertThat(second.getHeaders(HttpHeaders.VARY)).containsExactly("Accept", HttpHeaders.ACCEPT_ENCODING);
+		assertThat(second.getHeader(HttpHeaders.ETAG)).isNotNull().isEqualTo(first.getHeader(HttpHeaders.ETAG));
+		assertThat(second.getHeader(HttpHeaders.CONTENT_ENCODING)).isNull();
+	}
+
+	@Test
+	void documentIsServedPrecompressedWhenGzipIsAccepted() throws Exception {
+		render(createRequest(V2_3));
+		MockHttpServletRequest request = createRequest(V2_3);
+		request.addHeader(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate, br");
+		MockHttpServletResponse response = render(request);
+		assertThat(response.getHeader(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+		try (InputStream content = new GZIPInputStream(new ByteArrayInputStream(response.getContentAsByteArray()))) {
+			assertThat(new String(content.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo("document-1");
+		}
+	}
+
+	@Test
+	void documentIsNotCompressedWhenGzipIsRefused() throws Exception {
+		render(createRequest(V2_3));
+		MockHttpServletRequest request = createRequest(V2_3);
+		request.addHeader(HttpHeaders.ACCEPT_ENCODING, "br, gzip;q=0");
+		MockHttpServletResponse response = render(request);
+		assertThat(response.getHeader(HttpHeaders.CONTENT_ENCODING)).isNull();
+		assertThat(response.getContentAsString()).isEqualTo("document-1");
+	}
+
+	@Test
+	void conditionalRequestWithMatchingEtagIsNotModified() throws Exception {
+		String etag = render(createRequest(V2_3)).getHeader(HttpHeaders.ETAG);
+		MockHttpServletRequest request = createRequest(V2_3);
+		request.addHeader(HttpHeaders.IF_NONE_MATCH, etag);
+		MockHttpServletResponse response = render(request);
+		assertThat(response.getStatus()).isEqualTo(HttpServletResponse.SC_NOT_MODIFIED);
+		assertThat(response.getContentLength()).isZero();
+		assertThat(this.filterChain.invocations).hasValue(1);
+	}
+
+	@Test
+	void documentIsRenderedAgainWhenMetadataChanges() throws Exception {
+		render(createRequest(V2_3));
+		given(this.metadataProvider.get()).willReturn(mock(InitializrMetadata.class));
+		MockHttpServletResponse response = render(createRequest(V2_3));
+		assertThat(this.filterChain.invocations).hasValue(2);
+		assertThat(response.getContentAsString()).isEqualTo("document-2");
+		render(createRequest(V2_3));
+		assertThat(this.filterChain.invocations).hasValue(2);
+	}
+
+	@Test
+	void requestWithDifferentAcceptHeaderIsNotServedFromCache() throws Exception {
+		render(createRequest(V2_3));
+		render(createRequest("application/vnd.initializr.v2.2+json"));
+		assertThat(this.filterChain.invocations).hasValue(2);
+	}
+
+	@Test
+	void requestWithDifferentAgentIsNotServedFromCache() throws Exception {
+		MockHttpServletRequest curl = createRequest("*/*");
+		curl.addHeader(HttpHeaders.USER_AGENT, "curl/8.7.1");
+		render(curl);
+		MockHttpServletRequest anotherCurl = createRequest("*/*");
+		anotherCurl.addHeader(HttpHeaders.USER_AGENT, "curl/8.9.0");
+		render(anotherCurl);
+		MockHttpServletRequest httpie = createRequest("*/*");
+		httpie.addHeader(HttpHeaders.USER_AGENT, "HTTPie/3.2.2");
+		render(httpie);
+		assertThat(this.filterChain.invocations).hasValue(2);
+	}
+
+	@Test
+	void requestNegotiatingTheSameMediaTypeIsServedFromCache() throws Exception {
+		render(createRequest(V2_3));
+		render(createRequest(V2_3 + ", application/json;q=0.9"));
+		render(createRequest("application/json;q=0.5, " + V2_3));
+		assertThat(this.filterChain.invocations).hasValue(1);
+	}
+
+	@Test
+	void requestWithWildcardAndSpecificMediaTypeNegotiatesSpecificMediaType() {
+		assertThat(MetadataDocumentCacheFilter.generateKey(createRequest("*/*, " + V2_3)))
+			.isEqualTo(MetadataDocumentCacheFilter.generateKey(createRequest(V2_3)));
+	}
+
+	@Test
+	void requestWithoutAcceptHeaderNegotiatesCommandLineHelp() {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+		assertThat(MetadataDocumentCacheFilter.generateKey(request))
+			.isEqualTo(MetadataDocumentCacheFilter.generateKey(createRequest("text/plain")))
+			.isEqualTo("/|text/plain|generic|http://localhost");
+	}
+
+	@Test
+	void requestWithSubtypeWildcardIsNotCached() throws Exception {
+		assertThat(MetadataDocumentCacheFilter.generateKey(createRequest("application/*"))).isNull();
+		render(createRequest("application/*"));
+		render(createRequest("application/*"));
+		assertThat(this.filterChain.invocations).hasValue(2);
+	}
+
+	@Test
+	void requestWithUnknownMediaTypeIsNotCached() {
+		assertThat(MetadataDocumentCacheFilter.generateKey(createRequest("application/xml"))).isNull();
+	}
+
+	@Test
+	void requestWithWildcardToClientMetadataIsNotCached() {
+		MockHttpServletRequest request = createRequest("*/*");
+		request.setRequestURI("/metadata/client");
+		assertThat(MetadataDocumentCacheFilter.generateKey(request)).isNull();
+	}
+
+	@Test
+	void requestWithInvalidHostIsNotCached() throws Exception {
+		MockHttpServletRequest request = createRequest(V2_3);
+		request.setServerName("example.com\"><script>");
+		assertThat(MetadataDocumentCacheFilter.generateKey(request)).isNull();
+		render(request);
+		render(request);
+		assertThat(this.filterChain.invocations).hasValue(2);
+	}
+
+	@Test
+	void requestWithDifferentHostIsNotServedFromCache() throws Exception {
+		render(createRequest(V2_3));
+		MockHttpServletRequest request = createRequest(V2_3);
+		request.setServerName("start.example.com");
+		render(request);
+		assertThat(this.filterChain.invocations).hasValue(2);
+	}
+
+	@Test
+	void htmlRequestIsNotCached() throws Exception {
+		render(createRequest("text/html,application/xhtml+xml,*/*;q=0.8"));
+		render(createRequest("text/html,application/xhtml+xml,*/*;q=0.8"));
+		assertThat(this.filterChain.invocations).hasValue(2);
+	}
+
+	@Test
+	void requestToAnotherPathIsNotCached() throws Exception {
+		MockHttpServletRequest request = createRequest(V2_3);
+		request.setRequestURI("/dependencies");
+		render(request);
+		render(request);
+		assertThat(this.filterChain.invocations).hasValue(2);
+	}
+
+	private MockHttpServletRequest createRequest(String accept) {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+		request.addHeader(HttpHeaders.ACCEPT, accept);
+		return request;
+	}
+
+	private MockHttpServletResponse render(MockHttpServletRequest request) throws Exception {
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		this.filter.doFilter(request, response, this.filterChain);
+		return response;
+	}
+
+	static class RenderingFilterChain implements FilterChain {
+
+		private final AtomicInteger invocations = new AtomicInteger();
+
+		@Override
+		public void doFilter(ServletRequest request, ServletResponse response) throws IOException, ServletException {
+			int invocation = this.invocations.incrementAndGet();
+			String accept = ((HttpServletRequest) request).getHeader(HttpHeaders.ACCEPT);
+			HttpServletResponse httpResponse = (HttpServletResponse) response;
+			httpResponse.setContentType(accept.startsWith("*/*") ? "text/plain" : accept.split(",")[0]);
+			httpResponse.setHeader(HttpHeaders.CACHE_CONTROL, "max-age=7200");
+			httpResponse.setHeader(HttpHeaders.VARY, "Accept");
+			response.getOutputStream().write(("document-" + invocation).getBytes(StandardCharsets.UTF_8));
+		}
+
+	}
+
+}
@@ -0,0 +1,175 @@
+/*
+ * Copyright 2012 - present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site.web;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.spring.initializr.generator.test.InitializrMetadataTestBuilder;
+import io.spring.initializr.metadata.InitializrMetadata;
+import io.spring.initializr.metadata.InitializrMetadataProvider;
+import io.spring.start.site.support.ProjectArchiveCache;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Tests for {@link ProjectArchiveCacheFilter}.
+ *
+ * @author agent
+ */
+class ProjectArchiveCacheFilterTests {
+
+	private final InitializrMetadataProvider metadataProvider = mock(InitializrMetadataProvider.class);
+
+	private final InitializrMetadata metadata = InitializrMetadataTestBuilder.withDefaults().build();
+
+	private final GeneratingFilterChain filterChain = new GeneratingFilterChain();
+
+	private ProjectArchiveCacheFilter filter;
+
+	@BeforeEach
+	void setUp() {
+		given(this.metadataProvider.get()).willReturn(this.metadata);
+		this.filter = new ProjectArchiveCacheFilter(this.metadataProvider, new ProjectArchiveCache(1024,
+				Duration.ofMinutes(10), "1.0.0", null, 0, new SimpleMeterRegistry()));
+	}
+
+	@Test
+	void archiveIsServedFromCache() throws Exception {
+		MockHttpServletResponse first = generate(createRequest("web,data-jpa"));
+		MockHttpServletResponse second = generate(createRequest("web,data-jpa"));
+		assertThat(this.filterChain.invocations).hasValue(1);
+		assertThat(second.getStatus()).isEqualTo(HttpServletResponse.SC_OK);
+		assertThat(second.getContentAsByteArray()).isEqualTo(first.getContentAsByteArray());
+		assertThat(second.getContentType()).isEqualTo("application/zip");
+		assertThat(second.getHeader(HttpHeaders.CONTENT_DISPOSITION)).isEqualTo("attachment; filename=\"demo.zip\"");
+		assertThat(second.getHeader(HttpHeaders.ETAG)).isNotNull().isEqualTo(first.getHeader(HttpHeaders.ETAG));
+	}
+
+	@Test
+	void conditionalRequestWithMatchingEtagIsNotModified() throws Exception {
+		String etag = generate(createRequest("web")).getHeader(HttpHeaders.ETAG);
+		MockHttpServletRequest request = createRequest("web");
+		request.addHeader(HttpHeaders.IF_NONE_MATCH, etag);
+		MockHttpServletResponse response = generate(request);
+		assertThat(response.getStatus()).isEqualTo(HttpServletResponse.SC_NOT_MODIFIED);
+		assertThat(response.getContentLength()).isZero();
+		assertThat(this.filterChain.invocations).hasValue(1);
+	}
+
+	@Test
+	void requestWithDifferentDependenciesIsNotServedFromCache() throws Exception {
+		generate(createRequest("web"));
+		generate(createRequest("webflux"));
+		assertThat(this.filterChain.invocations).hasValue(2);
+	}
+
+	@Test
+	void postRequestIsNotCached() throws Exception {
+		MockHttpServletRequest request = createRequest("web");
+		request.setMethod("POST");
+		generate(request);
+		generate(request);
+		assertThat(this.filterChain.invocations).hasValue(2);
+	}
+
+	@Test
+	void requestMatchingTheDefaultsOfTheMetadataIsServedFromCache() throws Exception {
+		generate(createRequest("web"));
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/starter.zip");
+		request.addParameter("dependencies", "web");
+		generate(request);
+		assertThat(this.filterChain.invocations).hasValue(1);
+	}
+
+	@Test
+	void requestWithDifferentArchiveFormatIsNotServedFromCache() throws Exception {
+		generate(createRequest("web"));
+		MockHttpServletRequest request = createRequest("web");
+		request.setRequestURI("/starter.tgz");
+		generate(request);
+		assertThat(this.filterChain.invocations).hasValue(2);
+	}
+
+	@Test
+	void normalizeIgnoresOrderOfParametersAndDeduplicatesDependencies() {
+		MockHttpServletRequest request = createRequest(" web, data-jpa,web,");
+		request.addParameter("bootVersion", "4.0.0");
+		MockHttpServletRequest anotherRequest = new MockHttpServletRequest("GET", "/starter.zip");
+		anotherRequest.addParameter("bootVersion", "4.0.0");
+		anotherRequest.addParameter("dependencies", "web", "data-jpa");
+		anotherRequest.addParameter("type", "maven-project");
+		String normalizedRequest = ProjectArchiveCacheFilter.normalize(this.metadata, request);
+		assertThat(normalizedRequest).startsWith("/starter.zip?")
+			.contains("&bootVersion=4.0.0&")
+			.contains("&dependencies=web,data-jpa&")
+			.contains("&type=maven-project");
+		assertThat(ProjectArchiveCacheFilter.normalize(this.metadata, anotherRequest)).isEqualTo(normalizedRequest);
+	}
+
+	@Test
+	void normalizeAppliesDefaultsOfTheMetadata() {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/starter.zip");
+		assertThat(ProjectArchiveCacheFilter.normalize(this.metadata, request)).contains("&type=maven-project")
+			.contains("&language=java&");
+	}
+
+	private MockHttpServletRequest createRequest(String dependencies) {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/starter.zip");
+		request.addParameter("type", "maven-project");
+		request.addParameter("dependencies", dependencies);
+		return request;
+	}
+
+	private MockHttpServletResponse generate(MockHttpServletRequest request) throws Exception {
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		this.filter.doFilter(request, response, this.filterChain);
+		return response;
+	}
+
+	static class GeneratingFilterChain implements FilterChain {
+
+		private final AtomicInteger invocations = new AtomicInteger();
+
+		@Override
+		public void doFilter(ServletRequest request, ServletResponse response) throws IOException, ServletException {
+			int invocation = this.invocations.incrementAndGet();
+			response.setContentType("application/zip");
+			((HttpServletResponse) response).setHeader(HttpHeaders.CONTENT_DISPOSITION,
+					"attachment; filename=\"demo.zip\"");
+			response.getOutputStream().write(("archive-" + invocation).getBytes(StandardCharsets.UTF_8));
+		}
+
+	}
+
+}
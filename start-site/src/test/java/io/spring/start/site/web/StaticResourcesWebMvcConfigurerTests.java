@@ -0,0 +1,118 @@
+/*
+ * Copyright 2012 - present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.spring.start.site.web;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockServletContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.support.AnnotationConfigWebApplicationContext;
+import org.springframework.web.servlet.config.annotation.EnableWebMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.forwardedUrl;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Tests for {@link StaticResourcesWebMvcConfigurer}.
+ *
+ * @author agent
+ */
+class StaticResourcesWebMvcConfigurerTests {
+
+	private static final String IMMUTABLE = "max-age=31536000, public, immutable";
+
+	private AnnotationConfigWebApplicationContext context;
+
+	private MockMvc mvc;
+
+	@BeforeEach
+	void setup() {
+		this.context = new AnnotationConfigWebApplicationContext();
+		this.context.setServletContext(new MockServletContext());
+		this.context.register(WebConfiguration.class);
+		this.context.refresh();
+		this.mvc = MockMvcBuilders.webAppContextSetup(this.context).build();
+	}
+
+	@AfterEach
+	void close() {
+		this.context.close();
+	}
+
+	@Test
+	void fingerprintedAssetIsImmutable() throws Exception {
+		this.mvc.perform(get("/main.1.0a1b2c3d.js"))
+			.andExpect(status().isOk())
+			.andExpect(header().string(HttpHeaders.CACHE_CONTROL, IMMUTABLE))
+			.andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING));
+	}
+
+	@Test
+	void fingerprintedAssetWithBrotliIsPrecompressed() throws Exception {
+		this.mvc.perform(get("/main.1.0a1b2c3d.js").header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate, br"))
+			.andExpect(status().isOk())
+			.andExpect(header().string(HttpHeaders.CACHE_CONTROL, IMMUTABLE))
+			.andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "br"))
+			.andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING));
+	}
+
+	@Test
+	void fingerprintedAssetWithGzipIsPrecompressed() throws Exception {
+		this.mvc.perform(get("/main.1.0a1b2c3d.js").header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+			.andExpect(status().isOk())
+			.andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"));
+	}
+
+	@Test
+	void homePageIsForwardedToIndex() throws Exception {
+		this.mvc.perform(get("/").accept("text/html")).andExpect(forwardedUrl("index.html"));
+	}
+
+	@Test
+	void indexIsRevalidated() throws Exception {
+		this.mvc.perform(get("/index.html").header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+			.andExpect(status().isOk())
+			.andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"))
+			.andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"));
+	}
+
+	@Configuration(proxyBeanMethods = false)
+	@EnableWebMvc
+	static class WebConfiguration {
+
+		@Bean
+		HomeController homeController() {
+			return new HomeController();
+		}
+
+		@Bean
+		StaticResourcesWebMvcConfigurer staticResourcesWebMvcConfigurer() {
+			return new StaticResourcesWebMvcConfigurer("classpath:/web/static/");
+		}
+
+	}
+
+}
@@ -0,0 +1 @@
+console.log("start.spring.io")